@@ -60,6 +60,14 @@ public interface ClientConfiguration {
     /** See {@link PartialServiceConfiguration#writeTimeout}. */
     Duration writeTimeout();
 
+    /**
+     * The default upper bound on the total time of a call, spanning all retries and backoffs. Unlike the per-attempt
+     * {@link #readTimeout}, no retry is attempted once the deadline has passed, and the remaining time is propagated
+     * to servers so they can stop working on requests the client has given up on. Currently only honoured by
+     * OkHttp-based clients, where individual requests may override it.
+     */
+    Optional<Duration> deadline();
+
     /** See {@link PartialServiceConfiguration#enableGcmCipherSuites}. */
     boolean enableGcmCipherSuites();
 
@@ -135,6 +143,10 @@ public interface ClientConfiguration {
         checkTimeoutPrecision(connectTimeout(), "connectTimeout");
         checkTimeoutPrecision(readTimeout(), "readTimeout");
         checkTimeoutPrecision(writeTimeout(), "writeTimeout");
+        deadline().ifPresent(deadline -> {
+            checkArgument(!deadline.isNegative() && !deadline.isZero(), "deadline must be positive");
+            checkTimeoutPrecision(deadline, "deadline");
+        });
         checkArgument(!failedUrlCooldown().isNegative(), "failedUrlCooldown may not be negative");
     }
 
@@ -75,9 +75,22 @@ public final class ClientConfigurations {
      * empty/absent configuration with the defaults specified as constants in this class.
      */
     public static ClientConfiguration of(ServiceConfiguration config) {
+        return of(
+                config,
+                SslSocketFactories.createSslSocketFactory(config.security()),
+                SslSocketFactories.createX509TrustManager(config.security()));
+    }
+
+    /**
+     * Similar to {@link #of(ServiceConfiguration)}, but uses the given SSL material instead of loading it from the
+     * {@link ServiceConfiguration#security() security configuration}, so that callers can reuse key and trust stores
+     * which were loaded previously.
+     */
+    public static ClientConfiguration of(
+            ServiceConfiguration config, SSLSocketFactory sslSocketFactory, X509TrustManager trustManager) {
         return ClientConfiguration.builder()
-                .sslSocketFactory(SslSocketFactories.createSslSocketFactory(config.security()))
-                .trustManager(SslSocketFactories.createX509TrustManager(config.security()))
+                .sslSocketFactory(sslSocketFactory)
+                .trustManager(trustManager)
                 .uris(config.uris())
                 .connectTimeout(config.connectTimeout().orElse(DEFAULT_CONNECT_TIMEOUT))
                 .readTimeout(config.readTimeout().orElse(DEFAULT_READ_TIMEOUT))
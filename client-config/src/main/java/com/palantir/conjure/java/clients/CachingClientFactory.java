@@ -0,0 +1,163 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.clients;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.palantir.conjure.java.api.config.service.ServiceConfiguration;
+import com.palantir.conjure.java.api.config.ssl.SslConfiguration;
+import com.palantir.conjure.java.client.config.ClientConfiguration;
+import com.palantir.conjure.java.client.config.ClientConfigurations;
+import com.palantir.conjure.java.config.ssl.SslSocketFactories;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.tritium.metrics.registry.TaggedMetricRegistry;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.X509TrustManager;
+
+/**
+ * A {@link ConjureClients.NonReloadingClientFactory} which memoises the clients it builds per client interface and
+ * {@link ServiceConfiguration}, so that code which asks for a client on every request reuses the same instance
+ * instead of loading key stores and assembling a new client each time. Key and trust stores are memoised per
+ * {@link SslConfiguration} as well, so services which share their security configuration share SSL material.
+ *
+ * <p>Clients are held weakly and are built again once no caller references them any more. SSL material is bounded
+ * and expires a few minutes after it was loaded, so that key and trust stores which were rotated in place are picked
+ * up by clients built afterwards.
+ *
+ * <p>The actual client is built by a {@link ClientBuilder}, for example:
+ *
+ * <pre>{@code
+ * CachingClientFactory factory = CachingClientFactory.of(
+ *         new CachingClientFactory.ClientBuilder() {
+ *             @Override
+ *             public <T> T build(Class<T> clientInterface, ClientConfiguration config) {
+ *                 return JaxRsClient.create(clientInterface, userAgent, hostEventsSink, config);
+ *             }
+ *         },
+ *         taggedMetricRegistry);
+ * }</pre>
+ */
+public final class CachingClientFactory implements ConjureClients.NonReloadingClientFactory {
+
+    private static final int MAX_SSL_CONFIGURATIONS = 100;
+    private static final Duration SSL_MATERIAL_EXPIRY = Duration.ofMinutes(10);
+
+    /** Builds a client for an interface from its effective configuration, e.g. using {@code JaxRsClient}. */
+    public interface ClientBuilder {
+        <T> T build(Class<T> clientInterface, ClientConfiguration config);
+    }
+
+    private final ClientBuilder builder;
+    private final ClientFactoryMetrics metrics;
+    private final Cache<SslConfiguration, SslMaterial> sslMaterial = Caffeine.newBuilder()
+            .maximumSize(MAX_SSL_CONFIGURATIONS)
+            .expireAfterWrite(SSL_MATERIAL_EXPIRY)
+            .build();
+    private final Cache<ClientKey, Object> clients = Caffeine.newBuilder().weakValues().build();
+
+    private CachingClientFactory(ClientBuilder builder, TaggedMetricRegistry registry) {
+        this.builder = Preconditions.checkNotNull(builder, "ClientBuilder is required");
+        this.metrics =
+                ClientFactoryMetrics.of(Preconditions.checkNotNull(registry, "TaggedMetricRegistry is required"));
+    }
+
+    public static CachingClientFactory of(ClientBuilder builder, TaggedMetricRegistry registry) {
+        return new CachingClientFactory(builder, registry);
+    }
+
+    @Override
+    public <T> T getNonReloading(Class<T> clientInterface, ServiceConfiguration serviceConf) {
+        Preconditions.checkNotNull(clientInterface, "Client interface is required");
+        Preconditions.checkNotNull(serviceConf, "ServiceConfiguration is required");
+        ClientKey key = new ClientKey(clientInterface, serviceConf);
+        Object cached = clients.getIfPresent(key);
+        if (cached != null) {
+            metrics.cacheHit(clientInterface.getSimpleName()).mark();
+            return clientInterface.cast(cached);
+        }
+        return clientInterface.cast(clients.get(key, _key -> construct(clientInterface, serviceConf)));
+    }
+
+    /**
+     * Creates the {@link ClientConfiguration} of the given {@link ServiceConfiguration} using this factory's memoised
+     * SSL material, so that equal service configurations yield equal client configurations while their SSL material
+     * is cached. Live-reloading clients can map their refreshable service configuration through this method, so that
+     * refreshes which don't change the service configuration don't change the client configuration either.
+     */
+    public ClientConfiguration clientConfiguration(ServiceConfiguration serviceConf) {
+        Preconditions.checkNotNull(serviceConf, "ServiceConfiguration is required");
+        SslMaterial ssl = sslMaterial.get(serviceConf.security(), SslMaterial::load);
+        return ClientConfigurations.of(serviceConf, ssl.socketFactory, ssl.trustManager);
+    }
+
+    private <T> T construct(Class<T> clientInterface, ServiceConfiguration serviceConf) {
+        String client = clientInterface.getSimpleName();
+        metrics.cacheMiss(client).mark();
+        long startNanos = System.nanoTime();
+        try {
+            return builder.build(clientInterface, clientConfiguration(serviceConf));
+        } finally {
+            metrics.construction(client).update(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static final class SslMaterial {
+        private final SSLSocketFactory socketFactory;
+        private final X509TrustManager trustManager;
+
+        private SslMaterial(SSLSocketFactory socketFactory, X509TrustManager trustManager) {
+            this.socketFactory = socketFactory;
+            this.trustManager = trustManager;
+        }
+
+        static SslMaterial load(SslConfiguration config) {
+            return new SslMaterial(
+                    SslSocketFactories.createSslSocketFactory(config),
+                    SslSocketFactories.createX509TrustManager(config));
+        }
+    }
+
+    private static final class ClientKey {
+        private final Class<?> clientInterface;
+        private final ServiceConfiguration serviceConf;
+
+        ClientKey(Class<?> clientInterface, ServiceConfiguration serviceConf) {
+            this.clientInterface = clientInterface;
+            this.serviceConf = serviceConf;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (other == null || getClass() != other.getClass()) {
+                return false;
+            }
+            ClientKey that = (ClientKey) other;
+            return clientInterface.equals(that.clientInterface) && serviceConf.equals(that.serviceConf);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(clientInterface, serviceConf);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.clients;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.reflect.Reflection;
+import com.palantir.conjure.java.api.config.service.ServiceConfiguration;
+import com.palantir.conjure.java.api.config.ssl.SslConfiguration;
+import com.palantir.conjure.java.client.config.ClientConfiguration;
+import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public final class CachingClientFactoryTest {
+
+    private static final ServiceConfiguration SERVICE_CONFIG = ServiceConfiguration.builder()
+            .uris(ImmutableList.of("https://localhost:8443"))
+            .security(SslConfiguration.of(Paths.get("src/test/resources/trustStore.jks")))
+            .build();
+
+    private final DefaultTaggedMetricRegistry registry = new DefaultTaggedMetricRegistry();
+    private final ClientFactoryMetrics metrics = ClientFactoryMetrics.of(registry);
+    private final AtomicInteger builds = new AtomicInteger();
+    private final CachingClientFactory factory = CachingClientFactory.of(
+            new CachingClientFactory.ClientBuilder() {
+                @Override
+                public <T> T build(Class<T> clientInterface, ClientConfiguration config) {
+                    builds.incrementAndGet();
+                    return Reflection.newProxy(clientInterface, (_proxy, _method, _args) -> config);
+                }
+            },
+            registry);
+
+    @Test
+    public void testReusesClientsForEqualConfiguration() {
+        TestService first = factory.getNonReloading(TestService.class, SERVICE_CONFIG);
+        TestService second = factory.getNonReloading(
+                TestService.class, ServiceConfiguration.builder().from(SERVICE_CONFIG).build());
+
+        assertThat(second).isSameAs(first);
+        assertThat(builds).hasValue(1);
+        assertThat(metrics.cacheMiss("TestService").getCount()).isEqualTo(1);
+        assertThat(metrics.cacheHit("TestService").getCount()).isEqualTo(1);
+        assertThat(metrics.construction("TestService").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testSharesSslMaterialBetweenConfigurations() {
+        ServiceConfiguration otherConfig = ServiceConfiguration.builder()
+                .from(SERVICE_CONFIG)
+                .readTimeout(Duration.ofSeconds(1))
+                .build();
+        TestService first = factory.getNonReloading(TestService.class, SERVICE_CONFIG);
+        TestService second = factory.getNonReloading(TestService.class, otherConfig);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(builds).hasValue(2);
+        assertThat(second.config().readTimeout()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(second.config().sslSocketFactory()).isSameAs(first.config().sslSocketFactory());
+        assertThat(second.config().trustManager()).isSameAs(first.config().trustManager());
+    }
+
+    @Test
+    public void testCachesPerClientInterface() {
+        TestService service = factory.getNonReloading(TestService.class, SERVICE_CONFIG);
+        OtherService other = factory.getNonReloading(OtherService.class, SERVICE_CONFIG);
+
+        assertThat(builds).hasValue(2);
+        assertThat(other.config().sslSocketFactory()).isSameAs(service.config().sslSocketFactory());
+        assertThat(metrics.cacheMiss("OtherService").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testEqualServiceConfigurationsYieldEqualClientConfigurations() {
+        ClientConfiguration first = factory.clientConfiguration(SERVICE_CONFIG);
+        ClientConfiguration second = factory.clientConfiguration(
+                ServiceConfiguration.builder().from(SERVICE_CONFIG).build());
+
+        assertThat(second).isEqualTo(first);
+        assertThat(builds).hasValue(0);
+    }
+
+    public interface TestService {
+        ClientConfiguration config();
+    }
+
+    public interface OtherService {
+        ClientConfiguration config();
+    }
+}
@@ -41,6 +41,7 @@ public class ConjureClientsTest {
             .put("proxyCredentials", "ClientConfigurations.of sets this up automatically")
             .put("sslSocketFactory", "Not expecting users to override these")
             .put("trustManager", "Not expecting users to override these")
+            .put("deadline", "Only honoured by OkHttp-based clients, which are not built through these factories")
             .build();
 
     @Test
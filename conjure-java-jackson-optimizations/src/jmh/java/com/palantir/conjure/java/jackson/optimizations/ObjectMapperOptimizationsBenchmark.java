@@ -0,0 +1,250 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.jackson.optimizations;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares serializing and deserializing beans shaped like conjure-generated objects, which are read through a
+ * builder, without an optimization module, with Afterburner and with Blackbird.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectMapperOptimizationsBenchmark {
+
+    private static final TypeReference<List<Dataset>> DATASETS = new TypeReference<List<Dataset>>() {};
+
+    @Param({"none", "afterburner", "blackbird"})
+    public String optimization;
+
+    @Param({"1", "1000"})
+    public int rows;
+
+    private List<Dataset> datasets;
+    private byte[] encoded;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new Jdk8Module());
+        switch (optimization) {
+            case "none":
+                break;
+            case "afterburner":
+                mapper.registerModule(new AfterburnerModule());
+                break;
+            case "blackbird":
+                mapper.registerModule(new BlackbirdModule());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown optimization: " + optimization);
+        }
+        writer = mapper.writerFor(DATASETS);
+        reader = mapper.readerFor(DATASETS);
+        datasets = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            datasets.add(Dataset.builder()
+                    .rid("ri.foundry.main.dataset." + i)
+                    .name("dataset-" + i)
+                    .size(1024L * i)
+                    .rowCount(i)
+                    .transactional(i % 2 == 0)
+                    .description(i % 3 == 0 ? Optional.empty() : Optional.of("description of dataset " + i))
+                    .tags(List.of("raw", "clean", "team-" + (i % 8)))
+                    .properties(Map.of("owner", "user-" + (i % 16), "branch", "master"))
+                    .build());
+        }
+        encoded = writer.writeValueAsBytes(datasets);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(datasets);
+    }
+
+    @Benchmark
+    public List<Dataset> deserialize() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+    /** Mirrors the shape of conjure-generated objects: final fields, property getters and a builder. */
+    @JsonDeserialize(builder = Dataset.Builder.class)
+    public static final class Dataset {
+        private final String rid;
+        private final String name;
+        private final long size;
+        private final int rowCount;
+        private final boolean transactional;
+        private final Optional<String> description;
+        private final List<String> tags;
+        private final Map<String, String> properties;
+
+        private Dataset(Builder builder) {
+            this.rid = builder.rid;
+            this.name = builder.name;
+            this.size = builder.size;
+            this.rowCount = builder.rowCount;
+            this.transactional = builder.transactional;
+            this.description = builder.description;
+            this.tags = List.copyOf(builder.tags);
+            this.properties = Map.copyOf(builder.properties);
+        }
+
+        @JsonProperty("rid")
+        public String getRid() {
+            return rid;
+        }
+
+        @JsonProperty("name")
+        public String getName() {
+            return name;
+        }
+
+        @JsonProperty("size")
+        public long getSize() {
+            return size;
+        }
+
+        @JsonProperty("rowCount")
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        @JsonProperty("transactional")
+        public boolean getTransactional() {
+            return transactional;
+        }
+
+        @JsonProperty("description")
+        public Optional<String> getDescription() {
+            return description;
+        }
+
+        @JsonProperty("tags")
+        public List<String> getTags() {
+            return tags;
+        }
+
+        @JsonProperty("properties")
+        public Map<String, String> getProperties() {
+            return properties;
+        }
+
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        @JsonIgnoreProperties(ignoreUnknown = true)
+        @JsonPOJOBuilder(withPrefix = "")
+        public static final class Builder {
+            private String rid;
+            private String name;
+            private long size;
+            private int rowCount;
+            private boolean transactional;
+            private Optional<String> description = Optional.empty();
+            private List<String> tags = List.of();
+            private Map<String, String> properties = Map.of();
+
+            @JsonSetter("rid")
+            public Builder rid(String value) {
+                this.rid = value;
+                return this;
+            }
+
+            @JsonSetter("name")
+            public Builder name(String value) {
+                this.name = value;
+                return this;
+            }
+
+            @JsonSetter("size")
+            public Builder size(long value) {
+                this.size = value;
+                return this;
+            }
+
+            @JsonSetter("rowCount")
+            public Builder rowCount(int value) {
+                this.rowCount = value;
+                return this;
+            }
+
+            @JsonSetter("transactional")
+            public Builder transactional(boolean value) {
+                this.transactional = value;
+                return this;
+            }
+
+            @JsonSetter(value = "description", nulls = Nulls.SKIP)
+            public Builder description(Optional<String> value) {
+                this.description = value;
+                return this;
+            }
+
+            @JsonSetter(value = "tags", nulls = Nulls.SKIP)
+            public Builder tags(List<String> value) {
+                this.tags = value;
+                return this;
+            }
+
+            @JsonSetter(value = "properties", nulls = Nulls.SKIP)
+            public Builder properties(Map<String, String> value) {
+                this.properties = value;
+                return this;
+            }
+
+            public Dataset build() {
+                return new Dataset(this);
+            }
+        }
+    }
+}
@@ -16,7 +16,7 @@
 
 package com.palantir.conjure.java.jackson.optimizations;
 
-import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 import java.util.List;
 
 /**
@@ -34,8 +34,12 @@ public final class ObjectMapperOptimizations {
                             .equalsIgnoreCase(
                                     System.getProperty("com.palantir.conjure.java.jackson.optimizations.disabled"));
 
+    /**
+     * Blackbird generates accessors with {@link java.lang.invoke.LambdaMetafactory} rather than by defining classes
+     * like Afterburner does, which newer JDKs increasingly restrict.
+     */
     public static List<? extends com.fasterxml.jackson.databind.Module> createModules() {
-        return NO_OPTIMIZATIONS ? List.of() : List.<com.fasterxml.jackson.databind.Module>of(new AfterburnerModule());
+        return NO_OPTIMIZATIONS ? List.of() : List.<com.fasterxml.jackson.databind.Module>of(new BlackbirdModule());
     }
 
     private ObjectMapperOptimizations() {}
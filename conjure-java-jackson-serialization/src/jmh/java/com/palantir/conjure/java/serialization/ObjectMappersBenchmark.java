@@ -0,0 +1,280 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.serialization;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of the {@link ObjectMappers} configuration, i.e. the default modules and the optimization module,
+ * for each client and server mapper on payloads which exercise a particular module. Allocation rates are reported by
+ * the gc profiler which is enabled for this project's benchmarks.
+ *
+ * <ul>
+ *   <li>{@code optionals}: present and absent JDK and Guava optionals.
+ *   <li>{@code largeMap}: a map with many entries.
+ *   <li>{@code longsAsStrings}: long values which are received as strings, see {@link LenientLongModule}.
+ *   <li>{@code dateTimes}: {@link OffsetDateTime} values in different offsets.
+ *   <li>{@code bigList}: a long list of strings.
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectMappersBenchmark {
+
+    private static final int ROWS = 1000;
+    private static final int LARGE_SIZE = 10_000;
+
+    @Param({"client", "server"})
+    public String mapper;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"optionals", "largeMap", "longsAsStrings", "dateTimes", "bigList"})
+    public String payload;
+
+    private Object value;
+    private byte[] encoded;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper objectMapper = objectMapper(mapper, format);
+        TypeReference<?> type;
+        Object received;
+        switch (payload) {
+            case "optionals":
+                type = new TypeReference<List<Optionals>>() {};
+                value = optionals();
+                received = value;
+                break;
+            case "largeMap":
+                type = new TypeReference<Map<String, Integer>>() {};
+                value = largeMap();
+                received = value;
+                break;
+            case "longsAsStrings":
+                type = new TypeReference<List<Counters>>() {};
+                value = counters();
+                received = countersAsStrings();
+                break;
+            case "dateTimes":
+                type = new TypeReference<List<OffsetDateTime>>() {};
+                value = dateTimes();
+                received = value;
+                break;
+            case "bigList":
+                type = new TypeReference<List<String>>() {};
+                value = bigList();
+                received = value;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown payload: " + payload);
+        }
+        writer = objectMapper.writerFor(type);
+        reader = objectMapper.readerFor(type);
+        encoded = objectMapper.writeValueAsBytes(received);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+    private static ObjectMapper objectMapper(String mapper, String format) {
+        switch (mapper + "-" + format) {
+            case "client-json":
+                return ObjectMappers.newClientObjectMapper();
+            case "client-cbor":
+                return ObjectMappers.newCborClientObjectMapper();
+            case "client-smile":
+                return ObjectMappers.newSmileClientObjectMapper();
+            case "server-json":
+                return ObjectMappers.newServerObjectMapper();
+            case "server-cbor":
+                return ObjectMappers.newCborServerObjectMapper();
+            case "server-smile":
+                return ObjectMappers.newSmileServerObjectMapper();
+            default:
+                throw new IllegalArgumentException("Unknown mapper: " + mapper + "-" + format);
+        }
+    }
+
+    private static List<Optionals> optionals() {
+        List<Optionals> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            boolean present = i % 2 == 0;
+            rows.add(new Optionals(
+                    present ? Optional.of("value-" + i) : Optional.empty(),
+                    present ? Optional.of(i) : Optional.empty(),
+                    present ? OptionalLong.empty() : OptionalLong.of(i),
+                    present ? com.google.common.base.Optional.absent() : com.google.common.base.Optional.of("v" + i)));
+        }
+        return rows;
+    }
+
+    private static Map<String, Integer> largeMap() {
+        Map<String, Integer> map = new LinkedHashMap<>();
+        for (int i = 0; i < LARGE_SIZE; i++) {
+            map.put("key-" + i, i);
+        }
+        return map;
+    }
+
+    private static List<Counters> counters() {
+        List<Counters> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Counters(Long.MAX_VALUE - i, 1024L * i, OptionalLong.of(i)));
+        }
+        return rows;
+    }
+
+    /** The same values as {@link #counters}, encoded as strings like clients which can't represent 64-bit longs. */
+    private static List<Map<String, String>> countersAsStrings() {
+        List<Map<String, String>> rows = new ArrayList<>(ROWS);
+        for (Counters counters : counters()) {
+            rows.add(Map.of(
+                    "id", Long.toString(counters.id()),
+                    "total", Long.toString(counters.total()),
+                    "limit", Long.toString(counters.limit().getAsLong())));
+        }
+        return rows;
+    }
+
+    private static List<OffsetDateTime> dateTimes() {
+        List<OffsetDateTime> rows = new ArrayList<>(ROWS);
+        OffsetDateTime start = OffsetDateTime.of(2021, 6, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(start.plusSeconds(i * 37L).withOffsetSameInstant(ZoneOffset.ofHours(i % 24 - 12)));
+        }
+        return rows;
+    }
+
+    private static List<String> bigList() {
+        List<String> rows = new ArrayList<>(LARGE_SIZE);
+        for (int i = 0; i < LARGE_SIZE; i++) {
+            rows.add("ri.foundry.main.dataset." + i);
+        }
+        return rows;
+    }
+
+    public static final class Optionals {
+        private final Optional<String> name;
+        private final Optional<Integer> count;
+        private final OptionalLong size;
+        private final com.google.common.base.Optional<String> legacy;
+
+        @JsonCreator
+        Optionals(
+                @JsonProperty("name") Optional<String> name,
+                @JsonProperty("count") Optional<Integer> count,
+                @JsonProperty("size") OptionalLong size,
+                @JsonProperty("legacy") com.google.common.base.Optional<String> legacy) {
+            this.name = name;
+            this.count = count;
+            this.size = size;
+            this.legacy = legacy;
+        }
+
+        @JsonProperty("name")
+        public Optional<String> name() {
+            return name;
+        }
+
+        @JsonProperty("count")
+        public Optional<Integer> count() {
+            return count;
+        }
+
+        @JsonProperty("size")
+        public OptionalLong size() {
+            return size;
+        }
+
+        @JsonProperty("legacy")
+        public com.google.common.base.Optional<String> legacy() {
+            return legacy;
+        }
+    }
+
+    public static final class Counters {
+        private final long id;
+        private final Long total;
+        private final OptionalLong limit;
+
+        @JsonCreator
+        Counters(
+                @JsonProperty("id") long id,
+                @JsonProperty("total") Long total,
+                @JsonProperty("limit") OptionalLong limit) {
+            this.id = id;
+            this.total = total;
+            this.limit = limit;
+        }
+
+        @JsonProperty("id")
+        public long id() {
+            return id;
+        }
+
+        @JsonProperty("total")
+        public Long total() {
+            return total;
+        }
+
+        @JsonProperty("limit")
+        public OptionalLong limit() {
+            return limit;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.serialization;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares serializing and deserializing a typical list response as JSON, CBOR and Smile using the client object
+ * mappers. Serialization also reports the rate of encoded bytes, which relative to its throughput gives the encoded
+ * size of each payload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationFormatBenchmark {
+
+    private static final TypeReference<List<Dataset>> DATASETS = new TypeReference<List<Dataset>>() {};
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"1", "1000"})
+    public int rows;
+
+    private List<Dataset> datasets;
+    private byte[] encoded;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper mapper = mapper(format);
+        writer = mapper.writerFor(DATASETS);
+        reader = mapper.readerFor(DATASETS);
+        datasets = new ArrayList<>(rows);
+        OffsetDateTime created = OffsetDateTime.of(2021, 6, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+        for (int i = 0; i < rows; i++) {
+            datasets.add(new Dataset(
+                    "ri.foundry.main.dataset." + i,
+                    "dataset-" + i,
+                    1024L * i,
+                    i % 2 == 0,
+                    created.plusMinutes(i),
+                    List.of("raw", "clean", "team-" + (i % 8)),
+                    Map.of("owner", "user-" + (i % 16), "branch", "master")));
+        }
+        encoded = writer.writeValueAsBytes(datasets);
+    }
+
+    @Benchmark
+    public byte[] serialize(EncodedBytes counter) throws IOException {
+        byte[] bytes = writer.writeValueAsBytes(datasets);
+        counter.bytes += bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public List<Dataset> deserialize() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+    private static ObjectMapper mapper(String format) {
+        switch (format) {
+            case "json":
+                return ObjectMappers.newClientObjectMapper();
+            case "cbor":
+                return ObjectMappers.newCborClientObjectMapper();
+            case "smile":
+                return ObjectMappers.newSmileClientObjectMapper();
+            default:
+                throw new IllegalArgumentException("Unknown format: " + format);
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class EncodedBytes {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    public static final class Dataset {
+        private final String rid;
+        private final String name;
+        private final long size;
+        private final boolean transactional;
+        private final OffsetDateTime created;
+        private final List<String> tags;
+        private final Map<String, String> properties;
+
+        @JsonCreator
+        Dataset(
+                @JsonProperty("rid") String rid,
+                @JsonProperty("name") String name,
+                @JsonProperty("size") long size,
+                @JsonProperty("transactional") boolean transactional,
+                @JsonProperty("created") OffsetDateTime created,
+                @JsonProperty("tags") List<String> tags,
+                @JsonProperty("properties") Map<String, String> properties) {
+            this.rid = rid;
+            this.name = name;
+            this.size = size;
+            this.transactional = transactional;
+            this.created = created;
+            this.tags = tags;
+            this.properties = properties;
+        }
+
+        @JsonProperty("rid")
+        public String rid() {
+            return rid;
+        }
+
+        @JsonProperty("name")
+        public String name() {
+            return name;
+        }
+
+        @JsonProperty("size")
+        public long size() {
+            return size;
+        }
+
+        @JsonProperty("transactional")
+        public boolean transactional() {
+            return transactional;
+        }
+
+        @JsonProperty("created")
+        public OffsetDateTime created() {
+            return created;
+        }
+
+        @JsonProperty("tags")
+        public List<String> tags() {
+            return tags;
+        }
+
+        @JsonProperty("properties")
+        public Map<String, String> properties() {
+            return properties;
+        }
+    }
+}
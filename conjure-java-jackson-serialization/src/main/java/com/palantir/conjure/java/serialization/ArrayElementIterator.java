@@ -0,0 +1,131 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.serialization;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over the elements of a root-level array one at a time, reading each element from the source only when it's
+ * requested rather than materialising the whole array, so that large responses needn't fit in memory at once.
+ *
+ * <p>The source is closed as soon as the iterator is exhausted, when reading an element fails, or when the iterator
+ * or its {@link #stream() stream} is closed, whichever happens first.
+ */
+public final class ArrayElementIterator<T> implements Iterator<T>, Closeable {
+
+    private final MappingIterator<T> elements;
+    private final InputStream source;
+    private boolean closed;
+
+    private ArrayElementIterator(MappingIterator<T> elements, InputStream source) {
+        this.elements = elements;
+        this.source = source;
+    }
+
+    /** Returns an iterator over the elements of the array in {@code source}, each read with {@code elementReader}. */
+    public static <T> ArrayElementIterator<T> of(ObjectReader elementReader, InputStream source) throws IOException {
+        try {
+            return new ArrayElementIterator<>(elementReader.readValues(source), source);
+        } catch (IOException | RuntimeException e) {
+            source.close();
+            throw e;
+        }
+    }
+
+    /** Returns an iterator without any elements, for example for a response which has no body. */
+    public static <T> ArrayElementIterator<T> empty() {
+        return new ArrayElementIterator<>(MappingIterator.emptyIterator(), InputStream.nullInputStream());
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        boolean hasNext;
+        try {
+            hasNext = elements.hasNext();
+        } catch (RuntimeException e) {
+            closeQuietly(e);
+            throw e;
+        }
+        if (!hasNext) {
+            closeUnchecked();
+        }
+        return hasNext;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return elements.next();
+        } catch (RuntimeException e) {
+            closeQuietly(e);
+            throw e;
+        }
+    }
+
+    /** Returns a sequential stream of the remaining elements, which closes this iterator when it's closed. */
+    public Stream<T> stream() {
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                .onClose(this::closeUnchecked);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            elements.close();
+        } finally {
+            source.close();
+        }
+    }
+
+    private void closeUnchecked() {
+        try {
+            close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void closeQuietly(RuntimeException cause) {
+        try {
+            close();
+        } catch (IOException | RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+    }
+}
@@ -117,7 +117,7 @@ public final class ObjectMappers {
     /**
      * Configures provided ObjectMapper with default modules and settings.
      *
-     * <p>Modules: Guava, JDK7, JDK8, Afterburner, JavaTime, Joda
+     * <p>Modules: Guava, JDK7, JDK8, Blackbird, JavaTime, LenientLong, Joda
      *
      * <p>Settings:
      *
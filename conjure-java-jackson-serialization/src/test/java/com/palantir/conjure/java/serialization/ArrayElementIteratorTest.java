@@ -0,0 +1,108 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Test;
+
+public final class ArrayElementIteratorTest {
+
+    private static final ObjectMapper MAPPER = ObjectMappers.newClientObjectMapper();
+    private static final ObjectReader READER = MAPPER.readerFor(Integer.class);
+
+    @Test
+    public void testReadsElementsLazily() throws IOException {
+        TrackingInputStream source = new TrackingInputStream("[1,2,3]");
+        ArrayElementIterator<Integer> elements = ArrayElementIterator.of(READER, source);
+
+        assertThat(elements.next()).isEqualTo(1);
+        assertThat(source.closed).isFalse();
+        assertThat(elements.next()).isEqualTo(2);
+        assertThat(elements.next()).isEqualTo(3);
+        assertThat(elements.hasNext()).isFalse();
+        assertThat(source.closed).isTrue();
+    }
+
+    @Test
+    public void testEmptyIterator() throws IOException {
+        try (ArrayElementIterator<Integer> elements = ArrayElementIterator.empty()) {
+            assertThat(elements.hasNext()).isFalse();
+        }
+    }
+
+    @Test
+    public void testClosesSourceWhenStreamIsClosed() throws IOException {
+        TrackingInputStream source = new TrackingInputStream("[1,2,3]");
+        try (Stream<Integer> stream = ArrayElementIterator.<Integer>of(READER, source).stream()) {
+            assertThat(stream.findFirst()).hasValue(1);
+        }
+        assertThat(source.closed).isTrue();
+    }
+
+    @Test
+    public void testStreamsAllElements() throws IOException {
+        TrackingInputStream source = new TrackingInputStream("[1,null,3]");
+        try (Stream<Integer> stream = ArrayElementIterator.<Integer>of(READER, source).stream()) {
+            assertThat(stream.collect(Collectors.toList())).isEqualTo(Arrays.asList(1, null, 3));
+        }
+    }
+
+    @Test
+    public void testEmptyInput() throws IOException {
+        for (String body : new String[] {"[]", ""}) {
+            TrackingInputStream source = new TrackingInputStream(body);
+            assertThat(ArrayElementIterator.of(READER, source)).isExhausted();
+            assertThat(source.closed).isTrue();
+        }
+    }
+
+    @Test
+    public void testClosesSourceWhenReadingFails() throws IOException {
+        TrackingInputStream source = new TrackingInputStream("[1,\"two\",3]");
+        ArrayElementIterator<Integer> elements = ArrayElementIterator.of(READER, source);
+
+        assertThat(elements.next()).isEqualTo(1);
+        assertThatThrownBy(elements::next).isInstanceOf(RuntimeException.class);
+        assertThat(source.closed).isTrue();
+        assertThat(elements.hasNext()).isFalse();
+    }
+
+    private static final class TrackingInputStream extends FilterInputStream {
+        private boolean closed;
+
+        TrackingInputStream(String content) {
+            super(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.client.jaxrs;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.reflect.TypeToken;
+import feign.RequestTemplate;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares encoding request bodies with the cached, type specialised writers of {@link ConjureFeignJacksonEncoder}
+ * against resolving the writer for every request. Run with {@code -prof gc} to compare the allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConjureFeignJacksonEncoderBenchmark {
+
+    private static final ObjectMapper MAPPER = FeignJaxRsClientBuilder.JSON_OBJECT_MAPPER;
+    private static final Type BODY_TYPE = new TypeToken<Map<String, List<String>>>() {}.getType();
+    private static final Map<String, List<String>> BODY = ImmutableMap.of(
+            "datasets", ImmutableList.of("ri.foundry.main.dataset.1", "ri.foundry.main.dataset.2"),
+            "branches", ImmutableList.of("master", "develop"));
+
+    private final ConjureFeignJacksonEncoder encoder = new ConjureFeignJacksonEncoder(MAPPER);
+
+    @Benchmark
+    public RequestTemplate cachedWriter() {
+        RequestTemplate template = new RequestTemplate();
+        encoder.encode(BODY, BODY_TYPE, template);
+        return template;
+    }
+
+    @Benchmark
+    public byte[] writerPerRequest() throws JsonProcessingException {
+        JavaType javaType = MAPPER.getTypeFactory().constructType(BODY_TYPE);
+        return MAPPER.writerFor(javaType).writeValueAsBytes(BODY);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.client.jaxrs;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.palantir.conjure.java.client.jaxrs.feignimpl.EndpointNameHeaderEnrichmentContract;
+import com.palantir.conjure.java.dialogue.serde.DefaultConjureRuntime;
+import com.palantir.dialogue.Channel;
+import com.palantir.dialogue.Endpoint;
+import com.palantir.dialogue.Request;
+import com.palantir.dialogue.Response;
+import com.palantir.dialogue.ResponseAttachments;
+import com.palantir.dialogue.core.BaseUrl;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the cost of turning a Feign request for a path-heavy endpoint into a Dialogue URL using the compiled
+ * endpoint template against the generic URL parsing, which is used when no path template is available.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DialogueFeignClientBenchmark {
+
+    private static final String BASE_URL = "dialogue://feign";
+    private static final String PATH = "/catalog/datasets/ri.foundry.main.dataset.1234/branches/master"
+            + "/transactions/ri.foundry.main.transaction.5678/files/path%2Fto%2Fmy+file.csv";
+    private static final String PATH_TEMPLATE = "GET /catalog/datasets/{datasetRid}/branches/{branchId}"
+            + "/transactions/{transactionRid}/files/{logicalPath}";
+    private static final String QUERY = "?preview=true&limit=100&columns=a&columns=b";
+
+    private final feign.Request.Options options = new feign.Request.Options();
+    private RenderingChannel channel;
+    private DialogueFeignClient client;
+    private feign.Request compiledRequest;
+    private feign.Request genericRequest;
+
+    @Setup
+    public void setup() throws MalformedURLException {
+        channel = new RenderingChannel(BaseUrl.of(new URL("https://localhost:8443/api")));
+        client = new DialogueFeignClient(
+                PathHeavyService.class,
+                channel,
+                DefaultConjureRuntime.builder().build(),
+                BASE_URL);
+        compiledRequest = request(ImmutableMap.of(
+                EndpointNameHeaderEnrichmentContract.ENDPOINT_NAME_HEADER,
+                ImmutableList.of("getFile"),
+                "hr-path-template",
+                ImmutableList.of(PATH_TEMPLATE)));
+        genericRequest = request(ImmutableMap.of(
+                EndpointNameHeaderEnrichmentContract.ENDPOINT_NAME_HEADER, ImmutableList.of("getFile")));
+    }
+
+    @Benchmark
+    public URL compiledTemplate() throws IOException {
+        client.execute(compiledRequest, options).close();
+        return channel.lastUrl;
+    }
+
+    @Benchmark
+    public URL genericUrlParsing() throws IOException {
+        client.execute(genericRequest, options).close();
+        return channel.lastUrl;
+    }
+
+    private static feign.Request request(Map<String, Collection<String>> headers) {
+        return feign.Request.create("GET", BASE_URL + PATH + QUERY, headers, null, null);
+    }
+
+    private static final class RenderingChannel implements Channel {
+        private final BaseUrl baseUrl;
+        private URL lastUrl;
+
+        RenderingChannel(BaseUrl baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        @Override
+        public ListenableFuture<Response> execute(Endpoint endpoint, Request request) {
+            lastUrl = baseUrl.render(endpoint, request);
+            return Futures.immediateFuture(NoContentResponse.INSTANCE);
+        }
+    }
+
+    private enum NoContentResponse implements Response {
+        INSTANCE;
+
+        @Override
+        public InputStream body() {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+
+        @Override
+        public int code() {
+            return 204;
+        }
+
+        @Override
+        public ListMultimap<String, String> headers() {
+            return ImmutableListMultimap.of();
+        }
+
+        @Override
+        public Optional<String> getFirstHeader(String _header) {
+            return Optional.empty();
+        }
+
+        @Override
+        public ResponseAttachments attachments() {
+            return ResponseAttachments.create();
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    /** Only used to name the benchmarked endpoints. */
+    public interface PathHeavyService {}
+}
@@ -0,0 +1,147 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.client.jaxrs;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.util.concurrent.Futures;
+import com.palantir.conjure.java.dialogue.serde.DefaultConjureRuntime;
+import com.palantir.dialogue.Channel;
+import com.palantir.dialogue.ConjureRuntime;
+import com.palantir.dialogue.Response;
+import com.palantir.dialogue.ResponseAttachments;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the client side throughput of Feign based JAX-RS clients against clients bound directly to Dialogue
+ * endpoints, using a channel which responds immediately so that only request building and response decoding count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class JaxRsClientBenchmark {
+
+    private static final ConjureRuntime RUNTIME = DefaultConjureRuntime.builder().build();
+    private static final byte[] RESPONSE = "{\"name\":\"dataset\",\"size\":1024}".getBytes(StandardCharsets.UTF_8);
+    private static final Map<String, Object> BODY = ImmutableMap.of("name", "dataset", "size", 1024);
+
+    @Param({"feign", "direct"})
+    public String client;
+
+    private BenchmarkService service;
+
+    @Setup
+    public void setup() {
+        Channel channel = (_endpoint, _request) -> Futures.immediateFuture(new JsonResponse());
+        service = client.equals("direct")
+                ? JaxRsClient.createDirect(BenchmarkService.class, channel, RUNTIME)
+                : JaxRsClient.create(BenchmarkService.class, channel, RUNTIME);
+    }
+
+    @Benchmark
+    public Map<String, Object> get() {
+        return service.get("ri.foundry.main.dataset.1234", "master", 100, Optional.of("token"));
+    }
+
+    @Benchmark
+    public Map<String, Object> post() {
+        return service.post("ri.foundry.main.dataset.1234", BODY);
+    }
+
+    @Path("catalog")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    public interface BenchmarkService {
+        @GET
+        @Path("datasets/{datasetRid}/branches/{branchId}")
+        Map<String, Object> get(
+                @PathParam("datasetRid") String datasetRid,
+                @PathParam("branchId") String branchId,
+                @QueryParam("limit") int limit,
+                @HeaderParam("X-Page-Token") Optional<String> pageToken);
+
+        @POST
+        @Path("datasets/{datasetRid}")
+        Map<String, Object> post(@PathParam("datasetRid") String datasetRid, Map<String, Object> body);
+    }
+
+    private static final class JsonResponse implements Response {
+        private final ListMultimap<String, String> headers =
+                ImmutableListMultimap.of("Content-Type", MediaType.APPLICATION_JSON);
+
+        @Override
+        public InputStream body() {
+            return new ByteArrayInputStream(RESPONSE);
+        }
+
+        @Override
+        public int code() {
+            return 200;
+        }
+
+        @Override
+        public ListMultimap<String, String> headers() {
+            return headers;
+        }
+
+        @Override
+        public Optional<String> getFirstHeader(String header) {
+            return header.equalsIgnoreCase("Content-Type")
+                    ? Optional.of(MediaType.APPLICATION_JSON)
+                    : Optional.empty();
+        }
+
+        @Override
+        public ResponseAttachments attachments() {
+            return ResponseAttachments.create();
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -19,35 +19,28 @@ package com.palantir.conjure.java.client.jaxrs;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.palantir.conjure.java.api.config.service.UserAgent;
 import com.palantir.conjure.java.client.config.ClientConfiguration;
-import com.palantir.conjure.java.client.jaxrs.feignimpl.CborDelegateDecoder;
 import com.palantir.conjure.java.client.jaxrs.feignimpl.CborDelegateEncoder;
-import com.palantir.conjure.java.client.jaxrs.feignimpl.EmptyContainerDecoder;
+import com.palantir.conjure.java.client.jaxrs.feignimpl.DecodingPlanDecoder;
 import com.palantir.conjure.java.client.jaxrs.feignimpl.EndpointNameHeaderEnrichmentContract;
 import com.palantir.conjure.java.client.jaxrs.feignimpl.GuavaOptionalAwareContract;
-import com.palantir.conjure.java.client.jaxrs.feignimpl.GuavaOptionalAwareDecoder;
-import com.palantir.conjure.java.client.jaxrs.feignimpl.InputStreamDelegateDecoder;
-import com.palantir.conjure.java.client.jaxrs.feignimpl.InputStreamDelegateEncoder;
 import com.palantir.conjure.java.client.jaxrs.feignimpl.Java8OptionalAwareContract;
-import com.palantir.conjure.java.client.jaxrs.feignimpl.Java8OptionalAwareDecoder;
-import com.palantir.conjure.java.client.jaxrs.feignimpl.NeverReturnNullDecoder;
 import com.palantir.conjure.java.client.jaxrs.feignimpl.PathTemplateHeaderEnrichmentContract;
 import com.palantir.conjure.java.client.jaxrs.feignimpl.SlashEncodingContract;
-import com.palantir.conjure.java.client.jaxrs.feignimpl.TextDelegateDecoder;
+import com.palantir.conjure.java.client.jaxrs.feignimpl.SmileAcceptContract;
+import com.palantir.conjure.java.client.jaxrs.feignimpl.SmileDelegateEncoder;
 import com.palantir.conjure.java.client.jaxrs.feignimpl.TextDelegateEncoder;
 import com.palantir.conjure.java.dialogue.serde.DefaultConjureRuntime;
 import com.palantir.conjure.java.okhttp.HostEventsSink;
 import com.palantir.dialogue.Channel;
 import com.palantir.dialogue.ConjureRuntime;
-import com.palantir.dialogue.core.DialogueChannel;
-import com.palantir.dialogue.hc5.ApacheHttpClientChannels;
 import com.palantir.logsafe.Preconditions;
+import com.palantir.refreshable.Refreshable;
 import feign.Contract;
 import feign.Feign;
 import feign.Logger;
 import feign.Retryer;
 import feign.codec.Decoder;
 import feign.codec.Encoder;
-import feign.jackson.JacksonDecoder;
 import feign.jaxrs.JAXRSContract;
 
 /** Not meant to be implemented outside of this library. */
@@ -68,6 +61,8 @@ abstract class AbstractFeignJaxRsClientBuilder {
 
     protected abstract ObjectMapper getCborObjectMapper();
 
+    protected abstract ObjectMapper getSmileObjectMapper();
+
     /** Set the host metrics registry to use when constructing the OkHttp client. */
     final AbstractFeignJaxRsClientBuilder hostEventsSink(HostEventsSink newHostEventsSink) {
         Preconditions.checkNotNull(newHostEventsSink, "hostEventsSink can't be null");
@@ -76,21 +71,40 @@ abstract class AbstractFeignJaxRsClientBuilder {
     }
 
     final <T> T build(Class<T> serviceClass, UserAgent userAgent) {
-        ClientConfiguration hydratedConfiguration = ClientConfiguration.builder()
+        ClientConfiguration hydratedConfiguration = hydrate(config, userAgent, hostEventsSink);
+        Channel channel = PooledChannelFactory.create(channelName(serviceClass), hydratedConfiguration);
+
+        return create(serviceClass, channel, RUNTIME, getObjectMapper(), getCborObjectMapper(), getSmileObjectMapper());
+    }
+
+    /**
+     * Builds a client whose channel follows the given live-reloading configuration. The client itself is only built
+     * once. Dialogue channels can't change their nodes or settings, so every change of the configuration builds a new
+     * channel, with fresh node selection and concurrency limiter state. Changes which only touch the URIs keep the
+     * connection pool, see {@link PooledChannelFactory}.
+     */
+    final <T> T buildReloading(
+            Class<T> serviceClass, UserAgent userAgent, Refreshable<ClientConfiguration> refreshableConfig) {
+        HostEventsSink sink = hostEventsSink;
+        String name = channelName(serviceClass);
+        Refreshable<Channel> channels = refreshableConfig.map(
+                newConfig -> PooledChannelFactory.create(name, hydrate(newConfig, userAgent, sink)));
+        Channel channel = (endpoint, request) -> channels.get().execute(endpoint, request);
+
+        return create(serviceClass, channel, RUNTIME, getObjectMapper(), getCborObjectMapper(), getSmileObjectMapper());
+    }
+
+    private static ClientConfiguration hydrate(
+            ClientConfiguration config, UserAgent userAgent, HostEventsSink hostEventsSink) {
+        return ClientConfiguration.builder()
                 .from(config)
                 .userAgent(Preconditions.checkNotNull(userAgent, "userAgent must be set"))
                 .hostEventsSink(Preconditions.checkNotNull(hostEventsSink, "hostEventsSink must be set"))
                 .build();
-        String name = "JaxRsClient-" + serviceClass.getSimpleName();
-        ApacheHttpClientChannels.CloseableClient client =
-                ApacheHttpClientChannels.createCloseableHttpClient(hydratedConfiguration, name);
-        Channel channel = DialogueChannel.builder()
-                .channelName(name)
-                .channelFactory(uri -> ApacheHttpClientChannels.createSingleUri(uri, client))
-                .clientConfiguration(hydratedConfiguration)
-                .buildNonLiveReloading();
-
-        return create(serviceClass, channel, RUNTIME, getObjectMapper(), getCborObjectMapper());
+    }
+
+    private static String channelName(Class<?> serviceClass) {
+        return "JaxRsClient-" + serviceClass.getSimpleName();
     }
 
     static <T> T create(
@@ -98,36 +112,40 @@ abstract class AbstractFeignJaxRsClientBuilder {
             Channel channel,
             ConjureRuntime runtime,
             ObjectMapper jsonObjectMapper,
-            ObjectMapper cborObjectMapper) {
+            ObjectMapper cborObjectMapper,
+            ObjectMapper smileObjectMapper) {
         // not used, simply for replacement
         String baseUrl = "dialogue://feign";
         return Feign.builder()
                 .contract(createContract())
-                .encoder(createEncoder(jsonObjectMapper, cborObjectMapper))
-                .decoder(createDecoder(jsonObjectMapper, cborObjectMapper))
+                .encoder(createEncoder(jsonObjectMapper, cborObjectMapper, smileObjectMapper))
+                .decoder(createDecoder(serviceClass, jsonObjectMapper, cborObjectMapper, smileObjectMapper))
                 .errorDecoder(new DialogueFeignClient.RemoteExceptionDecoder(runtime))
                 .client(new DialogueFeignClient(serviceClass, channel, runtime, baseUrl))
+                .invocationHandlerFactory(StreamingBodyEncoder.invocationHandlerFactory())
                 .logLevel(Logger.Level.NONE) // we use Dialogue for logging. (note that NONE is the default)
                 .retryer(new Retryer.Default(0, 0, 1)) // use dialogue retry mechanism only
                 .target(serviceClass, baseUrl);
     }
 
-    private static Contract createContract() {
+    static Contract createContract() {
         return new EndpointNameHeaderEnrichmentContract(
-                new PathTemplateHeaderEnrichmentContract(new SlashEncodingContract(
-                        new Java8OptionalAwareContract(new GuavaOptionalAwareContract(new JAXRSContract())))));
+                new PathTemplateHeaderEnrichmentContract(new SlashEncodingContract(new SmileAcceptContract(
+                        new Java8OptionalAwareContract(new GuavaOptionalAwareContract(new JAXRSContract()))))));
     }
 
-    private static Decoder createDecoder(ObjectMapper objectMapper, ObjectMapper cborObjectMapper) {
-        return new NeverReturnNullDecoder(
-                new Java8OptionalAwareDecoder(new GuavaOptionalAwareDecoder(new EmptyContainerDecoder(
-                        objectMapper,
-                        new InputStreamDelegateDecoder(new TextDelegateDecoder(
-                                new CborDelegateDecoder(cborObjectMapper, new JacksonDecoder(objectMapper))))))));
+    private static Decoder createDecoder(
+            Class<?> serviceClass,
+            ObjectMapper objectMapper,
+            ObjectMapper cborObjectMapper,
+            ObjectMapper smileObjectMapper) {
+        return new DecodingPlanDecoder(serviceClass, objectMapper, cborObjectMapper, smileObjectMapper);
     }
 
-    private static Encoder createEncoder(ObjectMapper objectMapper, ObjectMapper cborObjectMapper) {
-        return new InputStreamDelegateEncoder(new TextDelegateEncoder(
-                new CborDelegateEncoder(cborObjectMapper, new ConjureFeignJacksonEncoder(objectMapper))));
+    private static Encoder createEncoder(
+            ObjectMapper objectMapper, ObjectMapper cborObjectMapper, ObjectMapper smileObjectMapper) {
+        return new StreamingBodyEncoder(new TextDelegateEncoder(new SmileDelegateEncoder(
+                smileObjectMapper,
+                new CborDelegateEncoder(cborObjectMapper, new ConjureFeignJacksonEncoder(objectMapper)))));
     }
 }
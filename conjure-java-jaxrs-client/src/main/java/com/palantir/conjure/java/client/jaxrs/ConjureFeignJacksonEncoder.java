@@ -17,13 +17,15 @@
 package com.palantir.conjure.java.client.jaxrs;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import feign.RequestTemplate;
 import feign.codec.EncodeException;
 import feign.codec.Encoder;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Similar to {@link feign.jackson.JacksonEncoder}, but optimized to avoid intermediate String representation of request
@@ -32,6 +34,8 @@ import java.nio.charset.StandardCharsets;
 final class ConjureFeignJacksonEncoder implements Encoder {
 
     private final ObjectMapper mapper;
+    // Body types come from interface methods, so there are only ever a handful of entries
+    private final ConcurrentMap<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
 
     ConjureFeignJacksonEncoder(ObjectMapper mapper) {
         this.mapper = mapper;
@@ -40,10 +44,17 @@ final class ConjureFeignJacksonEncoder implements Encoder {
     @Override
     public void encode(Object object, Type bodyType, RequestTemplate template) {
         try {
-            JavaType javaType = mapper.getTypeFactory().constructType(bodyType);
-            template.body(mapper.writerFor(javaType).writeValueAsBytes(object), StandardCharsets.UTF_8);
+            template.body(writer(bodyType).writeValueAsBytes(object), StandardCharsets.UTF_8);
         } catch (JsonProcessingException e) {
             throw new EncodeException(e.getMessage(), e);
         }
     }
+
+    private ObjectWriter writer(Type bodyType) {
+        ObjectWriter writer = writers.get(bodyType);
+        if (writer == null) {
+            writer = writers.computeIfAbsent(bodyType, type -> mapper.writerFor(mapper.constructType(type)));
+        }
+        return writer;
+    }
 }
@@ -16,6 +16,7 @@
 
 package com.palantir.conjure.java.client.jaxrs;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Splitter;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.ListMultimap;
@@ -26,12 +27,12 @@ import com.google.common.net.HttpHeaders;
 import com.google.common.primitives.Ints;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.palantir.conjure.java.api.errors.UnknownRemoteException;
+import com.palantir.conjure.java.client.jaxrs.feignimpl.DetachableResponseBody;
 import com.palantir.conjure.java.client.jaxrs.feignimpl.EndpointNameHeaderEnrichmentContract;
 import com.palantir.dialogue.Channel;
 import com.palantir.dialogue.ConjureRuntime;
 import com.palantir.dialogue.Deserializer;
 import com.palantir.dialogue.Endpoint;
-import com.palantir.dialogue.EndpointChannel;
 import com.palantir.dialogue.HttpMethod;
 import com.palantir.dialogue.RequestBody;
 import com.palantir.dialogue.Response;
@@ -58,6 +59,9 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
 
 /**
  * {@link DialogueFeignClient} is an adapter from {@link feign.Client} to {@link Channel Dialogue Channel}
@@ -67,7 +71,6 @@ final class DialogueFeignClient implements feign.Client {
 
     private static final String PATH_TEMPLATE = "hr-path-template";
     private static final Splitter pathSplitter = Splitter.on('/');
-    private static final Splitter querySplitter = Splitter.on('&').omitEmptyStrings();
     private static final Splitter queryValueSplitter = Splitter.on('=');
 
     private final ConjureRuntime runtime;
@@ -75,6 +78,8 @@ final class DialogueFeignClient implements feign.Client {
     private final String baseUrl;
     private final String serviceName;
     private final String version;
+    /** Keyed by the path template header, which includes the HTTP method. */
+    private final ConcurrentMap<String, EndpointTemplate> endpointTemplates = new ConcurrentHashMap<>();
 
     DialogueFeignClient(Class<?> jaxrsInterface, Channel channel, ConjureRuntime runtime, String baseUrl) {
         this.channel = Preconditions.checkNotNull(channel, "Channel is required");
@@ -88,21 +93,52 @@ final class DialogueFeignClient implements feign.Client {
 
     @Override
     public feign.Response execute(Request request, Request.Options _options) throws IOException {
+        Optional<StreamingRequestBody.Writer> streamingBody = StreamingBodyEncoder.take(request);
+        try {
+            return execute(request, streamingBody);
+        } finally {
+            // The call has completed one way or another, so release the caller's stream even if it was never written
+            streamingBody.ifPresent(StreamingBodyEncoder::close);
+        }
+    }
+
+    private feign.Response execute(Request request, Optional<StreamingRequestBody.Writer> streamingBody)
+            throws IOException {
         com.palantir.dialogue.Request.Builder builder = com.palantir.dialogue.Request.builder();
-        Optional<RequestBody> body = requestBody(request);
-        if (body.isPresent()) {
-            builder.body(body);
-            builder.putHeaderParams(HttpHeaders.CONTENT_LENGTH, Integer.toString(request.body().length));
+        if (streamingBody.isPresent()) {
+            // The length of a streamed body isn't known up front, so no Content-Length header is sent
+            builder.body(new StreamingRequestBody(
+                    streamingBody.get(),
+                    getFirstHeader(request, HttpHeaders.CONTENT_TYPE).orElse("application/json")));
+        } else {
+            Optional<RequestBody> body = requestBody(request);
+            if (body.isPresent()) {
+                builder.body(body);
+                builder.putHeaderParams(HttpHeaders.CONTENT_LENGTH, Integer.toString(request.body().length));
+            }
         }
-        request.headers().forEach((headerName, values) -> {
+        // The endpoint headers are picked up in the same pass which copies the other headers
+        String endpointName = null;
+        String pathTemplate = null;
+        for (Map.Entry<String, Collection<String>> header : request.headers().entrySet()) {
+            String headerName = header.getKey();
             if (includeRequestHeader(headerName)) {
-                builder.putAllHeaderParams(headerName, values);
+                builder.putAllHeaderParams(headerName, header.getValue());
+            } else if (EndpointNameHeaderEnrichmentContract.ENDPOINT_NAME_HEADER.equals(headerName)) {
+                endpointName = Iterables.getFirst(header.getValue(), null);
+            } else if (PATH_TEMPLATE.equals(headerName)) {
+                pathTemplate = Iterables.getFirst(header.getValue(), null);
             }
-        });
+        }
+        Endpoint endpoint =
+                endpointTemplate(request.method(), endpointName, pathTemplate).toEndpoint(request.url());
 
         try {
             return runtime.clients()
-                    .callBlocking(toEndpointChannel(request), builder.build(), FeignResponseDeserializer.INSTANCE);
+                    .callBlocking(
+                            dialogueRequest -> channel.execute(endpoint, dialogueRequest),
+                            builder.build(),
+                            FeignResponseDeserializer.INSTANCE);
         } catch (UncheckedExecutionException e) {
             // Rethrow IOException to match standard feign behavior
             Throwable cause = e.getCause();
@@ -113,9 +149,23 @@ final class DialogueFeignClient implements feign.Client {
         }
     }
 
-    private EndpointChannel toEndpointChannel(Request feignRequest) {
-        Endpoint endpoint = new FeignRequestEndpoint(feignRequest);
-        return dialogueRequest -> channel.execute(endpoint, dialogueRequest);
+    @VisibleForTesting
+    EndpointTemplate endpointTemplate(String method, @Nullable String endpointName, @Nullable String pathTemplate) {
+        String endpoint = endpointName == null ? "feign" : endpointName;
+        if (pathTemplate == null) {
+            // Requests which weren't built by our contracts aren't worth caching
+            return new EndpointTemplate(method, endpoint, null);
+        }
+        EndpointTemplate template = endpointTemplates.get(pathTemplate);
+        if (template == null) {
+            template = endpointTemplates.computeIfAbsent(
+                    pathTemplate, _key -> new EndpointTemplate(method, endpoint, pathTemplate));
+        }
+        if (!template.endpoint.equals(endpoint)) {
+            // Overloads sharing a path template: uncommon enough to compile each time
+            return new EndpointTemplate(method, endpoint, pathTemplate);
+        }
+        return template;
     }
 
     private static boolean includeRequestHeader(String headerName) {
@@ -133,10 +183,17 @@ final class DialogueFeignClient implements feign.Client {
         if (EndpointNameHeaderEnrichmentContract.ENDPOINT_NAME_HEADER.equalsIgnoreCase(headerName)) {
             return false;
         }
+        if (StreamingBodyEncoder.HEADER.equalsIgnoreCase(headerName)) {
+            return false;
+        }
         return true;
     }
 
-    private static String urlDecode(String input) {
+    static String urlDecode(String input) {
+        if (input.indexOf('%') == -1 && input.indexOf('+') == -1) {
+            // Nothing to decode, URLDecoder would return the input unchanged.
+            return input;
+        }
         try {
             return URLDecoder.decode(input, "UTF-8");
         } catch (UnsupportedEncodingException e) {
@@ -170,7 +227,7 @@ final class DialogueFeignClient implements feign.Client {
         return Optional.empty();
     }
 
-    private static final class ByteArrayRequestBody implements RequestBody {
+    static final class ByteArrayRequestBody implements RequestBody {
 
         private final byte[] buffer;
         private final String contentType;
@@ -201,9 +258,10 @@ final class DialogueFeignClient implements feign.Client {
         }
     }
 
-    private static final class DialogueResponseBody implements feign.Response.Body {
+    private static final class DialogueResponseBody implements DetachableResponseBody {
 
         private final Response response;
+        private volatile boolean detached;
 
         DialogueResponseBody(Response response) {
             this.response = response;
@@ -231,9 +289,17 @@ final class DialogueFeignClient implements feign.Client {
             return new InputStreamReader(asInputStream(), StandardCharsets.UTF_8);
         }
 
+        @Override
+        public InputStream detach() {
+            detached = true;
+            return new ResponseClosingInputStream(response);
+        }
+
         @Override
         public void close() {
-            response.close();
+            if (!detached) {
+                response.close();
+            }
         }
 
         @Override
@@ -342,57 +408,177 @@ final class DialogueFeignClient implements feign.Client {
         }
     }
 
-    private final class FeignRequestEndpoint implements Endpoint {
-        private final Request request;
-        private final String endpoint;
+    /**
+     * Endpoint metadata compiled once per interface method from the headers added by
+     * {@link EndpointNameHeaderEnrichmentContract} and the path template contract.
+     */
+    @VisibleForTesting
+    final class EndpointTemplate {
         private final HttpMethod method;
+        private final String endpoint;
 
-        FeignRequestEndpoint(Request request) {
-            this.request = request;
-            this.method = HttpMethod.valueOf(request.method().toUpperCase(Locale.ENGLISH));
-            endpoint = getFirstHeader(request, EndpointNameHeaderEnrichmentContract.ENDPOINT_NAME_HEADER)
-                    .orElse("feign");
+        /**
+         * Decoded literal path segments, with {@code null} entries for path parameters, or {@code null} if the path
+         * template is unavailable or has segments which mix literals and parameters.
+         */
+        @Nullable
+        private final String[] segments;
+
+        EndpointTemplate(String method, String endpoint, @Nullable String pathTemplate) {
+            this.method = HttpMethod.valueOf(method.toUpperCase(Locale.ENGLISH));
+            this.endpoint = endpoint;
+            this.segments = pathTemplate == null ? null : compileSegments(pathTemplate);
         }
 
-        @Override
-        public void renderPath(Map<String, String> _params, UrlBuilder url) {
-            String target = request.url();
+        void renderPath(String target, UrlBuilder url) {
             Preconditions.checkState(
                     target.startsWith(baseUrl),
                     "Request URL must start with base url",
                     UnsafeArg.of("requestUrl", target),
                     UnsafeArg.of("baseUrl", baseUrl));
-            int trailingOffset = 0;
+            int pathStart = baseUrl.length();
             // If the trailing section starts with a slash, ignore it to prevent duplicate leading slashes.
-            if (target.length() > baseUrl.length() && target.charAt(baseUrl.length()) == '/') {
-                trailingOffset = 1;
+            if (target.length() > pathStart && target.charAt(pathStart) == '/') {
+                pathStart++;
             }
-            String trailing = target.substring(baseUrl.length() + trailingOffset);
-            int queryParamsStart = trailing.indexOf('?');
-            String queryPortion = queryParamsStart == -1 ? trailing : trailing.substring(0, queryParamsStart);
-            if (!queryPortion.isEmpty()) {
-                for (String pathSegment : pathSplitter.split(queryPortion)) {
-                    url.pathSegment(urlDecode(pathSegment));
+            int queryStart = target.indexOf('?', pathStart);
+            int pathEnd = queryStart == -1 ? target.length() : queryStart;
+            if (!renderCompiledPath(target, pathStart, pathEnd, url)) {
+                renderPathSegments(target, pathStart, pathEnd, url);
+            }
+            if (queryStart != -1) {
+                renderQueryParams(target, queryStart + 1, url);
+            }
+        }
+
+        /**
+         * Renders the path using the compiled template: literal segments are taken from the template as-is, and only
+         * path parameter values are extracted from the target and decoded. Returns false without rendering anything
+         * if the target does not match the shape of the template.
+         */
+        private boolean renderCompiledPath(String target, int pathStart, int pathEnd, UrlBuilder url) {
+            if (segments == null) {
+                return false;
+            }
+            if (segments.length == 0 || pathStart == pathEnd) {
+                return segments.length == 0 && pathStart == pathEnd;
+            }
+            int separators = 0;
+            for (int i = pathStart; i < pathEnd; i++) {
+                if (target.charAt(i) == '/') {
+                    separators++;
                 }
             }
-            if (queryParamsStart != -1) {
-                String querySegments = trailing.substring(queryParamsStart + 1);
-                for (String querySegment : querySplitter.split(querySegments)) {
-                    List<String> keyValuePair = queryValueSplitter.splitToList(querySegment);
-                    if (keyValuePair.size() != 2) {
-                        throw new SafeIllegalStateException(
-                                "Expected two parameters",
-                                SafeArg.of("parameters", keyValuePair.size()),
-                                UnsafeArg.of("values", keyValuePair));
-                    }
-                    url.queryParam(urlDecode(keyValuePair.get(0)), urlDecode(keyValuePair.get(1)));
+            if (separators != segments.length - 1) {
+                return false;
+            }
+            int segmentStart = pathStart;
+            for (String segment : segments) {
+                int segmentEnd = target.indexOf('/', segmentStart);
+                if (segmentEnd == -1 || segmentEnd > pathEnd) {
+                    segmentEnd = pathEnd;
                 }
+                url.pathSegment(segment != null ? segment : urlDecode(target.substring(segmentStart, segmentEnd)));
+                segmentStart = segmentEnd + 1;
             }
+            return true;
+        }
+
+        Endpoint toEndpoint(String target) {
+            return new FeignRequestEndpoint(this, target);
+        }
+    }
+
+    private static void renderPathSegments(String target, int pathStart, int pathEnd, UrlBuilder url) {
+        if (pathStart == pathEnd) {
+            return;
+        }
+        for (String pathSegment : pathSplitter.split(target.substring(pathStart, pathEnd))) {
+            url.pathSegment(urlDecode(pathSegment));
+        }
+    }
+
+    private static void renderQueryParams(String target, int queryStart, UrlBuilder url) {
+        int segmentStart = queryStart;
+        while (segmentStart < target.length()) {
+            int segmentEnd = target.indexOf('&', segmentStart);
+            if (segmentEnd == -1) {
+                segmentEnd = target.length();
+            }
+            if (segmentEnd > segmentStart) {
+                int separator = target.indexOf('=', segmentStart);
+                boolean singleSeparator = separator != -1
+                        && separator < segmentEnd
+                        && target.lastIndexOf('=', segmentEnd - 1) == separator;
+                if (!singleSeparator) {
+                    List<String> keyValuePair =
+                            queryValueSplitter.splitToList(target.substring(segmentStart, segmentEnd));
+                    throw new SafeIllegalStateException(
+                            "Expected two parameters",
+                            SafeArg.of("parameters", keyValuePair.size()),
+                            UnsafeArg.of("values", keyValuePair));
+                }
+                url.queryParam(
+                        urlDecode(target.substring(segmentStart, separator)),
+                        urlDecode(target.substring(separator + 1, segmentEnd)));
+            }
+            segmentStart = segmentEnd + 1;
+        }
+    }
+
+    /**
+     * Splits a path template such as {@code GET /foo/{bar}} into its segments, see {@link EndpointTemplate#segments}.
+     */
+    @Nullable
+    private static String[] compileSegments(String pathTemplate) {
+        int pathStart = pathTemplate.indexOf(' ') + 1;
+        if (pathStart < pathTemplate.length() && pathTemplate.charAt(pathStart) == '/') {
+            pathStart++;
+        }
+        String path = pathTemplate.substring(pathStart);
+        if (path.isEmpty()) {
+            return new String[0];
+        }
+        List<String> templateSegments = pathSplitter.splitToList(path);
+        String[] compiled = new String[templateSegments.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            String segment = templateSegments.get(i);
+            if (isPathParameter(segment)) {
+                compiled[i] = null;
+            } else if (segment.indexOf('{') == -1 && segment.indexOf('}') == -1) {
+                compiled[i] = urlDecode(segment);
+            } else {
+                return null;
+            }
+        }
+        return compiled;
+    }
+
+    private static boolean isPathParameter(String segment) {
+        return segment.length() > 2
+                && segment.charAt(0) == '{'
+                && segment.indexOf('{', 1) == -1
+                && segment.indexOf('}') == segment.length() - 1
+                && segment.indexOf(':') == -1;
+    }
+
+    private final class FeignRequestEndpoint implements Endpoint {
+        private final EndpointTemplate template;
+        private final String target;
+
+        FeignRequestEndpoint(EndpointTemplate template, String target) {
+            this.template = template;
+            this.target = target;
+        }
+
+        @Override
+        public void renderPath(Map<String, String> _params, UrlBuilder url) {
+            template.renderPath(target, url);
         }
 
         @Override
         public HttpMethod httpMethod() {
-            return method;
+            return template.method;
         }
 
         @Override
@@ -402,7 +588,7 @@ final class DialogueFeignClient implements feign.Client {
 
         @Override
         public String endpointName() {
-            return endpoint;
+            return template.endpoint;
         }
 
         @Override
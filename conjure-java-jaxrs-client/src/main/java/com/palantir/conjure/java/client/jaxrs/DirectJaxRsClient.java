@@ -0,0 +1,134 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.client.jaxrs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.reflect.AbstractInvocationHandler;
+import com.google.common.reflect.Reflection;
+import com.palantir.dialogue.Channel;
+import com.palantir.dialogue.ConjureRuntime;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
+import com.palantir.logsafe.exceptions.SafeRuntimeException;
+import feign.Feign;
+import feign.MethodMetadata;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Creates JAX-RS proxies which bind each interface method directly to a Dialogue endpoint, see
+ * {@link DirectJaxRsMethod}. Unlike {@link FeignJaxRsClientBuilder} clients, invocations don't build and re-parse an
+ * intermediate Feign request. Methods are still validated and their parameter encoding chosen by the same Feign
+ * contract.
+ */
+final class DirectJaxRsClient {
+
+    private DirectJaxRsClient() {}
+
+    @SuppressWarnings("ProxyNonConstantType")
+    static <T> T create(
+            Class<T> serviceClass,
+            Channel channel,
+            ConjureRuntime runtime,
+            ObjectMapper jsonMapper,
+            ObjectMapper cborMapper,
+            ObjectMapper smileMapper) {
+        Map<String, MethodMetadata> metadata = Maps.uniqueIndex(
+                AbstractFeignJaxRsClientBuilder.createContract().parseAndValidatateMetadata(serviceClass),
+                MethodMetadata::configKey);
+        ImmutableMap.Builder<Method, DirectJaxRsMethod> methods = ImmutableMap.builder();
+        ImmutableMap.Builder<Method, MethodHandle> defaultMethods = ImmutableMap.builder();
+        for (Method method : serviceClass.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            if (method.isDefault()) {
+                defaultMethods.put(method, defaultMethodHandle(method));
+            } else {
+                methods.put(
+                        method,
+                        new DirectJaxRsMethod(
+                                serviceClass,
+                                method,
+                                metadata.get(Feign.configKey(serviceClass, method)),
+                                channel,
+                                runtime,
+                                jsonMapper,
+                                cborMapper,
+                                smileMapper));
+            }
+        }
+        return Reflection.newProxy(serviceClass, new Handler(serviceClass, methods.build(), defaultMethods.build()));
+    }
+
+    private static MethodHandle defaultMethodHandle(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        try {
+            return MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup())
+                    .unreflectSpecial(method, declaringClass);
+        } catch (IllegalAccessException e) {
+            throw new SafeRuntimeException(
+                    "Failed to access default method",
+                    e,
+                    SafeArg.of("class", declaringClass.getSimpleName()),
+                    SafeArg.of("method", method.getName()));
+        }
+    }
+
+    private static final class Handler extends AbstractInvocationHandler {
+        private final Class<?> serviceClass;
+        private final ImmutableMap<Method, DirectJaxRsMethod> methods;
+        private final ImmutableMap<Method, MethodHandle> defaultMethods;
+
+        Handler(
+                Class<?> serviceClass,
+                ImmutableMap<Method, DirectJaxRsMethod> methods,
+                ImmutableMap<Method, MethodHandle> defaultMethods) {
+            this.serviceClass = serviceClass;
+            this.methods = methods;
+            this.defaultMethods = defaultMethods;
+        }
+
+        @Nullable
+        @Override
+        protected Object handleInvocation(Object proxy, Method method, Object[] args) throws Throwable {
+            DirectJaxRsMethod endpoint = methods.get(method);
+            if (endpoint != null) {
+                return endpoint.invoke(args);
+            }
+            MethodHandle defaultMethod = defaultMethods.get(method);
+            if (defaultMethod != null) {
+                return defaultMethod.bindTo(proxy).invokeWithArguments(args);
+            }
+            throw new SafeIllegalStateException(
+                    "Unknown method",
+                    SafeArg.of("class", serviceClass.getSimpleName()),
+                    SafeArg.of("method", method.getName()));
+        }
+
+        @Override
+        public String toString() {
+            return "DirectJaxRsClient{service=" + serviceClass.getSimpleName() + '}';
+        }
+    }
+}
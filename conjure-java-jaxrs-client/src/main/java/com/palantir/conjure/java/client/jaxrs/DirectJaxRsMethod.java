@@ -0,0 +1,612 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.client.jaxrs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimaps;
+import com.google.common.net.HttpHeaders;
+import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.conjure.java.api.errors.UnknownRemoteException;
+import com.palantir.conjure.java.client.jaxrs.feignimpl.CborDelegateEncoder;
+import com.palantir.conjure.java.client.jaxrs.feignimpl.DecodingPlan;
+import com.palantir.conjure.java.client.jaxrs.feignimpl.SmileAcceptContract;
+import com.palantir.conjure.java.client.jaxrs.feignimpl.SmileDelegateEncoder;
+import com.palantir.dialogue.Channel;
+import com.palantir.dialogue.ConjureRuntime;
+import com.palantir.dialogue.Deserializer;
+import com.palantir.dialogue.Endpoint;
+import com.palantir.dialogue.EndpointChannel;
+import com.palantir.dialogue.HttpMethod;
+import com.palantir.dialogue.Request;
+import com.palantir.dialogue.Response;
+import com.palantir.dialogue.UrlBuilder;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
+import com.palantir.logsafe.exceptions.SafeRuntimeException;
+import feign.MethodMetadata;
+import feign.Param;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * A single method of a JAX-RS interface bound directly to a Dialogue {@link EndpointChannel}. The JAX-RS annotations
+ * and the parameter and return types are inspected once when the client is created; invocations only copy their
+ * arguments into a {@link Request} and run the precomputed body encoder and response decoder.
+ *
+ * <p>Methods returning {@link ListenableFuture} or {@link CompletableFuture} execute the request asynchronously.
+ *
+ * <p>Request and response bodies are handled with the same semantics as the Feign based client: Java 8 and Guava
+ * optionals, empty containers on {@code 204}, {@code text/plain}, {@code application/cbor},
+ * {@code application/x-jackson-smile} and {@link InputStream} bodies. Responses are decoded with the same
+ * {@link DecodingPlan}. {@link InputStream} and {@link StreamingOutput} request bodies are streamed.
+ *
+ * <p>Path, query and header parameters are converted to strings with the {@link Param.Expander expanders} chosen by
+ * the Feign contract for the method, falling back to {@link Object#toString} like Feign does.
+ */
+final class DirectJaxRsMethod implements Endpoint {
+
+    /** JAX-RS allows whitespace around the parameter name as well as an optional regular expression. */
+    private static final Pattern PATH_PARAMETER = Pattern.compile("\\{\\s*(.+?)\\s*(:.+?)?\\}");
+
+    private final ConjureRuntime runtime;
+    private final EndpointChannel endpointChannel;
+    private final HttpMethod httpMethod;
+    private final String serviceName;
+    private final String endpointName;
+    private final String version;
+    private final ImmutableList<PathSegment> pathSegments;
+    private final ImmutableList<ParameterBinding> pathParams;
+    private final ImmutableList<ParameterBinding> queryParams;
+    private final ImmutableList<ParameterBinding> headerParams;
+    private final Optional<String> accept;
+    private final Optional<String> contentType;
+    private final int bodyIndex;
+
+    @Nullable
+    private final BodyEncoder bodyEncoder;
+
+    @Nullable
+    private final Function<Object, StreamingRequestBody.Writer> streamingBody;
+
+    private final Invocation invocation;
+    private final Deserializer<Object> deserializer;
+
+    DirectJaxRsMethod(
+            Class<?> serviceClass,
+            Method method,
+            MethodMetadata metadata,
+            Channel channel,
+            ConjureRuntime runtime,
+            ObjectMapper jsonMapper,
+            ObjectMapper cborMapper,
+            ObjectMapper smileMapper) {
+        this.runtime = runtime;
+        this.endpointChannel = request -> channel.execute(this, request);
+        this.httpMethod = httpMethod(serviceClass, method);
+        this.serviceName = serviceClass.getSimpleName();
+        this.endpointName = method.getName();
+        this.version = Optional.ofNullable(serviceClass.getPackage().getImplementationVersion())
+                .orElse("0.0.0");
+        this.accept = Optional.ofNullable(method.getAnnotation(Produces.class))
+                .or(() -> Optional.ofNullable(serviceClass.getAnnotation(Produces.class)))
+                .map(produces -> SmileAcceptContract.accept(produces.value())
+                        .orElseGet(() -> firstValue(produces.value(), method, "Produces")));
+        this.contentType = Optional.ofNullable(method.getAnnotation(Consumes.class))
+                .or(() -> Optional.ofNullable(serviceClass.getAnnotation(Consumes.class)))
+                .map(consumes -> firstValue(consumes.value(), method, "Consumes"));
+
+        ImmutableList.Builder<ParameterBinding> pathParamsBuilder = ImmutableList.builder();
+        ImmutableList.Builder<ParameterBinding> queryParamsBuilder = ImmutableList.builder();
+        ImmutableList.Builder<ParameterBinding> headerParamsBuilder = ImmutableList.builder();
+        int body = -1;
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Param.Expander expander = expander(metadata, i);
+            PathParam pathParam = find(parameterAnnotations[i], PathParam.class);
+            QueryParam queryParam = find(parameterAnnotations[i], QueryParam.class);
+            HeaderParam headerParam = find(parameterAnnotations[i], HeaderParam.class);
+            if (pathParam != null) {
+                pathParamsBuilder.add(new ParameterBinding(pathParam.value(), i, expander));
+            } else if (queryParam != null) {
+                queryParamsBuilder.add(new ParameterBinding(queryParam.value(), i, expander));
+            } else if (headerParam != null) {
+                headerParamsBuilder.add(new ParameterBinding(headerParam.value(), i, expander));
+            } else if (!hasJaxRsAnnotation(parameterAnnotations[i])) {
+                Preconditions.checkArgument(
+                        body == -1,
+                        "Method has too many body parameters",
+                        SafeArg.of("class", serviceClass.getSimpleName()),
+                        SafeArg.of("method", method.getName()));
+                body = i;
+            } else {
+                throw new SafeIllegalArgumentException(
+                        "Unsupported JAX-RS parameter annotation",
+                        SafeArg.of("class", serviceClass.getSimpleName()),
+                        SafeArg.of("method", method.getName()),
+                        SafeArg.of("parameter", i));
+            }
+        }
+        this.pathParams = pathParamsBuilder.build();
+        this.queryParams = queryParamsBuilder.build();
+        this.headerParams = headerParamsBuilder.build();
+        this.pathSegments = compilePath(serviceClass, method, pathParams);
+        this.bodyIndex = body;
+        Type bodyType = body == -1 ? null : method.getGenericParameterTypes()[body];
+        this.streamingBody = bodyType == null ? null : streamingBody(bodyType);
+        this.bodyEncoder = bodyType == null || streamingBody != null
+                ? null
+                : bodyEncoder(bodyType, contentType, jsonMapper, cborMapper, smileMapper);
+        this.invocation = Invocation.of(method.getReturnType());
+        Type responseType = invocation == Invocation.BLOCKING
+                ? method.getGenericReturnType()
+                : TypeToken.of(method.getGenericReturnType())
+                        .resolveType(Future.class.getTypeParameters()[0])
+                        .getType();
+        boolean noContent = responseType.equals(void.class)
+                || (invocation != Invocation.BLOCKING && responseType.equals(Void.class));
+        this.deserializer = new ResponseDeserializer(
+                runtime, noContent ? null : DecodingPlan.of(responseType, jsonMapper, cborMapper, smileMapper));
+    }
+
+    Object invoke(@Nullable Object[] args) {
+        Request.Builder request = Request.builder();
+        for (ParameterBinding param : pathParams) {
+            Object value = Preconditions.checkNotNull(
+                    args[param.index], "Path parameter must not be null", SafeArg.of("parameter", param.name));
+            request.putPathParams(param.name, String.valueOf(param.expand(value)));
+        }
+        for (ParameterBinding param : queryParams) {
+            Object value = args[param.index] == null ? null : param.expand(args[param.index]);
+            if (value instanceof Iterable) {
+                for (Object element : (Iterable<?>) value) {
+                    request.putQueryParams(param.name, String.valueOf(element));
+                }
+            } else if (value != null) {
+                request.putQueryParams(param.name, value.toString());
+            }
+        }
+        accept.ifPresent(value -> request.putHeaderParams(HttpHeaders.ACCEPT, value));
+        for (ParameterBinding param : headerParams) {
+            // Unlike Feign, which sends the unresolved template, null headers are omitted
+            Object value = args[param.index] == null ? null : param.expand(args[param.index]);
+            if (value != null) {
+                request.putHeaderParams(param.name, value.toString());
+            }
+        }
+        if (streamingBody != null) {
+            Object body = Preconditions.checkNotNull(args[bodyIndex], "Body parameter must not be null");
+            // The length of a streamed body isn't known up front, so no Content-Length header is sent
+            request.body(new StreamingRequestBody(
+                    streamingBody.apply(body), contentType.orElse(MediaType.APPLICATION_JSON)));
+        } else if (bodyEncoder != null) {
+            Object body = Preconditions.checkNotNull(args[bodyIndex], "Body parameter must not be null");
+            byte[] content;
+            try {
+                content = bodyEncoder.encode(body);
+            } catch (IOException e) {
+                throw new SafeRuntimeException("Failed to serialize request body", e);
+            }
+            if (contentType.isPresent() || content.length != 0) {
+                // Without a Content-Type the body defaults to application/json, as with Feign
+                request.body(new DialogueFeignClient.ByteArrayRequestBody(
+                        content, contentType.orElse(MediaType.APPLICATION_JSON)));
+                request.putHeaderParams(HttpHeaders.CONTENT_LENGTH, Integer.toString(content.length));
+            }
+        }
+        switch (invocation) {
+            case LISTENABLE_FUTURE:
+                return runtime.clients().call(endpointChannel, request.build(), deserializer);
+            case COMPLETABLE_FUTURE:
+                return toCompletableFuture(runtime.clients().call(endpointChannel, request.build(), deserializer));
+            case BLOCKING:
+                return runtime.clients().callBlocking(endpointChannel, request.build(), deserializer);
+        }
+        throw new SafeIllegalStateException("Unknown invocation type", SafeArg.of("invocation", invocation));
+    }
+
+    /** Cancelling the returned future cancels the request on the channel. */
+    private static <T> CompletableFuture<T> toCompletableFuture(ListenableFuture<T> future) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        result.whenComplete((_value, _throwable) -> {
+            if (result.isCancelled()) {
+                future.cancel(false);
+            }
+        });
+        Futures.addCallback(
+                future,
+                new FutureCallback<T>() {
+                    @Override
+                    public void onSuccess(@Nullable T value) {
+                        result.complete(value);
+                    }
+
+                    @Override
+                    public void onFailure(Throwable throwable) {
+                        result.completeExceptionally(throwable);
+                    }
+                },
+                MoreExecutors.directExecutor());
+        return result;
+    }
+
+    @Override
+    public void renderPath(Map<String, String> params, UrlBuilder url) {
+        for (PathSegment segment : pathSegments) {
+            url.pathSegment(segment.render(params));
+        }
+    }
+
+    @Override
+    public HttpMethod httpMethod() {
+        return httpMethod;
+    }
+
+    @Override
+    public String serviceName() {
+        return serviceName;
+    }
+
+    @Override
+    public String endpointName() {
+        return endpointName;
+    }
+
+    @Override
+    public String version() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return "DirectJaxRsMethod{" + serviceName + '.' + endpointName + '}';
+    }
+
+    private static HttpMethod httpMethod(Class<?> serviceClass, Method method) {
+        javax.ws.rs.HttpMethod found = null;
+        for (Annotation annotation : method.getAnnotations()) {
+            javax.ws.rs.HttpMethod httpMethod = annotation.annotationType().getAnnotation(javax.ws.rs.HttpMethod.class);
+            if (httpMethod != null) {
+                Preconditions.checkArgument(
+                        found == null,
+                        "Method contains multiple HTTP methods",
+                        SafeArg.of("class", serviceClass.getSimpleName()),
+                        SafeArg.of("method", method.getName()));
+                found = httpMethod;
+            }
+        }
+        Preconditions.checkNotNull(
+                found,
+                "An HTTP method is required",
+                SafeArg.of("class", serviceClass.getSimpleName()),
+                SafeArg.of("method", method.getName()));
+        try {
+            return HttpMethod.valueOf(found.value().toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            throw new SafeIllegalArgumentException(
+                    "Unsupported HTTP method",
+                    SafeArg.of("class", serviceClass.getSimpleName()),
+                    SafeArg.of("method", method.getName()),
+                    SafeArg.of("httpMethod", found.value()));
+        }
+    }
+
+    private static String firstValue(String[] values, Method method, String annotation) {
+        Preconditions.checkArgument(
+                values.length != 0 && !values[0].isEmpty(),
+                "Annotation value was empty",
+                SafeArg.of("annotation", annotation),
+                SafeArg.of("method", method.getName()));
+        return values[0];
+    }
+
+    @Nullable
+    private static Param.Expander expander(MethodMetadata metadata, int index) {
+        Class<? extends Param.Expander> expanderClass =
+                metadata.indexToExpanderClass().get(index);
+        if (expanderClass == null) {
+            return null;
+        }
+        try {
+            return expanderClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new SafeIllegalStateException(
+                    "Failed to create parameter expander", e, SafeArg.of("expander", expanderClass.getName()));
+        }
+    }
+
+    @Nullable
+    private static <A extends Annotation> A find(Annotation[] annotations, Class<A> type) {
+        for (Annotation annotation : annotations) {
+            if (type.isInstance(annotation)) {
+                return type.cast(annotation);
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasJaxRsAnnotation(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation
+                    .annotationType()
+                    .getPackage()
+                    .getName()
+                    .equals(Path.class.getPackage().getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Joins the type and method {@link Path} annotations the same way as Feign's {@code JAXRSContract}. */
+    private static ImmutableList<PathSegment> compilePath(
+            Class<?> serviceClass, Method method, ImmutableList<ParameterBinding> pathParams) {
+        StringBuilder template = new StringBuilder();
+        Path typePath = serviceClass.getAnnotation(Path.class);
+        if (typePath != null && !typePath.value().isEmpty()) {
+            String value = typePath.value();
+            if (!value.startsWith("/")) {
+                value = "/" + value;
+            }
+            if (value.endsWith("/")) {
+                value = value.substring(0, value.length() - 1);
+            }
+            template.append(value);
+        }
+        Path methodPath = method.getAnnotation(Path.class);
+        if (methodPath != null && !methodPath.value().isEmpty()) {
+            String value = methodPath.value();
+            if (!value.startsWith("/") && (template.length() == 0 || template.charAt(template.length() - 1) != '/')) {
+                template.append('/');
+            }
+            template.append(PATH_PARAMETER.matcher(value).replaceAll("{$1}"));
+        }
+
+        String path = template.length() != 0 && template.charAt(0) == '/' ? template.substring(1) : template.toString();
+        if (path.isEmpty()) {
+            return ImmutableList.of();
+        }
+        Map<String, ParameterBinding> paramsByName = Maps.uniqueIndex(pathParams, param -> param.name);
+        ImmutableList.Builder<PathSegment> segments = ImmutableList.builder();
+        for (String segment : path.split("/", -1)) {
+            segments.add(compileSegment(segment, paramsByName, serviceClass, method));
+        }
+        return segments.build();
+    }
+
+    private static PathSegment compileSegment(
+            String segment, Map<String, ParameterBinding> paramsByName, Class<?> serviceClass, Method method) {
+        ImmutableList.Builder<PathSegment> parts = ImmutableList.builder();
+        Matcher matcher = PATH_PARAMETER.matcher(segment);
+        int literalStart = 0;
+        while (matcher.find()) {
+            String name = matcher.group(1);
+            Preconditions.checkArgument(
+                    paramsByName.containsKey(name),
+                    "Path template parameter has no matching @PathParam",
+                    SafeArg.of("class", serviceClass.getSimpleName()),
+                    SafeArg.of("method", method.getName()),
+                    SafeArg.of("parameter", name));
+            if (matcher.start() > literalStart) {
+                parts.add(literal(segment.substring(literalStart, matcher.start())));
+            }
+            parts.add(params -> params.get(name));
+            literalStart = matcher.end();
+        }
+        if (literalStart < segment.length() || literalStart == 0) {
+            parts.add(literal(segment.substring(literalStart)));
+        }
+        ImmutableList<PathSegment> compiled = parts.build();
+        if (compiled.size() == 1) {
+            return compiled.get(0);
+        }
+        return params -> {
+            StringBuilder rendered = new StringBuilder();
+            for (PathSegment part : compiled) {
+                rendered.append(part.render(params));
+            }
+            return rendered.toString();
+        };
+    }
+
+    private static PathSegment literal(String value) {
+        // Feign leaves literals encoded, which the Feign client decodes when building the Dialogue request
+        String decoded = DialogueFeignClient.urlDecode(value);
+        return _params -> decoded;
+    }
+
+    @Nullable
+    private static Function<Object, StreamingRequestBody.Writer> streamingBody(Type bodyType) {
+        if (bodyType.equals(InputStream.class)) {
+            return body -> StreamingRequestBody.of((InputStream) body);
+        }
+        if (bodyType.equals(StreamingOutput.class)) {
+            return body -> StreamingRequestBody.of((StreamingOutput) body);
+        }
+        return null;
+    }
+
+    private static BodyEncoder bodyEncoder(
+            Type bodyType,
+            Optional<String> contentType,
+            ObjectMapper jsonMapper,
+            ObjectMapper cborMapper,
+            ObjectMapper smileMapper) {
+        if (contentType.filter(MediaType.TEXT_PLAIN::equals).isPresent()) {
+            if (bodyType.equals(String.class)) {
+                return body -> ((String) body).getBytes(StandardCharsets.UTF_8);
+            }
+            if (bodyType.equals(byte[].class)) {
+                return body -> (byte[]) body;
+            }
+            return body -> {
+                throw new SafeIllegalArgumentException(
+                        "Type is not supported by the text/plain encoder", SafeArg.of("type", bodyType));
+            };
+        }
+        ObjectMapper mapper = jsonMapper;
+        if (contentType.filter(CborDelegateEncoder.MIME_TYPE::equals).isPresent()) {
+            mapper = cborMapper;
+        } else if (contentType.filter(SmileDelegateEncoder.MIME_TYPE::equals).isPresent()) {
+            mapper = smileMapper;
+        }
+        ObjectWriter writer = mapper.writerFor(mapper.constructType(bodyType));
+        return writer::writeValueAsBytes;
+    }
+
+    /**
+     * How a method's result is produced. Futures are completed by the channel without blocking a thread, and the
+     * response is decoded on the thread which completes them.
+     */
+    private enum Invocation {
+        BLOCKING,
+        LISTENABLE_FUTURE,
+        COMPLETABLE_FUTURE;
+
+        static Invocation of(Class<?> returnType) {
+            if (returnType.equals(ListenableFuture.class)) {
+                return LISTENABLE_FUTURE;
+            }
+            if (returnType.equals(CompletableFuture.class)) {
+                return COMPLETABLE_FUTURE;
+            }
+            return BLOCKING;
+        }
+    }
+
+    private interface PathSegment {
+        String render(Map<String, String> params);
+    }
+
+    private interface BodyEncoder {
+        byte[] encode(Object body) throws IOException;
+    }
+
+    private static final class ParameterBinding {
+        private final String name;
+        private final int index;
+
+        @Nullable
+        private final Param.Expander expander;
+
+        ParameterBinding(String name, int index, @Nullable Param.Expander expander) {
+            this.name = name;
+            this.index = index;
+            this.expander = expander;
+        }
+
+        /** Applies the expander to the value or each of its elements, as Feign does. */
+        @Nullable
+        Object expand(Object value) {
+            if (expander == null) {
+                return value;
+            }
+            if (value instanceof Iterable) {
+                List<String> expanded = new ArrayList<>();
+                for (Object element : (Iterable<?>) value) {
+                    if (element != null) {
+                        expanded.add(expander.expand(element));
+                    }
+                }
+                return expanded;
+            }
+            return expander.expand(value);
+        }
+    }
+
+    private static final class ResponseDeserializer implements Deserializer<Object> {
+
+        private final ConjureRuntime runtime;
+
+        @Nullable
+        private final DecodingPlan plan;
+
+        ResponseDeserializer(ConjureRuntime runtime, @Nullable DecodingPlan plan) {
+            this.runtime = runtime;
+            this.plan = plan;
+        }
+
+        @Nullable
+        @Override
+        public Object deserialize(Response response) {
+            if (plan != null && plan.isStreaming() && response.code() >= 200 && response.code() < 300) {
+                // The decoded value reads the body lazily and closes the response once it's consumed
+                try {
+                    return decode(plan, response, new ResponseClosingInputStream(response));
+                } catch (IOException e) {
+                    response.close();
+                    throw new SafeRuntimeException("Failed to deserialize response", e);
+                } catch (RuntimeException e) {
+                    response.close();
+                    throw e;
+                }
+            }
+            try (Response closeable = response) {
+                if (closeable.code() < 200 || closeable.code() >= 300) {
+                    // The dialogue empty body deserializer properly handles exception mapping
+                    runtime.bodySerDe().emptyBodyDeserializer().deserialize(closeable);
+                    throw new UnknownRemoteException(closeable.code(), "<unknown>");
+                }
+                return plan == null ? null : decode(plan, closeable, closeable.body());
+            } catch (IOException e) {
+                throw new SafeRuntimeException("Failed to deserialize response", e);
+            }
+        }
+
+        private static Object decode(DecodingPlan plan, Response response, InputStream body) throws IOException {
+            return plan.decode(response.code(), DecodingPlan.contentType(Multimaps.asMap(response.headers())), body);
+        }
+
+        @Override
+        public Optional<String> accepts() {
+            // The Accept header is set based on the method annotations and needn't be overridden.
+            return Optional.empty();
+        }
+    }
+}
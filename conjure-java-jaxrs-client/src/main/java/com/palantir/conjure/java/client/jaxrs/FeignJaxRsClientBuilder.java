@@ -24,6 +24,7 @@ public final class FeignJaxRsClientBuilder extends AbstractFeignJaxRsClientBuild
 
     static final ObjectMapper JSON_OBJECT_MAPPER = ObjectMappers.newClientObjectMapper();
     static final ObjectMapper CBOR_OBJECT_MAPPER = ObjectMappers.newCborClientObjectMapper();
+    static final ObjectMapper SMILE_OBJECT_MAPPER = ObjectMappers.newSmileClientObjectMapper();
 
     FeignJaxRsClientBuilder(ClientConfiguration config) {
         super(config);
@@ -38,4 +39,9 @@ public final class FeignJaxRsClientBuilder extends AbstractFeignJaxRsClientBuild
     protected ObjectMapper getCborObjectMapper() {
         return CBOR_OBJECT_MAPPER;
     }
+
+    @Override
+    protected ObjectMapper getSmileObjectMapper() {
+        return SMILE_OBJECT_MAPPER;
+    }
 }
@@ -19,6 +19,7 @@ package com.palantir.conjure.java.client.jaxrs;
 import com.google.common.reflect.Reflection;
 import com.palantir.conjure.java.api.config.service.UserAgent;
 import com.palantir.conjure.java.client.config.ClientConfiguration;
+import com.palantir.conjure.java.client.config.ClientConfigurations;
 import com.palantir.conjure.java.ext.refresh.Refreshable;
 import com.palantir.conjure.java.ext.refresh.RefreshableProxyInvocationHandler;
 import com.palantir.conjure.java.okhttp.HostEventsSink;
@@ -26,7 +27,14 @@ import com.palantir.dialogue.Channel;
 import com.palantir.dialogue.ConjureRuntime;
 import com.palantir.logsafe.Preconditions;
 
-/** Static factory methods for producing creating JAX-RS HTTP proxies. */
+/**
+ * Static factory methods for producing creating JAX-RS HTTP proxies.
+ *
+ * <p>Methods may return {@code Stream<T>} or {@code Iterator<T>} to read the elements of an array response one at a
+ * time. The response, including its connection, is held until the elements are exhausted or the stream is closed.
+ * Returned iterators implement {@link java.io.Closeable}, so an iterator which isn't consumed entirely must be cast to
+ * {@code Closeable} and closed to release the response.
+ */
 public final class JaxRsClient {
 
     private JaxRsClient() {}
@@ -64,6 +72,38 @@ public final class JaxRsClient {
                         serviceConfiguration -> create(serviceClass, userAgent, hostEventsSink, serviceConfiguration)));
     }
 
+    /**
+     * Similar to {@link #create(Class, UserAgent, HostEventsSink, ClientConfiguration)}, but creates a client that
+     * live-reloads whenever the given {@link com.palantir.refreshable.Refreshable refreshable}
+     * {@link ClientConfiguration} changes. The client proxy is built once, and each change of the configuration builds
+     * a new Dialogue channel, see {@link PooledChannelFactory}:
+     *
+     * <ul>
+     *   <li>Changes which only touch the URIs keep the connection pool, so connections to hosts which are still present
+     *       stay warm.
+     *   <li>Any other change, such as new timeouts or a new {@link javax.net.ssl.SSLSocketFactory} instance, also
+     *       creates a new connection pool.
+     *   <li>Node selection state, such as the pinned host, and the per-host concurrency limits are kept by the channel,
+     *       so they start afresh after every change.
+     * </ul>
+     *
+     * <p>Refreshes to an equal configuration are not changes, and keep the channel. Configurations created by
+     * {@link ClientConfigurations#of(com.palantir.conjure.java.api.config.service.ServiceConfiguration)} load new SSL
+     * material every time and therefore never compare equal; map a refreshable service configuration through
+     * {@link com.palantir.conjure.java.clients.CachingClientFactory#clientConfiguration} or
+     * {@link ClientConfigurations#of(com.palantir.conjure.java.api.config.service.ServiceConfiguration,
+     * javax.net.ssl.SSLSocketFactory, javax.net.ssl.X509TrustManager)} instead.
+     */
+    public static <T> T createLiveReloading(
+            Class<T> serviceClass,
+            UserAgent userAgent,
+            HostEventsSink hostEventsSink,
+            com.palantir.refreshable.Refreshable<ClientConfiguration> config) {
+        return new FeignJaxRsClientBuilder(config.get())
+                .hostEventsSink(hostEventsSink)
+                .buildReloading(serviceClass, userAgent, config);
+    }
+
     /**
      * Creates a {@code T client} for the given dialogue {@link Channel}.
      */
@@ -76,6 +116,29 @@ public final class JaxRsClient {
                 channel,
                 runtime,
                 FeignJaxRsClientBuilder.JSON_OBJECT_MAPPER,
-                FeignJaxRsClientBuilder.CBOR_OBJECT_MAPPER);
+                FeignJaxRsClientBuilder.CBOR_OBJECT_MAPPER,
+                FeignJaxRsClientBuilder.SMILE_OBJECT_MAPPER);
+    }
+
+    /**
+     * Similar to {@link #create(Class, Channel, ConjureRuntime)}, but binds every method of the JAX-RS interface
+     * directly to a dialogue endpoint instead of going through Feign. The annotations and types of the interface are
+     * parsed once when the client is created, and request and response bodies are handled with the same semantics.
+     *
+     * <p>Methods may also return a {@link com.google.common.util.concurrent.ListenableFuture} or
+     * {@link java.util.concurrent.CompletableFuture}, which are completed by the channel without blocking a thread.
+     * Cancelling the future cancels the request.
+     */
+    public static <T> T createDirect(Class<T> serviceClass, Channel channel, ConjureRuntime runtime) {
+        Preconditions.checkNotNull(channel, "Channel is required");
+        Preconditions.checkNotNull(serviceClass, "JAX-RS interface is required");
+        Preconditions.checkNotNull(runtime, "ConjureRuntime is required");
+        return DirectJaxRsClient.create(
+                serviceClass,
+                channel,
+                runtime,
+                FeignJaxRsClientBuilder.JSON_OBJECT_MAPPER,
+                FeignJaxRsClientBuilder.CBOR_OBJECT_MAPPER,
+                FeignJaxRsClientBuilder.SMILE_OBJECT_MAPPER);
     }
 }
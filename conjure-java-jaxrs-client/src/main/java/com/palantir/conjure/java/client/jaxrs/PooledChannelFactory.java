@@ -0,0 +1,58 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.client.jaxrs;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.ImmutableList;
+import com.palantir.conjure.java.client.config.ClientConfiguration;
+import com.palantir.dialogue.Channel;
+import com.palantir.dialogue.core.DialogueChannel;
+import com.palantir.dialogue.hc5.ApacheHttpClientChannels;
+
+/**
+ * Creates the Dialogue channels of JAX-RS clients. Channels whose configurations differ only by their URIs share one
+ * Apache connection pool, which keeps separate connections per route. Service interfaces talking to the same backend
+ * therefore share TLS sessions and idle connections, and a live-reloading client keeps its warm connections to hosts
+ * which are still present when its node list changes. Any other change, including timeouts, TLS and proxy settings,
+ * which are baked into the pool, uses a different pool.
+ *
+ * <p>Each channel keeps the name of its service, so per-service metrics are unaffected. A pool is named after the
+ * channel which created it, so the metrics of different pools are kept apart. Pools are released once no channel uses
+ * them anymore.
+ */
+final class PooledChannelFactory {
+
+    // A mesh proxy requires exactly one URI, so the URIs are replaced by a single placeholder rather than cleared
+    private static final ImmutableList<String> POOL_URIS = ImmutableList.of("pool");
+
+    private static final Cache<ClientConfiguration, ApacheHttpClientChannels.CloseableClient> pools =
+            Caffeine.newBuilder().weakValues().build();
+
+    private PooledChannelFactory() {}
+
+    static Channel create(String channelName, ClientConfiguration config) {
+        ApacheHttpClientChannels.CloseableClient client = pools.get(
+                ClientConfiguration.builder().from(config).uris(POOL_URIS).build(),
+                _key -> ApacheHttpClientChannels.createCloseableHttpClient(config, channelName));
+        return DialogueChannel.builder()
+                .channelName(channelName)
+                .channelFactory(uri -> ApacheHttpClientChannels.createSingleUri(uri, client))
+                .clientConfiguration(config)
+                .buildNonLiveReloading();
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.client.jaxrs;
+
+import com.palantir.dialogue.Response;
+import java.io.FilterInputStream;
+import java.io.IOException;
+
+/**
+ * The body of a response which is handed over to a lazily decoded return type, such as a
+ * {@link java.util.stream.Stream}. Closing it closes the response, which releases the connection and any concurrency
+ * limiter permit.
+ */
+final class ResponseClosingInputStream extends FilterInputStream {
+
+    private final Response response;
+
+    ResponseClosingInputStream(Response response) {
+        super(response.body());
+        this.response = response;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            response.close();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.client.jaxrs;
+
+import feign.InvocationHandlerFactory;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.ws.rs.core.StreamingOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Encodes {@link InputStream} and {@link StreamingOutput} bodies as {@link StreamingRequestBody streaming bodies}
+ * rather than reading them into memory.
+ *
+ * <p>Feign requests can only carry byte arrays, so the encoder marks the request with the {@link #HEADER} header and
+ * hands the body to {@link DialogueFeignClient} through the invocation running on the current thread. Clients must be
+ * built with the {@link #invocationHandlerFactory() invocation handler factory}, which closes a body that was encoded
+ * but never claimed once its invocation returns, for instance because expanding the request template failed.
+ */
+final class StreamingBodyEncoder implements Encoder {
+
+    /** Marks requests whose body is held by the encoder. Never sent over the wire. */
+    static final String HEADER = "dialogue-streaming-body";
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingBodyEncoder.class);
+
+    private static final ThreadLocal<StreamingRequestBody.Writer> pendingBody = new ThreadLocal<>();
+
+    private final Encoder delegate;
+
+    StreamingBodyEncoder(Encoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void encode(Object object, Type bodyType, RequestTemplate template) throws EncodeException {
+        if (bodyType.equals(InputStream.class)) {
+            register(StreamingRequestBody.of((InputStream) object), template);
+        } else if (bodyType.equals(StreamingOutput.class)) {
+            register(StreamingRequestBody.of((StreamingOutput) object), template);
+        } else {
+            delegate.encode(object, bodyType, template);
+        }
+    }
+
+    private static void register(StreamingRequestBody.Writer writer, RequestTemplate template) {
+        closeUnclaimed();
+        pendingBody.set(writer);
+        template.header(HEADER, "true");
+    }
+
+    /**
+     * Returns the streaming body of the given request, if it has one, handing it over from the encoder. The caller
+     * becomes responsible for closing the body.
+     */
+    static Optional<StreamingRequestBody.Writer> take(Request request) {
+        if (!request.headers().containsKey(HEADER)) {
+            return Optional.empty();
+        }
+        StreamingRequestBody.Writer writer = pendingBody.get();
+        pendingBody.remove();
+        return Optional.ofNullable(writer);
+    }
+
+    /** Closes the given body, logging rather than propagating failures as the request has already completed. */
+    static void close(StreamingRequestBody.Writer writer) {
+        try {
+            writer.close();
+        } catch (IOException | RuntimeException e) {
+            log.info("Failed to close streaming request body", e);
+        }
+    }
+
+    /** Closes the body encoded by the current invocation if it never reached the client. */
+    private static void closeUnclaimed() {
+        StreamingRequestBody.Writer writer = pendingBody.get();
+        if (writer != null) {
+            pendingBody.remove();
+            close(writer);
+        }
+    }
+
+    /** Creates invocation handlers which release unclaimed streaming bodies once each method invocation returns. */
+    static InvocationHandlerFactory invocationHandlerFactory() {
+        InvocationHandlerFactory delegate = new InvocationHandlerFactory.Default();
+        return (target, dispatch) -> {
+            Map<Method, MethodHandler> releasingDispatch = new HashMap<>(dispatch.size());
+            dispatch.forEach((method, handler) -> releasingDispatch.put(method, args -> {
+                try {
+                    return handler.invoke(args);
+                } finally {
+                    closeUnclaimed();
+                }
+            }));
+            return delegate.create(target, releasingDispatch);
+        };
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.client.jaxrs;
+
+import com.palantir.dialogue.RequestBody;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * A {@link RequestBody} which is written directly to the connection instead of being buffered on the heap first. It
+ * can only be written once, so requests carrying it are not retried after the body has been sent.
+ */
+final class StreamingRequestBody implements RequestBody {
+
+    private final Writer writer;
+    private final String contentType;
+
+    StreamingRequestBody(Writer writer, String contentType) {
+        this.writer = writer;
+        this.contentType = contentType;
+    }
+
+    /** Streams the given {@link InputStream}, which is closed along with the request body. */
+    static Writer of(InputStream stream) {
+        return new Writer() {
+            @Override
+            public void writeTo(OutputStream output) throws IOException {
+                stream.transferTo(output);
+            }
+
+            @Override
+            public void close() throws IOException {
+                stream.close();
+            }
+        };
+    }
+
+    static Writer of(StreamingOutput streamingOutput) {
+        return new Writer() {
+            @Override
+            public void writeTo(OutputStream output) throws IOException {
+                streamingOutput.write(output);
+            }
+
+            @Override
+            public void close() {
+                // nothing to do
+            }
+        };
+    }
+
+    @Override
+    public void writeTo(OutputStream output) throws IOException {
+        writer.writeTo(output);
+    }
+
+    @Override
+    public String contentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean repeatable() {
+        return false;
+    }
+
+    @Override
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            // The request has completed, failing to release the source of the body doesn't affect it
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingRequestBody{contentType=" + contentType + '}';
+    }
+
+    interface Writer extends Closeable {
+        void writeTo(OutputStream output) throws IOException;
+    }
+}
@@ -17,8 +17,8 @@
 package com.palantir.conjure.java.client.jaxrs.feignimpl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.net.HttpHeaders;
 import feign.RequestTemplate;
@@ -27,6 +27,8 @@ import feign.codec.Encoder;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * An encoder which checks the Content-Type headers for the presence of application/cbor. If present, encodes the
@@ -43,6 +45,7 @@ public final class CborDelegateEncoder implements Encoder {
 
     private final ObjectMapper cborObjectMapper;
     private final Encoder delegate;
+    private final ConcurrentMap<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
 
     public CborDelegateEncoder(ObjectMapper cborObjectMapper, Encoder delegate) {
         this.cborObjectMapper = cborObjectMapper;
@@ -63,10 +66,18 @@ public final class CborDelegateEncoder implements Encoder {
         }
 
         try {
-            JavaType javaType = cborObjectMapper.getTypeFactory().constructType(bodyType);
-            template.body(cborObjectMapper.writerFor(javaType).writeValueAsBytes(object), StandardCharsets.UTF_8);
+            template.body(writer(bodyType).writeValueAsBytes(object), StandardCharsets.UTF_8);
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
     }
+
+    private ObjectWriter writer(Type bodyType) {
+        ObjectWriter writer = writers.get(bodyType);
+        if (writer == null) {
+            writer = writers.computeIfAbsent(
+                    bodyType, type -> cborObjectMapper.writerFor(cborObjectMapper.constructType(type)));
+        }
+        return writer;
+    }
 }
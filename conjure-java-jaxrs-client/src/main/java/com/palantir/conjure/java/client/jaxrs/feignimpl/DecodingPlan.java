@@ -0,0 +1,241 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.client.jaxrs.feignimpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.common.base.Suppliers;
+import com.google.common.io.ByteStreams;
+import com.google.common.net.HttpHeaders;
+import com.palantir.conjure.java.serialization.ArrayElementIterator;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * The decoding of response bodies into a single return type, computed once rather than for every response. This is
+ * equivalent to the {@link NeverReturnNullDecoder}, {@link Java8OptionalAwareDecoder},
+ * {@link GuavaOptionalAwareDecoder}, {@link EmptyContainerDecoder}, {@link InputStreamDelegateDecoder},
+ * {@link TextDelegateDecoder} and {@link CborDelegateDecoder} chain, which also decodes Smile responses, but all type
+ * based decisions are taken when the plan is created: the Jackson readers are bound to the type and the empty instance
+ * is constructed at most once, so decoding a response is a single branch on its content type.
+ *
+ * <p>{@link Stream} and {@link Iterator} return types are decoded lazily, one array element at a time, see
+ * {@link #isStreaming()}.
+ */
+public final class DecodingPlan {
+
+    private final Type type;
+    private final Step step;
+    private final boolean streaming;
+
+    private DecodingPlan(Type type, Step step, boolean streaming) {
+        this.type = type;
+        this.step = step;
+        this.streaming = streaming;
+    }
+
+    public static DecodingPlan of(
+            Type type, ObjectMapper jsonMapper, ObjectMapper cborMapper, ObjectMapper smileMapper) {
+        Class<?> rawType = RawTypes.get(type);
+        if (rawType.equals(Stream.class) || rawType.equals(Iterator.class)) {
+            return new DecodingPlan(type, streamingStep(type, jsonMapper, cborMapper, smileMapper), true);
+        }
+        return new DecodingPlan(type, java8OptionalStep(type, jsonMapper, cborMapper, smileMapper), false);
+    }
+
+    /**
+     * Whether the decoded value reads the elements of a {@link Stream} or {@link Iterator} lazily from the body. The
+     * value then owns the body and closes it once it's exhausted or closed, so callers must not close the response
+     * themselves and should pass a body whose {@link InputStream#close()} releases the response. Decoded iterators are
+     * always {@link ArrayElementIterator ArrayElementIterators}, which can be closed.
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Decodes a successful response with the given status, {@link #contentType content type} and body, which may be
+     * null if the response has none.
+     */
+    public Object decode(int status, @Nullable String contentType, @Nullable InputStream body) throws IOException {
+        return Preconditions.checkNotNull(
+                step.decode(status, contentType, body), "Unexpected null body", SafeArg.of("status", status));
+    }
+
+    /**
+     * Returns the Content-Type of a response if it has exactly one, or null otherwise. Header names are compared
+     * case-insensitively in a single pass which doesn't allocate.
+     */
+    @Nullable
+    public static String contentType(Map<String, ? extends Collection<String>> headers) {
+        String contentType = null;
+        int count = 0;
+        for (Map.Entry<String, ? extends Collection<String>> entry : headers.entrySet()) {
+            if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(entry.getKey())) {
+                Collection<String> values = entry.getValue();
+                count += values.size();
+                if (values.size() == 1) {
+                    contentType = values.iterator().next();
+                }
+            }
+        }
+        return count == 1 ? contentType : null;
+    }
+
+    @Override
+    public String toString() {
+        return "DecodingPlan{type=" + type + '}';
+    }
+
+    private static Step streamingStep(
+            Type type, ObjectMapper jsonMapper, ObjectMapper cborMapper, ObjectMapper smileMapper) {
+        boolean isStream = RawTypes.get(type).equals(Stream.class);
+        Type elementType = type instanceof ParameterizedType ? innerType(type) : Object.class;
+        ObjectReader jsonReader = jsonMapper.readerFor(jsonMapper.constructType(elementType));
+        ObjectReader cborReader = cborMapper.readerFor(cborMapper.constructType(elementType));
+        ObjectReader smileReader = smileMapper.readerFor(smileMapper.constructType(elementType));
+        return (status, contentType, body) -> {
+            if (status == 204 || body == null) {
+                if (body != null) {
+                    body.close();
+                }
+                return isStream ? Stream.empty() : ArrayElementIterator.empty();
+            }
+            ArrayElementIterator<Object> elements =
+                    ArrayElementIterator.of(reader(contentType, jsonReader, cborReader, smileReader), body);
+            return isStream ? elements.stream() : elements;
+        };
+    }
+
+    private static Step java8OptionalStep(
+            Type type, ObjectMapper jsonMapper, ObjectMapper cborMapper, ObjectMapper smileMapper) {
+        if (!RawTypes.get(type).equals(Optional.class)) {
+            return guavaOptionalStep(type, jsonMapper, cborMapper, smileMapper);
+        }
+        Step inner = guavaOptionalStep(innerType(type), jsonMapper, cborMapper, smileMapper);
+        return (status, contentType, body) -> {
+            if (status == 204) {
+                return Optional.empty();
+            }
+            return Optional.of(Preconditions.checkNotNull(
+                    inner.decode(status, contentType, body),
+                    "Unexpected null content for response status",
+                    SafeArg.of("status", status)));
+        };
+    }
+
+    private static Step guavaOptionalStep(
+            Type type, ObjectMapper jsonMapper, ObjectMapper cborMapper, ObjectMapper smileMapper) {
+        if (!RawTypes.get(type).equals(com.google.common.base.Optional.class)) {
+            return emptyContainerStep(type, jsonMapper, cborMapper, smileMapper);
+        }
+        Step inner = emptyContainerStep(innerType(type), jsonMapper, cborMapper, smileMapper);
+        return (status, contentType, body) -> {
+            if (status == 204) {
+                return com.google.common.base.Optional.absent();
+            }
+            return com.google.common.base.Optional.of(Preconditions.checkNotNull(
+                    inner.decode(status, contentType, body),
+                    "Unexpected null content for response status",
+                    SafeArg.of("status", status)));
+        };
+    }
+
+    private static Step emptyContainerStep(
+            Type type, ObjectMapper jsonMapper, ObjectMapper cborMapper, ObjectMapper smileMapper) {
+        Step delegate = contentStep(type, jsonMapper, cborMapper, smileMapper);
+        Supplier<Object> blankInstance =
+                Suppliers.memoize(() -> BlankInstances.construct(jsonMapper, type).orElse(null));
+        return (status, contentType, body) -> {
+            Object result = delegate.decode(status, contentType, body);
+            if (status == 204 || (status == 200 && result == null)) {
+                return Preconditions.checkNotNull(
+                        blankInstance.get(),
+                        "Received HTTP 204 but unable to construct an empty instance for return type",
+                        SafeArg.of("type", type));
+            }
+            return result;
+        };
+    }
+
+    private static Step contentStep(
+            Type type, ObjectMapper jsonMapper, ObjectMapper cborMapper, ObjectMapper smileMapper) {
+        if (type.equals(InputStream.class)) {
+            return (_status, _contentType, body) ->
+                    new ByteArrayInputStream(body == null ? new byte[0] : ByteStreams.toByteArray(body));
+        }
+        boolean isString = type.equals(String.class);
+        ObjectReader jsonReader = jsonMapper.readerFor(jsonMapper.constructType(type));
+        ObjectReader cborReader = cborMapper.readerFor(cborMapper.constructType(type));
+        ObjectReader smileReader = smileMapper.readerFor(smileMapper.constructType(type));
+        return (_status, contentType, body) -> {
+            if (contentType != null && contentType.startsWith(MediaType.TEXT_PLAIN)) {
+                Preconditions.checkArgument(
+                        isString, "text/plain responses can only be decoded as String", SafeArg.of("type", type));
+                return body == null ? "" : new String(ByteStreams.toByteArray(body), StandardCharsets.UTF_8);
+            }
+            if (body == null) {
+                return null;
+            }
+            ObjectReader reader = reader(contentType, jsonReader, cborReader, smileReader);
+            PushbackInputStream pushbackBody = new PushbackInputStream(body, 1);
+            int firstByte = pushbackBody.read();
+            if (firstByte == -1) {
+                // Empty bodies decode to null rather than failing in Jackson
+                return null;
+            }
+            pushbackBody.unread(firstByte);
+            return reader.readValue(pushbackBody);
+        };
+    }
+
+    private static ObjectReader reader(
+            @Nullable String contentType, ObjectReader jsonReader, ObjectReader cborReader, ObjectReader smileReader) {
+        if (contentType != null) {
+            if (contentType.startsWith(CborDelegateEncoder.MIME_TYPE)) {
+                return cborReader;
+            } else if (contentType.startsWith(SmileDelegateEncoder.MIME_TYPE)) {
+                return smileReader;
+            }
+        }
+        return jsonReader;
+    }
+
+    private static Type innerType(Type type) {
+        return ((ParameterizedType) type).getActualTypeArguments()[0];
+    }
+
+    private interface Step {
+        @Nullable
+        Object decode(int status, @Nullable String contentType, @Nullable InputStream body) throws IOException;
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.client.jaxrs.feignimpl;
+
+import feign.Response;
+import java.io.InputStream;
+
+/**
+ * A Feign response body which can outlive decoding. Feign closes the body of every response once it has been decoded,
+ * so decoders which return values that read the body lazily, see {@link DecodingPlan#isStreaming()}, detach it first
+ * and leave closing it to the decoded value.
+ *
+ * This should be considered internal API and should not be depended upon.
+ */
+public interface DetachableResponseBody extends Response.Body {
+
+    /**
+     * Makes {@link #close()} a no-op and returns the body as a stream, closing which releases the response.
+     */
+    InputStream detach();
+}
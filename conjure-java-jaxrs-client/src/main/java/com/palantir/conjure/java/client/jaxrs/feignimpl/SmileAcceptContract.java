@@ -0,0 +1,71 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.client.jaxrs.feignimpl;
+
+import com.google.common.net.HttpHeaders;
+import feign.Contract;
+import feign.MethodMetadata;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import javax.ws.rs.Produces;
+
+/**
+ * Contract which advertises every media type of a method's {@link Produces} annotation in its Accept header when one
+ * of them is {@link SmileDelegateEncoder#MIME_TYPE Smile}, preferring Smile over the others. Feign only sends the
+ * first value of the annotation, so servers which don't support Smile couldn't otherwise respond with JSON.
+ *
+ * This should be considered internal API and should not be depended upon.
+ */
+public final class SmileAcceptContract extends AbstractDelegatingContract {
+
+    public SmileAcceptContract(Contract delegate) {
+        super(delegate);
+    }
+
+    @Override
+    protected void processMetadata(Class<?> targetType, Method method, MethodMetadata metadata) {
+        Produces produces = method.isAnnotationPresent(Produces.class)
+                ? method.getAnnotation(Produces.class)
+                : targetType.getAnnotation(Produces.class);
+        if (produces != null) {
+            accept(produces.value()).ifPresent(accept -> {
+                metadata.template().header(HttpHeaders.ACCEPT, (String) null);
+                metadata.template().header(HttpHeaders.ACCEPT, accept);
+            });
+        }
+    }
+
+    /**
+     * Returns an Accept header which prefers Smile followed by the other produced media types if Smile is one of
+     * several values of a {@link Produces} annotation, or empty if the first value should be sent as it is.
+     */
+    public static Optional<String> accept(String[] produces) {
+        boolean smile = false;
+        StringBuilder others = new StringBuilder();
+        for (String mediaType : produces) {
+            if (mediaType.equals(SmileDelegateEncoder.MIME_TYPE)) {
+                smile = true;
+            } else {
+                others.append(", ").append(mediaType).append(";q=0.9");
+            }
+        }
+        if (!smile || others.length() == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(SmileDelegateEncoder.MIME_TYPE + others);
+    }
+}
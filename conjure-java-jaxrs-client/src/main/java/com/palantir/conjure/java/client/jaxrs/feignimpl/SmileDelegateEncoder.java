@@ -0,0 +1,78 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.client.jaxrs.feignimpl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.net.HttpHeaders;
+import feign.RequestTemplate;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An encoder which checks the Content-Type headers for the presence of application/x-jackson-smile. If present,
+ * encodes the request body as Smile and otherwise delegates the encoding, like the {@link CborDelegateEncoder}.
+ */
+public final class SmileDelegateEncoder implements Encoder {
+
+    public static final String MIME_TYPE = "application/x-jackson-smile";
+
+    private final ObjectMapper smileObjectMapper;
+    private final Encoder delegate;
+    private final ConcurrentMap<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public SmileDelegateEncoder(ObjectMapper smileObjectMapper, Encoder delegate) {
+        this.smileObjectMapper = smileObjectMapper;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void encode(Object object, Type bodyType, RequestTemplate template) throws EncodeException {
+        Collection<String> contentTypes =
+                HeaderAccessUtils.caseInsensitiveGet(template.headers(), HttpHeaders.CONTENT_TYPE);
+        if (contentTypes == null) {
+            contentTypes = ImmutableSet.of();
+        }
+
+        if (!contentTypes.contains(MIME_TYPE)) {
+            delegate.encode(object, bodyType, template);
+            return;
+        }
+
+        try {
+            template.body(writer(bodyType).writeValueAsBytes(object), StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private ObjectWriter writer(Type bodyType) {
+        ObjectWriter writer = writers.get(bodyType);
+        if (writer == null) {
+            writer = writers.computeIfAbsent(
+                    bodyType, type -> smileObjectMapper.writerFor(smileObjectMapper.constructType(type)));
+        }
+        return writer;
+    }
+}
@@ -18,10 +18,17 @@ package com.palantir.conjure.java.client.jaxrs;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.google.common.collect.ImmutableList;
+import com.palantir.conjure.java.api.config.service.ServiceConfiguration;
 import com.palantir.conjure.java.api.config.service.UserAgents;
+import com.palantir.conjure.java.api.config.ssl.SslConfiguration;
 import com.palantir.conjure.java.client.config.ClientConfiguration;
+import com.palantir.conjure.java.clients.CachingClientFactory;
 import com.palantir.conjure.java.ext.refresh.Refreshable;
 import com.palantir.conjure.java.okhttp.HostMetricsRegistry;
+import com.palantir.refreshable.SettableRefreshable;
+import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
+import java.nio.file.Paths;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import org.junit.Rule;
@@ -72,4 +79,116 @@ public final class JaxRsClientConfigRefreshTest extends TestBase {
         assertThat(server1.getRequestCount()).isEqualTo(2);
         assertThat(server2.getRequestCount()).isEqualTo(2);
     }
+
+    @Test
+    public void testLiveReloadingKeepsConnectionsWhenOnlyUrisChange() throws Exception {
+        String uri = "http://localhost:" + server1.getPort();
+        ClientConfiguration config1 = createTestConfig(uri);
+        ClientConfiguration config2 =
+                ClientConfiguration.builder().from(config1).uris(ImmutableList.of(uri, uri)).build();
+        ClientConfiguration config3 = ClientConfiguration.builder()
+                .from(config2)
+                .readTimeout(config2.readTimeout().plusSeconds(1))
+                .build();
+
+        SettableRefreshable<ClientConfiguration> refreshableConfig =
+                com.palantir.refreshable.Refreshable.create(config1);
+        TestService proxy = JaxRsClient.createLiveReloading(
+                TestService.class, UserAgents.tryParse("agent"), new HostMetricsRegistry(), refreshableConfig);
+
+        server1.enqueue(new MockResponse().setBody("\"server1\""));
+        assertThat(proxy.string()).isEqualTo("server1");
+        assertThat(server1.takeRequest().getSequenceNumber()).isZero();
+
+        // Only the URIs change, so the request reuses the warm connection
+        refreshableConfig.update(config2);
+        server1.enqueue(new MockResponse().setBody("\"server1\""));
+        assertThat(proxy.string()).isEqualTo("server1");
+        assertThat(server1.takeRequest().getSequenceNumber()).isEqualTo(1);
+
+        // Timeouts are part of the connection pool, which is replaced
+        refreshableConfig.update(config3);
+        server1.enqueue(new MockResponse().setBody("\"server1\""));
+        assertThat(proxy.string()).isEqualTo("server1");
+        assertThat(server1.takeRequest().getSequenceNumber()).isZero();
+    }
+
+    @Test
+    public void testLiveReloadingFromServiceConfigurationKeepsConnections() throws Exception {
+        String uri = "http://localhost:" + server1.getPort();
+        ServiceConfiguration serviceConfig = ServiceConfiguration.builder()
+                .addUris(uri)
+                .security(SslConfiguration.of(Paths.get("src/test/resources/trustStore.jks")))
+                .build();
+        CachingClientFactory factory = CachingClientFactory.of(
+                new CachingClientFactory.ClientBuilder() {
+                    @Override
+                    public <T> T build(Class<T> clientInterface, ClientConfiguration config) {
+                        return JaxRsClient.create(clientInterface, AGENT, new HostMetricsRegistry(), config);
+                    }
+                },
+                new DefaultTaggedMetricRegistry());
+
+        SettableRefreshable<ServiceConfiguration> refreshableConfig =
+                com.palantir.refreshable.Refreshable.create(serviceConfig);
+        TestService proxy = JaxRsClient.createLiveReloading(
+                TestService.class,
+                UserAgents.tryParse("agent"),
+                new HostMetricsRegistry(),
+                refreshableConfig.map(factory::clientConfiguration));
+
+        server1.enqueue(new MockResponse().setBody("\"server1\""));
+        assertThat(proxy.string()).isEqualTo("server1");
+        assertThat(server1.takeRequest().getSequenceNumber()).isZero();
+
+        // The factory reuses the SSL material, so only the URIs change and the connection pool is kept
+        refreshableConfig.update(ServiceConfiguration.builder()
+                .from(serviceConfig)
+                .uris(ImmutableList.of(uri, uri))
+                .build());
+        server1.enqueue(new MockResponse().setBody("\"server1\""));
+        assertThat(proxy.string()).isEqualTo("server1");
+        assertThat(server1.takeRequest().getSequenceNumber()).isEqualTo(1);
+    }
+
+    @Test
+    public void testLiveReloadingKeepsPinnedHostForEqualConfiguration() {
+        ClientConfiguration config = createTestConfig(
+                "http://localhost:" + server1.getPort(), "http://localhost:" + server2.getPort());
+        SettableRefreshable<ClientConfiguration> refreshableConfig =
+                com.palantir.refreshable.Refreshable.create(config);
+        TestService proxy = JaxRsClient.createLiveReloading(
+                TestService.class, UserAgents.tryParse("agent"), new HostMetricsRegistry(), refreshableConfig);
+
+        for (int i = 0; i < 20; i++) {
+            refreshableConfig.update(ClientConfiguration.builder().from(config).build());
+            server1.enqueue(new MockResponse().setBody("\"server1\""));
+            server2.enqueue(new MockResponse().setBody("\"server2\""));
+            proxy.string();
+        }
+
+        // The channel is never rebuilt, so all requests go to the host it pinned first
+        assertThat(ImmutableList.of(server1.getRequestCount(), server2.getRequestCount()))
+                .containsExactlyInAnyOrder(0, 20);
+    }
+
+    @Test
+    public void testLiveReloadingSwitchesServers() throws Exception {
+        ClientConfiguration config1 = createTestConfig("http://localhost:" + server1.getPort());
+        ClientConfiguration config2 = createTestConfig("http://localhost:" + server2.getPort());
+
+        SettableRefreshable<ClientConfiguration> refreshableConfig =
+                com.palantir.refreshable.Refreshable.create(config1);
+        TestService proxy = JaxRsClient.createLiveReloading(
+                TestService.class, UserAgents.tryParse("agent"), new HostMetricsRegistry(), refreshableConfig);
+
+        server1.enqueue(new MockResponse().setBody("\"server1\""));
+        assertThat(proxy.string()).isEqualTo("server1");
+
+        refreshableConfig.update(config2);
+        server2.enqueue(new MockResponse().setBody("\"server2\""));
+        assertThat(proxy.string()).isEqualTo("server2");
+        assertThat(server1.getRequestCount()).isEqualTo(1);
+        assertThat(server2.getRequestCount()).isEqualTo(1);
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.client.jaxrs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.palantir.conjure.java.api.config.service.ServiceConfiguration;
+import com.palantir.conjure.java.api.config.ssl.SslConfiguration;
+import com.palantir.conjure.java.client.config.ClientConfiguration;
+import com.palantir.conjure.java.clients.CachingClientFactory;
+import com.palantir.conjure.java.okhttp.HostMetricsRegistry;
+import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
+import com.palantir.tritium.metrics.registry.TaggedMetricRegistry;
+import java.nio.file.Paths;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.Rule;
+import org.junit.Test;
+
+public final class JaxRsClientConnectionPoolTest extends TestBase {
+
+    @Rule
+    public final MockWebServer server = new MockWebServer();
+
+    private final HostMetricsRegistry hostMetricsRegistry = new HostMetricsRegistry();
+
+    @Test
+    public void testServicesWithTheSameConfigurationShareConnections() throws Exception {
+        ClientConfiguration config = createTestConfig("http://localhost:" + server.getPort());
+        TestService testService = JaxRsClient.create(TestService.class, AGENT, hostMetricsRegistry, config);
+        OtherService otherService = JaxRsClient.create(OtherService.class, AGENT, hostMetricsRegistry, config);
+
+        server.enqueue(new MockResponse().setBody("\"test\""));
+        assertThat(testService.string()).isEqualTo("test");
+        assertThat(server.takeRequest().getSequenceNumber()).isZero();
+
+        server.enqueue(new MockResponse().setBody("\"other\""));
+        assertThat(otherService.other()).isEqualTo("other");
+        assertThat(server.takeRequest().getSequenceNumber()).isEqualTo(1);
+    }
+
+    @Test
+    public void testServicesWithDifferentTimeoutsUseSeparateConnections() throws Exception {
+        ClientConfiguration config = createTestConfig("http://localhost:" + server.getPort());
+        ClientConfiguration otherConfig = ClientConfiguration.builder()
+                .from(config)
+                .readTimeout(config.readTimeout().plusSeconds(1))
+                .build();
+        TestService testService = JaxRsClient.create(TestService.class, AGENT, hostMetricsRegistry, config);
+        OtherService otherService = JaxRsClient.create(OtherService.class, AGENT, hostMetricsRegistry, otherConfig);
+
+        server.enqueue(new MockResponse().setBody("\"test\""));
+        assertThat(testService.string()).isEqualTo("test");
+        assertThat(server.takeRequest().getSequenceNumber()).isZero();
+
+        server.enqueue(new MockResponse().setBody("\"other\""));
+        assertThat(otherService.other()).isEqualTo("other");
+        assertThat(server.takeRequest().getSequenceNumber()).isZero();
+    }
+
+    @Test
+    public void testServicesConfiguredFromTheSameServiceConfigurationShareConnections() throws Exception {
+        ServiceConfiguration serviceConfig = ServiceConfiguration.builder()
+                .addUris("http://localhost:" + server.getPort())
+                .security(SslConfiguration.of(Paths.get("src/test/resources/trustStore.jks")))
+                .build();
+        CachingClientFactory factory = CachingClientFactory.of(
+                new CachingClientFactory.ClientBuilder() {
+                    @Override
+                    public <T> T build(Class<T> clientInterface, ClientConfiguration config) {
+                        return JaxRsClient.create(clientInterface, AGENT, hostMetricsRegistry, config);
+                    }
+                },
+                new DefaultTaggedMetricRegistry());
+        TestService testService = factory.getNonReloading(TestService.class, serviceConfig);
+        OtherService otherService = factory.getNonReloading(OtherService.class, serviceConfig);
+
+        server.enqueue(new MockResponse().setBody("\"test\""));
+        assertThat(testService.string()).isEqualTo("test");
+        assertThat(server.takeRequest().getSequenceNumber()).isZero();
+
+        server.enqueue(new MockResponse().setBody("\"other\""));
+        assertThat(otherService.other()).isEqualTo("other");
+        assertThat(server.takeRequest().getSequenceNumber()).isEqualTo(1);
+    }
+
+    @Test
+    public void testPoolsAreNamedAfterTheServiceWhichCreatedThem() {
+        TaggedMetricRegistry registry = new DefaultTaggedMetricRegistry();
+        ClientConfiguration config = ClientConfiguration.builder()
+                .from(createTestConfig("http://localhost:" + server.getPort()))
+                .taggedMetricRegistry(registry)
+                .build();
+        ClientConfiguration otherConfig = ClientConfiguration.builder()
+                .from(config)
+                .readTimeout(config.readTimeout().plusSeconds(1))
+                .build();
+        JaxRsClient.create(TestService.class, AGENT, hostMetricsRegistry, config);
+        JaxRsClient.create(OtherService.class, AGENT, hostMetricsRegistry, otherConfig);
+
+        assertThat(registry.getMetrics().keySet())
+                .filteredOn(name -> name.safeName().equals("dialogue.client.pool.size"))
+                .extracting(name -> name.safeTags().get("client-name"))
+                .contains("JaxRsClient-TestService", "JaxRsClient-OtherService");
+    }
+
+    @Path("/")
+    public interface OtherService {
+        @GET
+        @Path("/other")
+        @Produces(MediaType.TEXT_PLAIN)
+        String other();
+    }
+}
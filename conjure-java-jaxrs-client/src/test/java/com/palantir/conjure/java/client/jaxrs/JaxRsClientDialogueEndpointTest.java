@@ -19,8 +19,11 @@ package com.palantir.conjure.java.client.jaxrs;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
@@ -33,15 +36,24 @@ import com.palantir.dialogue.ConjureRuntime;
 import com.palantir.dialogue.Endpoint;
 import com.palantir.dialogue.HttpMethod;
 import com.palantir.dialogue.Request;
+import com.palantir.dialogue.RequestBody;
 import com.palantir.dialogue.Response;
 import com.palantir.dialogue.UrlBuilder;
+import com.palantir.dialogue.core.BaseUrl;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.AbstractMap;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
@@ -49,8 +61,10 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.StreamingOutput;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 
 public final class JaxRsClientDialogueEndpointTest {
 
@@ -227,6 +241,141 @@ public final class JaxRsClientDialogueEndpointTest {
         verify(urlBuilder).pathSegment("/"); // encoded into %2F by DefaultUrlBuilder
     }
 
+    @Test
+    public void testPathAndQueryParameters() {
+        Channel channel = stubNoContentResponseChannel();
+        StubService service = JaxRsClient.create(StubService.class, channel, runtime);
+        service.file("ri.dataset.1", "a b/c+d%", true);
+
+        ArgumentCaptor<Endpoint> endpointCaptor = ArgumentCaptor.forClass(Endpoint.class);
+        ArgumentCaptor<Request> requestCaptor = ArgumentCaptor.forClass(Request.class);
+        verify(channel).execute(endpointCaptor.capture(), requestCaptor.capture());
+        UrlBuilder urlBuilder = mock(UrlBuilder.class);
+        endpointCaptor.getValue().renderPath(ImmutableMap.of(), urlBuilder);
+        InOrder inOrder = inOrder(urlBuilder);
+        inOrder.verify(urlBuilder).pathSegment("foo"); // context path
+        inOrder.verify(urlBuilder).pathSegment("datasets");
+        inOrder.verify(urlBuilder).pathSegment("ri.dataset.1");
+        inOrder.verify(urlBuilder).pathSegment("files");
+        inOrder.verify(urlBuilder).pathSegment("a b/c+d%");
+        inOrder.verify(urlBuilder).queryParam("preview", "true");
+        verifyNoMoreInteractions(urlBuilder);
+    }
+
+    @Test
+    public void testPathAndQueryParametersRenderFromCompiledTemplate() throws MalformedURLException {
+        DialogueFeignClient client = new DialogueFeignClient(StubService.class, mock(Channel.class), runtime, "base");
+        Endpoint endpoint = client.endpointTemplate("GET", "file", "GET /foo/datasets/{datasetRid}/files/{path}")
+                .toEndpoint("base/foo/datasets/ri.dataset.1/files/a%20b%2Fc%2Bd%25?preview=true");
+        URL url = BaseUrl.of(new URL("https://localhost:8443/api"))
+                .render(endpoint, Request.builder().build());
+        assertThat(url.toString())
+                .isEqualTo("https://localhost:8443/api/foo/datasets/ri.dataset.1/files/a%20b%2Fc%2Bd%25?preview=true");
+    }
+
+    @Test
+    public void testMixedPathSegment() {
+        Channel channel = stubNoContentResponseChannel();
+        StubService service = JaxRsClient.create(StubService.class, channel, runtime);
+        service.mixedPath("json");
+
+        ArgumentCaptor<Endpoint> endpointCaptor = ArgumentCaptor.forClass(Endpoint.class);
+        ArgumentCaptor<Request> requestCaptor = ArgumentCaptor.forClass(Request.class);
+        verify(channel).execute(endpointCaptor.capture(), requestCaptor.capture());
+        UrlBuilder urlBuilder = mock(UrlBuilder.class);
+        endpointCaptor.getValue().renderPath(ImmutableMap.of(), urlBuilder);
+        InOrder inOrder = inOrder(urlBuilder);
+        inOrder.verify(urlBuilder).pathSegment("foo"); // context path
+        inOrder.verify(urlBuilder).pathSegment("file.json");
+        verifyNoMoreInteractions(urlBuilder);
+    }
+
+    @Test
+    public void testEndpointTemplateCompiledOnce() {
+        DialogueFeignClient client = new DialogueFeignClient(StubService.class, mock(Channel.class), runtime, "base");
+        assertThat(client.endpointTemplate("GET", "innerPath", "GET /foo/begin/{path}/end"))
+                .isSameAs(client.endpointTemplate("GET", "innerPath", "GET /foo/begin/{path}/end"));
+        assertThat(client.endpointTemplate("GET", "otherPath", "GET /foo/begin/{path}/end")
+                        .toEndpoint("base/foo/begin/a/end")
+                        .endpointName())
+                .isEqualTo("otherPath");
+    }
+
+    @Test
+    public void testInputStreamBodyIsStreamed() throws IOException {
+        Channel channel = stubNoContentResponseChannel();
+        StubService service = JaxRsClient.create(StubService.class, channel, runtime);
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream data = new ByteArrayInputStream("Hello, World!".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        service.upload(data);
+
+        ArgumentCaptor<Request> requestCaptor = ArgumentCaptor.forClass(Request.class);
+        verify(channel).execute(any(Endpoint.class), requestCaptor.capture());
+        Request request = requestCaptor.getValue();
+        assertThat(request.body()).isPresent();
+        RequestBody body = request.body().get();
+        assertThat(body.contentType()).isEqualTo("application/octet-stream");
+        assertThat(body.repeatable()).isFalse();
+        assertThat(request.headerParams().keySet()).doesNotContain("Content-Length");
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        body.writeTo(written);
+        assertThat(written.toString(StandardCharsets.UTF_8)).isEqualTo("Hello, World!");
+        body.close();
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    public void testStreamingOutputBodyIsStreamed() throws IOException {
+        Channel channel = stubNoContentResponseChannel();
+        StubService service = JaxRsClient.create(StubService.class, channel, runtime);
+        service.uploadStreamingOutput(output -> output.write("Hello, World!".getBytes(StandardCharsets.UTF_8)));
+
+        ArgumentCaptor<Request> requestCaptor = ArgumentCaptor.forClass(Request.class);
+        verify(channel).execute(any(Endpoint.class), requestCaptor.capture());
+        RequestBody body = requestCaptor.getValue().body().get();
+        assertThat(body.repeatable()).isFalse();
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        body.writeTo(written);
+        assertThat(written.toString(StandardCharsets.UTF_8)).isEqualTo("Hello, World!");
+    }
+
+    @Test
+    public void testStreamingBodyIsNotReusedByLaterRequests() {
+        Channel channel = stubNoContentResponseChannel();
+        StubService service = JaxRsClient.create(StubService.class, channel, runtime);
+        service.upload(new ByteArrayInputStream(new byte[] {1, 2, 3}));
+        service.post("Hello, World!");
+
+        ArgumentCaptor<Request> requestCaptor = ArgumentCaptor.forClass(Request.class);
+        verify(channel, times(2)).execute(any(Endpoint.class), requestCaptor.capture());
+        RequestBody body = requestCaptor.getAllValues().get(1).body().get();
+        assertThat(body.contentType()).isEqualTo("text/plain");
+        assertThat(body.repeatable()).isTrue();
+    }
+
+    @Test
+    public void testStreamingBodyIsClosedWhenTheCallFails() {
+        Channel channel = mock(Channel.class);
+        when(channel.execute(any(Endpoint.class), any(Request.class)))
+                .thenReturn(Futures.immediateFailedFuture(new IOException("Connection refused")));
+        StubService service = JaxRsClient.create(StubService.class, channel, runtime);
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream data = new ByteArrayInputStream(new byte[] {1, 2, 3}) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        assertThatThrownBy(() -> service.upload(data)).hasRootCauseInstanceOf(IOException.class);
+        assertThat(closed).isTrue();
+    }
+
     static Channel stubNoContentResponseChannel() {
         Channel channel = mock(Channel.class);
         Response response = mock(Response.class);
@@ -262,6 +411,27 @@ public final class JaxRsClientDialogueEndpointTest {
         @GET
         @Path("begin/{path}/end")
         void innerPath(@PathParam("path") String path);
+
+        @GET
+        @Path("datasets/{datasetRid}/files/{path}")
+        void file(
+                @PathParam("datasetRid") String datasetRid,
+                @PathParam("path") String path,
+                @QueryParam("preview") boolean preview);
+
+        @GET
+        @Path("file.{extension}")
+        void mixedPath(@PathParam("extension") String extension);
+
+        @POST
+        @Path("upload")
+        @Consumes("application/octet-stream")
+        void upload(InputStream data);
+
+        @POST
+        @Path("upload")
+        @Consumes("application/octet-stream")
+        void uploadStreamingOutput(StreamingOutput data);
     }
 
     @Path("bar")
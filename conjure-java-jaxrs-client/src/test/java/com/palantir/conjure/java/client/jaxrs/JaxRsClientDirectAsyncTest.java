@@ -0,0 +1,178 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.client.jaxrs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.palantir.conjure.java.api.errors.RemoteException;
+import com.palantir.conjure.java.dialogue.serde.DefaultConjureRuntime;
+import com.palantir.dialogue.Channel;
+import com.palantir.dialogue.ConjureRuntime;
+import com.palantir.dialogue.Response;
+import com.palantir.dialogue.ResponseAttachments;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class JaxRsClientDirectAsyncTest {
+
+    private static final ConjureRuntime runtime = DefaultConjureRuntime.builder().build();
+
+    private final SettableFuture<Response> response = SettableFuture.create();
+    private AsyncService service;
+
+    @Before
+    public void before() {
+        Channel channel = mock(Channel.class);
+        when(channel.execute(any(), any())).thenReturn(response);
+        service = JaxRsClient.createDirect(AsyncService.class, channel, runtime);
+    }
+
+    @Test
+    public void testListenableFuture() throws Exception {
+        ListenableFuture<String> future = service.listenable();
+        assertThat(future).isNotDone();
+
+        response.set(new JsonResponse(200, "\"value\""));
+        assertThat(future.get()).isEqualTo("value");
+    }
+
+    @Test
+    public void testCompletableFuture() throws Exception {
+        CompletableFuture<Optional<String>> future = service.completable();
+        assertThat(future).isNotDone();
+
+        response.set(new JsonResponse(204, ""));
+        assertThat(future.get()).isEmpty();
+    }
+
+    @Test
+    public void testEmptyContainer() throws Exception {
+        CompletableFuture<List<String>> future = service.list();
+        response.set(new JsonResponse(204, ""));
+        assertThat(future.get()).isEmpty();
+    }
+
+    @Test
+    public void testVoid() throws Exception {
+        CompletableFuture<Void> future = service.voidMethod();
+        response.set(new JsonResponse(204, ""));
+        assertThat(future.get()).isNull();
+    }
+
+    @Test
+    public void testRemoteException() {
+        CompletableFuture<Optional<String>> future = service.completable();
+        response.set(new JsonResponse(
+                500,
+                "{\"errorCode\":\"INTERNAL\",\"errorName\":\"Default:Internal\","
+                        + "\"errorInstanceId\":\"00000000-0000-0000-0000-000000000000\",\"parameters\":{}}"));
+        assertThatThrownBy(future::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RemoteException.class);
+    }
+
+    @Test
+    public void testCancellationPropagatesToChannel() {
+        CompletableFuture<Optional<String>> future = service.completable();
+        assertThat(future.cancel(true)).isTrue();
+        assertThat(response).isCancelled();
+    }
+
+    @Test
+    public void testListenableCancellationPropagatesToChannel() {
+        ListenableFuture<String> future = service.listenable();
+        assertThat(future.cancel(true)).isTrue();
+        assertThat(response).isCancelled();
+    }
+
+    @Path("async")
+    @Produces(MediaType.APPLICATION_JSON)
+    public interface AsyncService {
+        @GET
+        @Path("listenable")
+        ListenableFuture<String> listenable();
+
+        @GET
+        @Path("completable")
+        CompletableFuture<Optional<String>> completable();
+
+        @GET
+        @Path("list")
+        CompletableFuture<List<String>> list();
+
+        @GET
+        @Path("void")
+        CompletableFuture<Void> voidMethod();
+    }
+
+    private static final class JsonResponse implements Response {
+        private final int code;
+        private final byte[] body;
+
+        JsonResponse(int code, String body) {
+            this.code = code;
+            this.body = body.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public InputStream body() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public int code() {
+            return code;
+        }
+
+        @Override
+        public ListMultimap<String, String> headers() {
+            return ImmutableListMultimap.of("Content-Type", MediaType.APPLICATION_JSON);
+        }
+
+        @Override
+        public Optional<String> getFirstHeader(String header) {
+            return header.equalsIgnoreCase("Content-Type") ? Optional.of(MediaType.APPLICATION_JSON) : Optional.empty();
+        }
+
+        @Override
+        public ResponseAttachments attachments() {
+            return ResponseAttachments.create();
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,479 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.client.jaxrs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.io.ByteStreams;
+import com.google.common.primitives.Bytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.palantir.conjure.java.api.errors.RemoteException;
+import com.palantir.conjure.java.dialogue.serde.DefaultConjureRuntime;
+import com.palantir.conjure.java.serialization.ObjectMappers;
+import com.palantir.dialogue.Channel;
+import com.palantir.dialogue.ConjureRuntime;
+import com.palantir.dialogue.Endpoint;
+import com.palantir.dialogue.Request;
+import com.palantir.dialogue.RequestBody;
+import com.palantir.dialogue.Response;
+import com.palantir.dialogue.ResponseAttachments;
+import com.palantir.dialogue.core.BaseUrl;
+import com.palantir.tokens.auth.AuthHeader;
+import com.palantir.tokens.auth.BearerToken;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import org.junit.Test;
+
+/** Verifies that {@link JaxRsClient#createDirect} clients send and decode exactly what Feign based clients do. */
+public final class JaxRsClientDirectConformanceTest {
+
+    private static final ConjureRuntime runtime =
+            DefaultConjureRuntime.builder().build();
+    private static final ObjectMapper cborMapper = ObjectMappers.newCborClientObjectMapper();
+
+    private final RecordingChannel channel = new RecordingChannel();
+    private final ConformanceService feignClient = JaxRsClient.create(ConformanceService.class, channel, runtime);
+    private final ConformanceService directClient =
+            JaxRsClient.createDirect(ConformanceService.class, channel, runtime);
+
+    @Test
+    public void testPathQueryAndHeaderParameters() {
+        assertConformant(
+                service -> service.parameters(
+                        "a b",
+                        "with/slash",
+                        ImmutableList.of("1", "a+b", ""),
+                        Optional.empty(),
+                        OptionalInt.of(3),
+                        com.google.common.base.Optional.of("guava"),
+                        "header",
+                        Optional.empty()),
+                () -> TestResponse.json(200, "\"ok\""));
+        assertConformant(
+                service -> service.parameters(
+                        "a",
+                        "b",
+                        ImmutableList.of(),
+                        Optional.of("present"),
+                        OptionalInt.empty(),
+                        com.google.common.base.Optional.absent(),
+                        "header",
+                        Optional.of("optional header")),
+                () -> TestResponse.json(200, "\"ok\""));
+    }
+
+    @Test
+    public void testParameterValueEncoding() {
+        assertConformant(
+                service -> service.values(
+                        UUID.fromString("00000000-0000-0000-0000-000000000001"),
+                        42L,
+                        AuthHeader.valueOf("auth-token"),
+                        BearerToken.valueOf("bearer-token"),
+                        ImmutableList.of("a", "b"),
+                        new CustomValue("query value"),
+                        Optional.of(new CustomValue("optional")),
+                        OptionalLong.of(7),
+                        OptionalDouble.of(1.5),
+                        com.google.common.base.Optional.of("guava header")),
+                () -> TestResponse.json(200, "\"ok\""));
+        assertConformant(
+                service -> service.values(
+                        UUID.fromString("00000000-0000-0000-0000-000000000002"),
+                        0L,
+                        AuthHeader.valueOf("other-token"),
+                        BearerToken.valueOf("other-bearer-token"),
+                        ImmutableList.of("single"),
+                        null,
+                        Optional.empty(),
+                        OptionalLong.empty(),
+                        OptionalDouble.empty(),
+                        com.google.common.base.Optional.absent()),
+                () -> TestResponse.json(200, "\"ok\""));
+    }
+
+    @Test
+    public void testNullHeadersAreOmitted() {
+        // Feign sends the unresolved "{Authorization}" template for null header parameters
+        channel.response = () -> TestResponse.json(200, "\"ok\"");
+        directClient.values(
+                UUID.fromString("00000000-0000-0000-0000-000000000003"),
+                1L,
+                null,
+                null,
+                null,
+                null,
+                Optional.empty(),
+                OptionalLong.empty(),
+                OptionalDouble.empty(),
+                com.google.common.base.Optional.absent());
+
+        assertThat(channel.lastRequest.headers)
+                .doesNotContainKeys("Authorization", "X-Bearer", "X-List")
+                .containsEntry("X-Optional-Double", ImmutableList.of(""))
+                .containsEntry("X-Guava", ImmutableList.of(""));
+    }
+
+    @Test
+    public void testMixedPathSegment() {
+        assertConformant(service -> service.mixedPath("report", "csv"), () -> TestResponse.json(200, "\"ok\""));
+    }
+
+    @Test
+    public void testJsonBody() {
+        assertConformant(
+                service -> service.json(ImmutableMap.of("key", 1)), () -> TestResponse.json(200, "{\"value\":2}"));
+        assertConformant(service -> service.json(ImmutableMap.of()), () -> TestResponse.json(200, ""));
+        assertConformant(service -> service.json(ImmutableMap.of()), TestResponse::noContent);
+    }
+
+    @Test
+    public void testTextBody() {
+        assertConformant(
+                service -> service.text("Hello, World!"),
+                () -> new TestResponse(200, MediaType.TEXT_PLAIN, "Hello, World!".getBytes(StandardCharsets.UTF_8)));
+        assertConformant(service -> service.text(""), () -> new TestResponse(200, MediaType.TEXT_PLAIN, new byte[0]));
+    }
+
+    @Test
+    public void testCborBody() {
+        assertConformant(
+                service -> service.cbor(ImmutableMap.of("key", 1)),
+                () -> new TestResponse(200, "application/cbor", cbor(ImmutableMap.of("value", 2))));
+    }
+
+    @Test
+    public void testInputStreamBody() {
+        assertConformant(
+                service -> service.binary(new ByteArrayInputStream(new byte[] {1, 2, 3})),
+                () -> new TestResponse(200, MediaType.APPLICATION_OCTET_STREAM, new byte[] {4, 5, 6}));
+        assertConformant(
+                service -> service.binary(new ByteArrayInputStream(new byte[0])),
+                () -> new TestResponse(200, MediaType.APPLICATION_OCTET_STREAM, new byte[0]));
+    }
+
+    @Test
+    public void testOptionalResponses() {
+        assertConformant(ConformanceService::optional, () -> TestResponse.json(200, "\"value\""));
+        assertConformant(ConformanceService::optional, TestResponse::noContent);
+        assertConformant(ConformanceService::optionalList, () -> TestResponse.json(200, ""));
+        assertConformant(ConformanceService::guavaOptional, () -> TestResponse.json(200, "\"value\""));
+        assertConformant(ConformanceService::guavaOptional, TestResponse::noContent);
+    }
+
+    @Test
+    public void testEmptyContainerResponses() {
+        assertConformant(ConformanceService::list, () -> TestResponse.json(200, "[\"a\"]"));
+        assertConformant(ConformanceService::list, TestResponse::noContent);
+        assertConformant(ConformanceService::list, () -> TestResponse.json(200, ""));
+    }
+
+    @Test
+    public void testVoid() {
+        assertConformant(
+                service -> {
+                    service.voidMethod();
+                    return null;
+                },
+                TestResponse::noContent);
+    }
+
+    @Test
+    public void testRemoteException() {
+        assertConformant(
+                ConformanceService::optional,
+                () -> TestResponse.json(
+                        500,
+                        "{\"errorCode\":\"INTERNAL\",\"errorName\":\"Default:Internal\","
+                                + "\"errorInstanceId\":\"00000000-0000-0000-0000-000000000000\",\"parameters\":{}}"));
+    }
+
+    private void assertConformant(Function<ConformanceService, Object> call, Supplier<Response> response) {
+        channel.response = response;
+        Object feignResult = outcome(() -> call.apply(feignClient));
+        RecordedRequest feignRequest = channel.lastRequest;
+        Object directResult = outcome(() -> call.apply(directClient));
+        RecordedRequest directRequest = channel.lastRequest;
+
+        assertThat(directRequest).isEqualTo(feignRequest);
+        assertThat(directResult).isEqualTo(feignResult);
+    }
+
+    /** Normalizes results so that streams and exceptions can be compared. */
+    @Nullable
+    private static Object outcome(Supplier<Object> call) {
+        try {
+            Object result = call.get();
+            if (result instanceof InputStream) {
+                return ByteStreams.toByteArray((InputStream) result);
+            }
+            return result;
+        } catch (RemoteException e) {
+            return ImmutableList.of(e.getClass(), e.getStatus(), e.getError().errorCode());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static byte[] cbor(Object value) {
+        try {
+            return cborMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Path("conformance")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    public interface ConformanceService {
+        @GET
+        @Path("{first}/items/{second:.+}")
+        String parameters(
+                @PathParam("first") String first,
+                @PathParam("second") String second,
+                @QueryParam("list") List<String> list,
+                @QueryParam("optional") Optional<String> optional,
+                @QueryParam("optionalInt") OptionalInt optionalInt,
+                @QueryParam("guava") com.google.common.base.Optional<String> guava,
+                @HeaderParam("X-Header") String header,
+                @HeaderParam("X-Optional-Header") Optional<String> optionalHeader);
+
+        @GET
+        @Path("values/{id}/{number}")
+        String values(
+                @PathParam("id") UUID id,
+                @PathParam("number") long number,
+                @HeaderParam("Authorization") AuthHeader authHeader,
+                @HeaderParam("X-Bearer") BearerToken bearerToken,
+                @HeaderParam("X-List") List<String> listHeader,
+                @QueryParam("custom") CustomValue custom,
+                @QueryParam("optionalCustom") Optional<CustomValue> optionalCustom,
+                @QueryParam("optionalLong") OptionalLong optionalLong,
+                @HeaderParam("X-Optional-Double") OptionalDouble optionalDouble,
+                @HeaderParam("X-Guava") com.google.common.base.Optional<String> guava);
+
+        @GET
+        @Path("files/{name}.{extension}")
+        String mixedPath(@PathParam("name") String name, @PathParam("extension") String extension);
+
+        @POST
+        @Path("json")
+        Map<String, Integer> json(Map<String, Integer> body);
+
+        @POST
+        @Path("text")
+        @Consumes(MediaType.TEXT_PLAIN)
+        @Produces(MediaType.TEXT_PLAIN)
+        String text(String body);
+
+        @POST
+        @Path("cbor")
+        @Consumes("application/cbor")
+        @Produces("application/cbor")
+        Map<String, Integer> cbor(Map<String, Integer> body);
+
+        @POST
+        @Path("binary")
+        @Consumes(MediaType.APPLICATION_OCTET_STREAM)
+        @Produces(MediaType.APPLICATION_OCTET_STREAM)
+        InputStream binary(InputStream body);
+
+        @GET
+        @Path("optional")
+        Optional<String> optional();
+
+        @GET
+        @Path("optional-list")
+        Optional<List<String>> optionalList();
+
+        @GET
+        @Path("guava-optional")
+        com.google.common.base.Optional<String> guavaOptional();
+
+        @GET
+        @Path("list")
+        List<String> list();
+
+        @POST
+        @Path("void")
+        void voidMethod();
+    }
+
+    /** A parameter type which is only converted to a string with {@link Object#toString}. */
+    public static final class CustomValue {
+        private final String value;
+
+        CustomValue(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return "custom:" + value;
+        }
+    }
+
+    /** Everything about a request which is observable by the server. */
+    private static final class RecordedRequest {
+        private final String endpoint;
+        private final URL url;
+        private final Map<String, Collection<String>> headers;
+        private final Optional<String> contentType;
+        private final List<Byte> body;
+
+        RecordedRequest(Endpoint endpoint, Request request) throws IOException {
+            this.endpoint = endpoint.httpMethod() + " " + endpoint.serviceName() + "." + endpoint.endpointName();
+            this.url = BaseUrl.of(new URL("https://localhost:8443/api")).render(endpoint, request);
+            this.headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            this.headers.putAll(request.headerParams().asMap());
+            this.contentType = request.body().map(RequestBody::contentType);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            if (request.body().isPresent()) {
+                request.body().get().writeTo(bytes);
+            }
+            this.body = Bytes.asList(bytes.toByteArray());
+        }
+
+        @Override
+        public boolean equals(@Nullable Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (other == null || getClass() != other.getClass()) {
+                return false;
+            }
+            RecordedRequest that = (RecordedRequest) other;
+            return endpoint.equals(that.endpoint)
+                    && url.toString().equals(that.url.toString())
+                    && headers.equals(that.headers)
+                    && contentType.equals(that.contentType)
+                    && body.equals(that.body);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(endpoint, url.toString(), headers, contentType, body);
+        }
+
+        @Override
+        public String toString() {
+            return "RecordedRequest{endpoint=" + endpoint + ", url=" + url + ", headers=" + headers + ", contentType="
+                    + contentType + ", body=" + body + '}';
+        }
+    }
+
+    private static final class RecordingChannel implements Channel {
+        private Supplier<Response> response;
+        private RecordedRequest lastRequest;
+
+        @Override
+        public ListenableFuture<Response> execute(Endpoint endpoint, Request request) {
+            try {
+                lastRequest = new RecordedRequest(endpoint, request);
+            } catch (IOException e) {
+                return Futures.immediateFailedFuture(e);
+            }
+            return Futures.immediateFuture(response.get());
+        }
+    }
+
+    private static final class TestResponse implements Response {
+        private final int code;
+        private final ListMultimap<String, String> headers;
+        private final byte[] body;
+
+        TestResponse(int code, @Nullable String contentType, byte[] body) {
+            this.code = code;
+            this.headers = contentType == null
+                    ? ImmutableListMultimap.of()
+                    : ImmutableListMultimap.of("Content-Type", contentType);
+            this.body = body;
+        }
+
+        static TestResponse json(int code, String body) {
+            return new TestResponse(code, MediaType.APPLICATION_JSON, body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static TestResponse noContent() {
+            return new TestResponse(204, null, new byte[0]);
+        }
+
+        @Override
+        public InputStream body() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public int code() {
+            return code;
+        }
+
+        @Override
+        public ListMultimap<String, String> headers() {
+            return headers;
+        }
+
+        @Override
+        public Optional<String> getFirstHeader(String header) {
+            return headers.entries().stream()
+                    .filter(entry -> entry.getKey().equalsIgnoreCase(header))
+                    .map(Map.Entry::getValue)
+                    .findFirst();
+        }
+
+        @Override
+        public ResponseAttachments attachments() {
+            return ResponseAttachments.create();
+        }
+
+        @Override
+        public void close() {}
+    }
+}
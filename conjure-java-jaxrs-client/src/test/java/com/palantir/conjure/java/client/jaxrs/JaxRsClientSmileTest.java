@@ -0,0 +1,106 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.client.jaxrs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.net.HttpHeaders;
+import com.palantir.conjure.java.client.jaxrs.feignimpl.SmileAcceptContract;
+import com.palantir.conjure.java.client.jaxrs.feignimpl.SmileDelegateEncoder;
+import com.palantir.conjure.java.okhttp.HostMetricsRegistry;
+import com.palantir.conjure.java.serialization.ObjectMappers;
+import java.util.Map;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public final class JaxRsClientSmileTest extends TestBase {
+
+    private static final String SMILE = SmileDelegateEncoder.MIME_TYPE;
+    private static final ObjectMapper smileMapper = ObjectMappers.newSmileClientObjectMapper();
+    private static final Map<String, Object> BODY = ImmutableMap.of("name", "dataset", "size", 1024);
+
+    @Rule
+    public final MockWebServer server = new MockWebServer();
+
+    private SmileService service;
+
+    @Before
+    public void before() {
+        service = JaxRsClient.create(
+                SmileService.class,
+                AGENT,
+                new HostMetricsRegistry(),
+                createTestConfig("http://localhost:" + server.getPort()));
+    }
+
+    @Test
+    public void testSendsAndReceivesSmile() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader(HttpHeaders.CONTENT_TYPE, SMILE)
+                .setBody(new Buffer().write(smileMapper.writeValueAsBytes(BODY))));
+
+        assertThat(service.echo(BODY)).isEqualTo(BODY);
+
+        RecordedRequest request = server.takeRequest();
+        assertThat(request.getHeader(HttpHeaders.ACCEPT)).isEqualTo(SMILE + ", application/json;q=0.9");
+        assertThat(request.getHeader(HttpHeaders.CONTENT_TYPE)).startsWith(SMILE);
+        Map<String, Object> requestBody =
+                smileMapper.readValue(request.getBody().readByteArray(), new TypeReference<Map<String, Object>>() {});
+        assertThat(requestBody).isEqualTo(BODY);
+    }
+
+    @Test
+    public void testFallsBackToJsonResponses() {
+        server.enqueue(new MockResponse()
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                .setBody("{\"name\":\"dataset\",\"size\":1024}"));
+
+        assertThat(service.echo(BODY)).isEqualTo(BODY);
+    }
+
+    @Test
+    public void testAcceptHeader() {
+        assertThat(SmileAcceptContract.accept(new String[] {SMILE, MediaType.APPLICATION_JSON}))
+                .hasValue(SMILE + ", application/json;q=0.9");
+        assertThat(SmileAcceptContract.accept(new String[] {MediaType.APPLICATION_JSON, SMILE}))
+                .hasValue(SMILE + ", application/json;q=0.9");
+        assertThat(SmileAcceptContract.accept(new String[] {SMILE})).isEmpty();
+        assertThat(SmileAcceptContract.accept(new String[] {MediaType.APPLICATION_JSON})).isEmpty();
+    }
+
+    @Path("/")
+    public interface SmileService {
+        @POST
+        @Path("/echo")
+        @Consumes(SmileDelegateEncoder.MIME_TYPE)
+        @Produces({SmileDelegateEncoder.MIME_TYPE, MediaType.APPLICATION_JSON})
+        Map<String, Object> echo(Map<String, Object> body);
+    }
+}
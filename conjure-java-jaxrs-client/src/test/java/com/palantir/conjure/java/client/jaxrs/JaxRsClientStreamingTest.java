@@ -0,0 +1,199 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.client.jaxrs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.util.concurrent.Futures;
+import com.palantir.conjure.java.dialogue.serde.DefaultConjureRuntime;
+import com.palantir.conjure.java.okhttp.HostMetricsRegistry;
+import com.palantir.dialogue.Channel;
+import com.palantir.dialogue.ConjureRuntime;
+import com.palantir.dialogue.Response;
+import com.palantir.dialogue.ResponseAttachments;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.Rule;
+import org.junit.Test;
+
+public final class JaxRsClientStreamingTest extends TestBase {
+
+    private static final ConjureRuntime runtime = DefaultConjureRuntime.builder().build();
+
+    @Rule
+    public final MockWebServer server = new MockWebServer();
+
+    @Test
+    public void testStreamsArrayElements() {
+        StreamingService service = feignClient();
+        server.enqueue(new MockResponse().setBody("[\"a\",\"b\",\"c\"]"));
+        try (Stream<String> stream = service.stream()) {
+            assertThat(stream.collect(Collectors.toList())).containsExactly("a", "b", "c");
+        }
+    }
+
+    @Test
+    public void testIteratesArrayElements() {
+        StreamingService service = feignClient();
+        server.enqueue(new MockResponse().setBody("[\"a\",\"b\"]"));
+        assertThat(service.iterator()).toIterable().containsExactly("a", "b");
+    }
+
+    @Test
+    public void testEmptyResponses() {
+        StreamingService service = feignClient();
+        server.enqueue(new MockResponse().setResponseCode(204));
+        assertThat(service.stream()).isEmpty();
+    }
+
+    @Test
+    public void testStreamsCanBeClosedBeforeTheyAreConsumed() {
+        StreamingService service = feignClient();
+        server.enqueue(new MockResponse().setBody("[\"a\",\"b\",\"c\"]"));
+        server.enqueue(new MockResponse().setBody("[\"d\"]"));
+
+        try (Stream<String> stream = service.stream()) {
+            assertThat(stream.findFirst()).hasValue("a");
+        }
+        try (Stream<String> stream = service.stream()) {
+            assertThat(stream.collect(Collectors.toList())).containsExactly("d");
+        }
+    }
+
+    @Test
+    public void testPartiallyConsumedIteratorsCanBeClosed() throws IOException {
+        StreamingService service = feignClient();
+        server.enqueue(new MockResponse().setBody("[\"a\",\"b\",\"c\"]"));
+        server.enqueue(new MockResponse().setResponseCode(204));
+
+        Iterator<String> iterator = service.iterator();
+        assertThat(iterator.next()).isEqualTo("a");
+        assertThat(iterator).isInstanceOf(Closeable.class);
+        ((Closeable) iterator).close();
+        assertThat(iterator.hasNext()).isFalse();
+
+        Iterator<String> empty = service.iterator();
+        assertThat(empty).isInstanceOf(Closeable.class);
+        ((Closeable) empty).close();
+    }
+
+    @Test
+    public void testDirectClientClosesTheResponseWhenThePartiallyConsumedIteratorIsClosed() throws IOException {
+        TrackingResponse response = new TrackingResponse("[\"a\",\"b\"]");
+        Channel channel = mock(Channel.class);
+        when(channel.execute(any(), any())).thenReturn(Futures.immediateFuture(response));
+        StreamingService service = JaxRsClient.createDirect(StreamingService.class, channel, runtime);
+
+        Iterator<String> iterator = service.iterator();
+        assertThat(iterator.next()).isEqualTo("a");
+        assertThat(response.closed).isFalse();
+        ((Closeable) iterator).close();
+        assertThat(response.closed).isTrue();
+    }
+
+    @Test
+    public void testDirectClientClosesTheResponseOnceConsumed() {
+        TrackingResponse response = new TrackingResponse("[\"a\",\"b\"]");
+        Channel channel = mock(Channel.class);
+        when(channel.execute(any(), any())).thenReturn(Futures.immediateFuture(response));
+        StreamingService service = JaxRsClient.createDirect(StreamingService.class, channel, runtime);
+
+        Iterator<String> iterator = service.iterator();
+        assertThat(iterator.next()).isEqualTo("a");
+        assertThat(response.closed).isFalse();
+        assertThat(iterator.next()).isEqualTo("b");
+        assertThat(iterator.hasNext()).isFalse();
+        assertThat(response.closed).isTrue();
+    }
+
+    private StreamingService feignClient() {
+        return JaxRsClient.create(
+                StreamingService.class,
+                AGENT,
+                new HostMetricsRegistry(),
+                createTestConfig("http://localhost:" + server.getPort()));
+    }
+
+    @Path("/")
+    @Produces(MediaType.APPLICATION_JSON)
+    public interface StreamingService {
+        @GET
+        @Path("/stream")
+        Stream<String> stream();
+
+        @GET
+        @Path("/iterator")
+        Iterator<String> iterator();
+    }
+
+    private static final class TrackingResponse implements Response {
+        private final byte[] body;
+        private boolean closed;
+
+        TrackingResponse(String body) {
+            this.body = body.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public InputStream body() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public int code() {
+            return 200;
+        }
+
+        @Override
+        public ListMultimap<String, String> headers() {
+            return ImmutableListMultimap.of("Content-Type", MediaType.APPLICATION_JSON);
+        }
+
+        @Override
+        public Optional<String> getFirstHeader(String header) {
+            return header.equalsIgnoreCase("Content-Type") ? Optional.of(MediaType.APPLICATION_JSON) : Optional.empty();
+        }
+
+        @Override
+        public ResponseAttachments attachments() {
+            return ResponseAttachments.create();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.client.jaxrs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.google.common.collect.ImmutableMap;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.RequestTemplate;
+import feign.Target;
+import feign.codec.Encoder;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+
+public final class StreamingBodyEncoderTest {
+
+    private final Encoder delegate = mock(Encoder.class);
+    private final StreamingBodyEncoder encoder = new StreamingBodyEncoder(delegate);
+
+    @Test
+    public void testBodyIsClaimedOnlyByTheMarkedRequest() {
+        RequestTemplate template = new RequestTemplate().method("POST");
+        encoder.encode(new ByteArrayInputStream(new byte[] {1}), InputStream.class, template);
+
+        assertThat(template.headers()).containsKey(StreamingBodyEncoder.HEADER);
+        assertThat(StreamingBodyEncoder.take(
+                        new RequestTemplate().method("POST").request()))
+                .isEmpty();
+        assertThat(StreamingBodyEncoder.take(template.request())).isPresent();
+        assertThat(StreamingBodyEncoder.take(template.request())).isEmpty();
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    public void testUnclaimedBodyIsClosedWhenTheInvocationFails() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream data = new ByteArrayInputStream(new byte[] {1, 2, 3}) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        Method run = Runnable.class.getMethod("run");
+        // Simulates a request which fails after its body is encoded, before it reaches the client
+        MethodHandler failingAfterEncoding = _args -> {
+            encoder.encode(data, InputStream.class, new RequestTemplate());
+            throw new IllegalStateException("Failed to expand the request template");
+        };
+        InvocationHandler handler = StreamingBodyEncoder.invocationHandlerFactory()
+                .create(
+                        new Target.HardCodedTarget<>(Runnable.class, "http://localhost"),
+                        ImmutableMap.of(run, failingAfterEncoding));
+
+        assertThatThrownBy(() -> handler.invoke(null, run, new Object[0])).isInstanceOf(IllegalStateException.class);
+        assertThat(closed).isTrue();
+        RequestTemplate marked = new RequestTemplate().method("POST").header(StreamingBodyEncoder.HEADER, "true");
+        assertThat(StreamingBodyEncoder.take(marked.request())).isEmpty();
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.client.jaxrs.feignimpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.net.HttpHeaders;
+import com.google.common.reflect.TypeToken;
+import com.palantir.conjure.java.serialization.ObjectMappers;
+import feign.Response;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.ws.rs.core.MediaType;
+import org.junit.Test;
+
+public final class DecodingPlanDecoderTest {
+
+    private static final ObjectMapper mapper = ObjectMappers.newClientObjectMapper();
+    private static final ObjectMapper cborMapper = ObjectMappers.newCborClientObjectMapper();
+    private static final ObjectMapper smileMapper = ObjectMappers.newSmileClientObjectMapper();
+    private static final Type LIST_TYPE = new TypeToken<List<String>>() {}.getType();
+    private static final Type OPTIONAL_TYPE = new TypeToken<Optional<String>>() {}.getType();
+    private static final Type STREAM_TYPE = new TypeToken<Stream<String>>() {}.getType();
+    private static final Response HTTP_204 = Response.create(204, "No Content", Collections.emptyMap(), new byte[] {});
+
+    private final DecodingPlanDecoder decoder = new DecodingPlanDecoder(Service.class, mapper, cborMapper, smileMapper);
+
+    @Test
+    public void decodes_json() throws IOException {
+        assertThat(decoder.decode(json("[\"a\",\"b\"]"), LIST_TYPE)).isEqualTo(ImmutableList.of("a", "b"));
+    }
+
+    @Test
+    public void decodes_cbor() throws IOException {
+        byte[] body = cborMapper.writeValueAsBytes(ImmutableMap.of("key", "value"));
+        Response response = Response.create(
+                200, "OK", ImmutableMap.of(HttpHeaders.CONTENT_TYPE, ImmutableSet.of("application/cbor")), body);
+        assertThat(decoder.decode(response, Map.class)).isEqualTo(ImmutableMap.of("key", "value"));
+    }
+
+    @Test
+    public void decodes_smile() throws IOException {
+        byte[] body = smileMapper.writeValueAsBytes(ImmutableMap.of("key", "value"));
+        Response response = Response.create(
+                200,
+                "OK",
+                ImmutableMap.of(HttpHeaders.CONTENT_TYPE, ImmutableSet.of(SmileDelegateEncoder.MIME_TYPE)),
+                body);
+        assertThat(decoder.decode(response, Map.class)).isEqualTo(ImmutableMap.of("key", "value"));
+    }
+
+    @Test
+    public void decodes_text_with_any_header_capitalization() throws IOException {
+        Response response = Response.create(
+                200,
+                "OK",
+                ImmutableMap.of("content-TYPE", ImmutableSet.of(MediaType.TEXT_PLAIN)),
+                "text response",
+                StandardCharsets.UTF_8);
+        assertThat(decoder.decode(response, String.class)).isEqualTo("text response");
+    }
+
+    @Test
+    public void text_requires_string_type() {
+        Response response = Response.create(
+                200,
+                "OK",
+                ImmutableMap.of(HttpHeaders.CONTENT_TYPE, ImmutableSet.of(MediaType.TEXT_PLAIN)),
+                "text response",
+                StandardCharsets.UTF_8);
+        assertThatThrownBy(() -> decoder.decode(response, Map.class)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void http_204_is_empty_optional() throws IOException {
+        assertThat(decoder.decode(HTTP_204, OPTIONAL_TYPE)).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    public void http_204_is_empty_container_and_reuses_the_same_instance() throws IOException {
+        Object first = decoder.decode(HTTP_204, LIST_TYPE);
+        assertThat(first).isEqualTo(Collections.emptyList());
+        assertThat(decoder.decode(HTTP_204, LIST_TYPE)).isSameAs(first);
+    }
+
+    @Test
+    public void empty_json_body_is_empty_container() throws IOException {
+        assertThat(decoder.decode(json(""), Map.class)).isEqualTo(Collections.emptyMap());
+    }
+
+    @Test
+    public void input_stream_is_buffered() throws IOException {
+        Object decoded = decoder.decode(json("{}"), InputStream.class);
+        assertThat(decoded).isInstanceOf(InputStream.class);
+        assertThat((InputStream) decoded).hasContent("{}");
+    }
+
+    @Test
+    public void streams_take_over_detachable_bodies() throws IOException {
+        DetachableBody body = new DetachableBody("[\"a\",\"b\"]");
+        Response response = Response.create(
+                200,
+                "OK",
+                ImmutableMap.of(HttpHeaders.CONTENT_TYPE, ImmutableSet.of(MediaType.APPLICATION_JSON)),
+                body);
+
+        Object decoded = decoder.decode(response, STREAM_TYPE);
+        // Feign closes the body once the response is decoded
+        body.close();
+        assertThat(body.closed).isFalse();
+
+        try (Stream<?> stream = (Stream<?>) decoded) {
+            assertThat(stream.iterator().next()).isEqualTo("a");
+        }
+        assertThat(body.closed).isTrue();
+    }
+
+    @Test
+    public void http_204_is_empty_stream() throws IOException {
+        assertThat((Stream<?>) decoder.decode(HTTP_204, STREAM_TYPE)).isEmpty();
+    }
+
+    @Test
+    public void content_type_requires_exactly_one_value() {
+        Map<String, Collection<String>> headers = ImmutableMap.of(
+                "content-type", ImmutableList.of(MediaType.APPLICATION_JSON),
+                HttpHeaders.CONTENT_TYPE, ImmutableList.of(MediaType.TEXT_PLAIN));
+        assertThat(DecodingPlan.contentType(headers)).isNull();
+        assertThat(DecodingPlan.contentType(
+                        ImmutableMap.of("Content-type", ImmutableList.of(MediaType.APPLICATION_JSON))))
+                .isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(DecodingPlan.contentType(ImmutableMap.of())).isNull();
+    }
+
+    private static Response json(String body) {
+        return Response.create(
+                200,
+                "OK",
+                ImmutableMap.of(HttpHeaders.CONTENT_TYPE, ImmutableSet.of(MediaType.APPLICATION_JSON)),
+                body,
+                StandardCharsets.UTF_8);
+    }
+
+    public interface Service {
+        List<String> list();
+
+        Optional<String> optional();
+
+        Stream<String> stream();
+    }
+
+    private static final class DetachableBody implements DetachableResponseBody {
+        private final byte[] content;
+        private boolean detached;
+        private boolean closed;
+
+        DetachableBody(String content) {
+            this.content = content.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public InputStream detach() {
+            detached = true;
+            return new FilterInputStream(asInputStream()) {
+                @Override
+                public void close() {
+                    closed = true;
+                }
+            };
+        }
+
+        @Override
+        public Integer length() {
+            return content.length;
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return false;
+        }
+
+        @Override
+        public InputStream asInputStream() {
+            return new ByteArrayInputStream(content);
+        }
+
+        @Override
+        public Reader asReader() {
+            return new InputStreamReader(asInputStream(), StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() {
+            if (!detached) {
+                closed = true;
+            }
+        }
+    }
+}
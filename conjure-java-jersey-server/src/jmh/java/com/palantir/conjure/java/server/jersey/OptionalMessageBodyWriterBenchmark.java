@@ -0,0 +1,158 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.spi.ContainerResponseWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the server side cost of writing {@link Optional} responses compared to the bare values, by dispatching
+ * requests straight into a Jersey {@link ApplicationHandler} without any HTTP container.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class OptionalMessageBodyWriterBenchmark {
+
+    private static final URI BASE_URI = URI.create("http://localhost/");
+    private static final Map<String, Object> BODY = Map.of("name", "dataset", "size", 1024);
+
+    @Param({"text", "cbor"})
+    public String format;
+
+    private ApplicationHandler handler;
+
+    @Setup
+    public void setup() {
+        handler = new ApplicationHandler(new ResourceConfig()
+                .register(ConjureJerseyFeature.INSTANCE)
+                .register(new BenchmarkResource()));
+    }
+
+    @Benchmark
+    public int value() throws Exception {
+        return get("value");
+    }
+
+    @Benchmark
+    public int optional() throws Exception {
+        return get("optional");
+    }
+
+    private int get(String path) throws Exception {
+        ContainerRequest request = new ContainerRequest(
+                BASE_URI,
+                BASE_URI.resolve(format + '/' + path),
+                "GET",
+                null,
+                new MapPropertiesDelegate(),
+                handler.getConfiguration());
+        request.header(HttpHeaders.ACCEPT, format.equals("cbor") ? "application/cbor" : MediaType.TEXT_PLAIN);
+        request.setWriter(DiscardingResponseWriter.INSTANCE);
+        ContainerResponse response = handler.apply(request).get();
+        return response.getStatus();
+    }
+
+    @Path("/")
+    public static final class BenchmarkResource {
+        @GET
+        @Path("text/value")
+        @Produces(MediaType.TEXT_PLAIN)
+        public String textValue() {
+            return "value";
+        }
+
+        @GET
+        @Path("text/optional")
+        @Produces(MediaType.TEXT_PLAIN)
+        public Optional<String> textOptional() {
+            return Optional.of("value");
+        }
+
+        @GET
+        @Path("cbor/value")
+        @Produces("application/cbor")
+        public Map<String, Object> cborValue() {
+            return BODY;
+        }
+
+        @GET
+        @Path("cbor/optional")
+        @Produces("application/cbor")
+        public Optional<Map<String, Object>> cborOptional() {
+            return Optional.of(BODY);
+        }
+    }
+
+    private enum DiscardingResponseWriter implements ContainerResponseWriter {
+        INSTANCE;
+
+        @Override
+        public OutputStream writeResponseStatusAndHeaders(long _contentLength, ContainerResponse _responseContext) {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        public boolean suspend(long _timeOut, TimeUnit _timeUnit, TimeoutHandler _timeoutHandler) {
+            return false;
+        }
+
+        @Override
+        public void setSuspendTimeout(long _timeOut, TimeUnit _timeUnit) {}
+
+        @Override
+        public void commit() {}
+
+        @Override
+        public void failure(Throwable _error) {}
+
+        @Override
+        public boolean enableResponseBuffering() {
+            return false;
+        }
+    }
+}
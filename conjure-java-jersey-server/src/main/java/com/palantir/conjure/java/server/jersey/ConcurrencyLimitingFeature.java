@@ -0,0 +1,196 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import com.netflix.concurrency.limits.Limit;
+import com.netflix.concurrency.limits.limit.AIMDLimit;
+import com.netflix.concurrency.limits.limit.Gradient2Limit;
+import com.netflix.concurrency.limits.limiter.SimpleLimiter;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
+import com.palantir.tritium.metrics.registry.TaggedMetricRegistry;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+
+/**
+ * Opt-in server-side backpressure: bounds the number of requests concurrently handled by resource methods with an
+ * adaptive concurrency limit. Requests exceeding the limit are rejected with a
+ * {@link com.palantir.conjure.java.api.errors.QosException#unavailable 503 Unavailable} before the resource method
+ * runs, which conjure clients retry against other nodes with backoff. Requires the {@link ConjureJerseyFeature} to map
+ * the rejections.
+ *
+ * <p>Permits are released once the response status is known, so the time spent streaming response bodies is not
+ * covered by the limit. Configuring the same resource methods again, for instance when the application is reloaded,
+ * reuses their limiters rather than starting over.
+ */
+public final class ConcurrencyLimitingFeature implements DynamicFeature {
+
+    private final Partitioning partitioning;
+    private final Algorithm algorithm;
+    private final int initialLimit;
+    private final int maxLimit;
+    private final JerseyServerConcurrencyLimiterMetrics metrics;
+    private final SimpleLimiter<Void> globalLimiter;
+    private final ConcurrentMap<Method, SimpleLimiter<Void>> endpointLimiters = new ConcurrentHashMap<>();
+    private final EndpointNames endpointNames = new EndpointNames();
+
+    private ConcurrencyLimitingFeature(Builder builder) {
+        this.partitioning = builder.partitioning;
+        this.algorithm = builder.algorithm;
+        this.initialLimit = builder.initialLimit;
+        this.maxLimit = builder.maxLimit;
+        this.metrics = JerseyServerConcurrencyLimiterMetrics.of(builder.taggedMetricRegistry);
+        if (partitioning == Partitioning.GLOBAL) {
+            SimpleLimiter<Void> limiter = newLimiter();
+            this.globalLimiter = limiter;
+            metrics.limit(limiter::getLimit);
+            metrics.inflight(limiter::getInflight);
+        } else {
+            this.globalLimiter = null;
+            metrics.limit(() -> endpointLimiters.values().stream()
+                    .mapToInt(SimpleLimiter::getLimit)
+                    .sum());
+            metrics.inflight(() -> endpointLimiters.values().stream()
+                    .mapToInt(SimpleLimiter::getInflight)
+                    .sum());
+        }
+    }
+
+    @Override
+    public void configure(ResourceInfo resourceInfo, FeatureContext context) {
+        String endpoint = endpointNames.name(resourceInfo);
+        SimpleLimiter<Void> limiter = partitioning == Partitioning.GLOBAL
+                ? globalLimiter
+                : endpointLimiters.computeIfAbsent(resourceInfo.getResourceMethod(), _method -> newLimiter());
+        context.register(new ConcurrencyLimitingFilter(limiter, metrics.rejected(endpoint)));
+    }
+
+    private SimpleLimiter<Void> newLimiter() {
+        return SimpleLimiter.newBuilder().limit(newLimit()).build();
+    }
+
+    private Limit newLimit() {
+        switch (algorithm) {
+            case AIMD:
+                return AIMDLimit.newBuilder()
+                        // Slow requests are not treated as failures since many endpoints legitimately take long.
+                        .timeout(Long.MAX_VALUE, TimeUnit.NANOSECONDS)
+                        .initialLimit(initialLimit)
+                        .backoffRatio(0.9)
+                        .minLimit(1)
+                        .maxLimit(maxLimit)
+                        .build();
+            case GRADIENT:
+                return Gradient2Limit.newBuilder()
+                        .initialLimit(initialLimit)
+                        .minLimit(1)
+                        .maxConcurrency(maxLimit)
+                        .build();
+        }
+        throw new SafeIllegalStateException("Unknown algorithm", SafeArg.of("algorithm", algorithm));
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrencyLimitingFeature{partitioning=" + partitioning + ", algorithm=" + algorithm
+                + ", initialLimit=" + initialLimit + ", maxLimit=" + maxLimit + '}';
+    }
+
+    @CheckReturnValue
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Determines which requests share a concurrency limit. */
+    public enum Partitioning {
+        /** All resource methods share a single limit. */
+        GLOBAL,
+        /** Each resource method has its own limit, so that a slow endpoint cannot starve the others. */
+        PER_ENDPOINT
+    }
+
+    /** Determines how the limit of each partition adapts to the observed load. */
+    public enum Algorithm {
+        /**
+         * Grows the limit additively while it is fully used and requests succeed, and shrinks it multiplicatively
+         * whenever a request fails with a 5xx response.
+         */
+        AIMD,
+        /**
+         * Compares the short-term to the long-term average latency of requests, and shrinks the limit as requests
+         * start to queue up and take longer. Suited to endpoints with consistent latencies.
+         */
+        GRADIENT
+    }
+
+    @CheckReturnValue
+    public static final class Builder {
+        private TaggedMetricRegistry taggedMetricRegistry;
+        private Partitioning partitioning = Partitioning.GLOBAL;
+        private Algorithm algorithm = Algorithm.AIMD;
+        private int initialLimit = 20;
+        private int maxLimit = 1000;
+
+        private Builder() {}
+
+        /** Registry for the {@code server.concurrency-limiter} metrics. */
+        public Builder taggedMetricRegistry(TaggedMetricRegistry value) {
+            this.taggedMetricRegistry = value;
+            return this;
+        }
+
+        /** Defaults to {@link Partitioning#GLOBAL}. */
+        public Builder partitioning(Partitioning value) {
+            this.partitioning = value;
+            return this;
+        }
+
+        /** Defaults to {@link Algorithm#AIMD}. */
+        public Builder algorithm(Algorithm value) {
+            this.algorithm = value;
+            return this;
+        }
+
+        /** The limit of each partition before it has adapted to the observed load, defaults to 20. */
+        public Builder initialLimit(int value) {
+            this.initialLimit = value;
+            return this;
+        }
+
+        /** The upper bound of the adaptive limit of each partition, defaults to 1000. */
+        public Builder maxLimit(int value) {
+            this.maxLimit = value;
+            return this;
+        }
+
+        public ConcurrencyLimitingFeature build() {
+            Preconditions.checkNotNull(taggedMetricRegistry, "taggedMetricRegistry");
+            Preconditions.checkNotNull(partitioning, "partitioning");
+            Preconditions.checkNotNull(algorithm, "algorithm");
+            Preconditions.checkArgument(initialLimit > 0, "initialLimit must be positive");
+            Preconditions.checkArgument(maxLimit >= initialLimit, "maxLimit must be at least initialLimit");
+            return new ConcurrencyLimitingFeature(this);
+        }
+    }
+}
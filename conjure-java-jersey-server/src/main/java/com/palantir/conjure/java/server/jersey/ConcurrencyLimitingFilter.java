@@ -0,0 +1,72 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import com.codahale.metrics.Meter;
+import com.netflix.concurrency.limits.Limiter;
+import com.netflix.concurrency.limits.limiter.SimpleLimiter;
+import com.palantir.conjure.java.api.errors.QosException;
+import java.util.Optional;
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+
+/**
+ * Acquires a permit of the resource method's limiter before the request is handled, and releases it once the response
+ * status is known. Runs ahead of authentication so that rejected requests are as cheap as possible.
+ */
+@Priority(Priorities.AUTHENTICATION - 1)
+final class ConcurrencyLimitingFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String LISTENER_PROPERTY = ConcurrencyLimitingFilter.class.getName() + ".listener";
+    private static final Void NO_CONTEXT = null;
+
+    private final SimpleLimiter<Void> limiter;
+    private final Meter rejected;
+
+    ConcurrencyLimitingFilter(SimpleLimiter<Void> limiter, Meter rejected) {
+        this.limiter = limiter;
+        this.rejected = rejected;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        Optional<Limiter.Listener> listener = limiter.acquire(NO_CONTEXT);
+        if (!listener.isPresent()) {
+            rejected.mark();
+            throw QosException.unavailable();
+        }
+        requestContext.setProperty(LISTENER_PROPERTY, listener.get());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        Object listener = requestContext.getProperty(LISTENER_PROPERTY);
+        if (!(listener instanceof Limiter.Listener)) {
+            return;
+        }
+        requestContext.removeProperty(LISTENER_PROPERTY);
+        if (responseContext.getStatus() / 100 == 5) {
+            ((Limiter.Listener) listener).onDropped();
+        } else {
+            ((Limiter.Listener) listener).onSuccess();
+        }
+    }
+}
@@ -21,8 +21,12 @@ import com.google.errorprone.annotations.CheckReturnValue;
 import com.palantir.conjure.java.serialization.ObjectMappers;
 import com.palantir.logsafe.Preconditions;
 import com.palantir.tracing.jersey.TraceEnrichingFilter;
+import java.util.Optional;
+import javax.inject.Singleton;
 import javax.ws.rs.core.Feature;
 import javax.ws.rs.core.FeatureContext;
+import org.glassfish.jersey.internal.inject.AbstractBinder;
+import org.glassfish.jersey.server.spi.internal.ResourceMethodInvocationHandlerProvider;
 
 public enum ConjureJerseyFeature implements Feature {
 
@@ -37,25 +41,35 @@ public enum ConjureJerseyFeature implements Feature {
      */
     @Override
     public boolean configure(FeatureContext context) {
-        return configure(context, NoOpListener.INSTANCE);
+        return configure(context, NoOpListener.INSTANCE, Optional.empty(), Optional.empty(), false, false);
     }
 
-    private static boolean configure(FeatureContext context, ExceptionListener exceptionListener) {
+    private static boolean configure(
+            FeatureContext context,
+            ExceptionListener exceptionListener,
+            Optional<GzipCompression> gzipCompression,
+            Optional<ErrorHandling> errorHandling,
+            boolean entityTags,
+            boolean requestDeadlines) {
         // Exception mappers
+        ErrorResponses errors = errorHandling.map(ErrorResponses::of).orElse(ErrorResponses.DEFAULT);
         context.register(new NoContentExceptionMapper());
-        context.register(new IllegalArgumentExceptionMapper(exceptionListener));
-        context.register(new RetryableExceptionMapper(exceptionListener));
-        context.register(new RuntimeExceptionMapper(exceptionListener));
-        context.register(new WebApplicationExceptionMapper(exceptionListener));
+        context.register(new IllegalArgumentExceptionMapper(exceptionListener, errors));
+        context.register(new RetryableExceptionMapper(exceptionListener, errors));
+        context.register(new RuntimeExceptionMapper(exceptionListener, errors));
+        context.register(new WebApplicationExceptionMapper(exceptionListener, errors));
         context.register(new RemoteExceptionMapper(exceptionListener));
-        context.register(new ServiceExceptionMapper(exceptionListener));
+        context.register(new ServiceExceptionMapper(exceptionListener, errors));
         context.register(new QosExceptionMapper(exceptionListener));
-        context.register(new ThrowableExceptionMapper(exceptionListener));
-        JacksonExceptionMappers.configure(context, exceptionListener);
+        context.register(new ThrowableExceptionMapper(exceptionListener, errors));
+        JacksonExceptionMappers.configure(context, exceptionListener, errors);
 
         // Cbor handling
         context.register(new JacksonCBORProvider(ObjectMappers.newCborServerObjectMapper()));
 
+        // Smile handling
+        context.register(new SmileMessageBodyProvider(ObjectMappers.newSmileServerObjectMapper()));
+
         // Auth handling
         context.register(AuthHeaderParamConverterProvider.class);
         context.register(BearerTokenParamConverterProvider.class);
@@ -72,6 +86,12 @@ public enum ConjureJerseyFeature implements Feature {
         context.register(Java8OptionalLongMessageBodyWriter.class);
         context.register(Java8OptionalLongParamConverterProvider.class);
 
+        // Stream and Iterator handling
+        context.register(new StreamingMessageBodyWriter(
+                ObjectMappers.newServerObjectMapper(),
+                ObjectMappers.newCborServerObjectMapper(),
+                ObjectMappers.newSmileServerObjectMapper()));
+
         // DateTime handling
         context.register(InstantParamConverterProvider.class);
         context.register(ZonedDateTimeParamConverterProvider.class);
@@ -80,9 +100,32 @@ public enum ConjureJerseyFeature implements Feature {
         // Tracing
         context.register(new TraceEnrichingFilter());
 
+        // Asynchronous resource methods. The provider interface isn't a Jersey contract, so it's bound explicitly.
+        context.register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(FutureInvocationHandlerProvider.class)
+                        .to(ResourceMethodInvocationHandlerProvider.class)
+                        .in(Singleton.class);
+            }
+        });
+
+        // Deadlines
+        if (requestDeadlines) {
+            context.register(DeadlineFilter.INSTANCE);
+        }
+
         // Deprecation
         context.register(DeprecationReportingResponseFeature.INSTANCE);
 
+        // Compression
+        gzipCompression.ifPresent(config -> context.register(new GzipCompressionInterceptor(config)));
+
+        // Conditional requests
+        if (entityTags) {
+            context.register(EntityTagFilter.class);
+        }
+
         return true;
     }
 
@@ -94,6 +137,10 @@ public enum ConjureJerseyFeature implements Feature {
     @CheckReturnValue
     public static final class Builder {
         private ExceptionListener exceptionListener = NoOpListener.INSTANCE;
+        private Optional<GzipCompression> gzipCompression = Optional.empty();
+        private Optional<ErrorHandling> errorHandling = Optional.empty();
+        private boolean entityTags = false;
+        private boolean requestDeadlines = false;
 
         private Builder() {}
 
@@ -106,12 +153,60 @@ public enum ConjureJerseyFeature implements Feature {
             return this;
         }
 
+        /**
+         * Enables gzip compression of response bodies for clients that accept it, see {@link GzipCompression}.
+         * Disabled by default.
+         */
+        public Builder gzipCompression(GzipCompression value) {
+            this.gzipCompression = Optional.of(value);
+            return this;
+        }
+
+        /**
+         * Rate limits the logging of mapped exceptions and pre-serializes error bodies, see {@link ErrorHandling}. By
+         * default every exception is logged with its stack trace.
+         */
+        public Builder errorHandling(ErrorHandling value) {
+            this.errorHandling = Optional.of(value);
+            return this;
+        }
+
+        /**
+         * Tags successful {@code GET} responses with an {@code ETag} and answers requests whose
+         * {@code If-None-Match} header matches it with {@code 304 Not Modified} and no body. Unless the resource sets
+         * the tag itself, e.g. to a version it already knows with
+         * {@link javax.ws.rs.core.Response.ResponseBuilder#tag}, the tag is a weak hash of the serialized entity.
+         * The header has to be known before the body is written, so computing the hash serializes the entity once more
+         * before the actual write: every {@code 200} response with a computed tag is serialized twice, including those
+         * to clients which never send {@code If-None-Match}, and only {@code 304} responses get away with a single
+         * serialization. Resources with large or expensive entities should set the tag themselves. Disabled by
+         * default.
+         */
+        public Builder entityTags(boolean value) {
+            this.entityTags = value;
+            return this;
+        }
+
+        /**
+         * Reads the deadline propagated by clients in the {@value RequestDeadlines#HEADER} header, rejecting requests
+         * whose deadline already passed and exposing the remaining time to resources through {@link RequestDeadlines}.
+         * Disabled by default, in which case the header is ignored.
+         */
+        public Builder requestDeadlines(boolean value) {
+            this.requestDeadlines = value;
+            return this;
+        }
+
         public Feature build() {
             ExceptionListener listener = Preconditions.checkNotNull(exceptionListener, "exceptionListener");
+            Optional<GzipCompression> compression = gzipCompression;
+            Optional<ErrorHandling> errors = errorHandling;
+            boolean tags = entityTags;
+            boolean deadlines = requestDeadlines;
             return new Feature() {
                 @Override
                 public boolean configure(FeatureContext context) {
-                    return ConjureJerseyFeature.configure(context, listener);
+                    return ConjureJerseyFeature.configure(context, listener, compression, errors, tags, deadlines);
                 }
 
                 @Override
@@ -0,0 +1,64 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import com.palantir.conjure.java.api.errors.ErrorType;
+import com.palantir.conjure.java.api.errors.ServiceException;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.UnsafeArg;
+import java.time.Duration;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.PreMatching;
+
+/**
+ * Reads the {@link RequestDeadlines#HEADER} of incoming requests, rejecting requests whose deadline already passed
+ * and exposing the remaining time to resource methods through {@link RequestDeadlines}.
+ */
+@PreMatching
+enum DeadlineFilter implements ContainerRequestFilter, ContainerResponseFilter {
+    INSTANCE;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        RequestDeadlines.clear();
+        String header = requestContext.getHeaderString(RequestDeadlines.HEADER);
+        if (header == null) {
+            return;
+        }
+
+        long remainingMillis;
+        try {
+            remainingMillis = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            throw new ServiceException(ErrorType.INVALID_ARGUMENT, e, UnsafeArg.of("deadlineHeader", header));
+        }
+        if (remainingMillis <= 0) {
+            throw new ServiceException(ErrorType.TIMEOUT, SafeArg.of("remainingMillis", remainingMillis));
+        }
+        RequestDeadlines.set(requestContext, Duration.ofMillis(remainingMillis));
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext _responseContext) {
+        // Responses of asynchronous resources are filtered on the thread completing them, which may hold the deadline
+        // of another request. The request thread is cleared by the next request it filters instead.
+        RequestDeadlines.clear(requestContext);
+    }
+}
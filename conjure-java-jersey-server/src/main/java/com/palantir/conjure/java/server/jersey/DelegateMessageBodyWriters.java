@@ -0,0 +1,88 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+import javax.inject.Provider;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.MessageBodyWriter;
+import org.glassfish.jersey.message.MessageBodyWorkers;
+
+/**
+ * Remembers which {@link MessageBodyWriter} Jersey picks for the value inside a wrapper type, such as an
+ * {@link java.util.Optional}, so that the provider lookup only happens the first time a resource method returns a
+ * given value type. Writers are fixed once the application has started, so the resolved writer never changes.
+ */
+final class DelegateMessageBodyWriters {
+
+    private final ConcurrentMap<Key, MessageBodyWriter<?>> writers = new ConcurrentHashMap<>();
+
+    @Nullable
+    MessageBodyWriter<?> get(
+            Provider<MessageBodyWorkers> workers,
+            Class<?> type,
+            Type genericType,
+            Annotation[] annotations,
+            MediaType mediaType) {
+        return writers.computeIfAbsent(
+                new Key(type, genericType, annotations, mediaType),
+                _key -> workers.get().getMessageBodyWriter(type, genericType, annotations, mediaType));
+    }
+
+    private static final class Key {
+        private final Class<?> type;
+        private final Type genericType;
+        private final Annotation[] annotations;
+        private final MediaType mediaType;
+        private final int hashCode;
+
+        Key(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            this.type = type;
+            this.genericType = genericType;
+            this.annotations = annotations;
+            this.mediaType = mediaType;
+            this.hashCode = Objects.hash(type, genericType, Arrays.hashCode(annotations), mediaType);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) other;
+            return hashCode == that.hashCode
+                    && type.equals(that.type)
+                    && genericType.equals(that.genericType)
+                    && Arrays.equals(annotations, that.annotations)
+                    && Objects.equals(mediaType, that.mediaType);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.tritium.metrics.registry.TaggedMetricRegistry;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+
+/**
+ * Opt-in per-endpoint server metrics: records the latency, status class and response size of every resource method
+ * in the {@code server.endpoint} metrics, tagged by {@code Resource.method}. Overloaded resource methods, and those
+ * whose name is already taken by a same-named resource class, are qualified with their HTTP method and path template,
+ * as in {@code Resource.method[GET /resource/{id}]}, so that each resource method has metrics of its own. The metrics
+ * of each resource method are resolved once when the application starts, so recording them doesn't look anything up
+ * per request.
+ *
+ * <p>Latency covers request filtering, the resource method and writing the response body, and response sizes are
+ * counted after any compression by the {@link ConjureJerseyFeature}.
+ */
+public final class EndpointMetricsFeature implements DynamicFeature {
+
+    private final JerseyServerEndpointMetrics metrics;
+    private final EndpointNames endpointNames = new EndpointNames();
+
+    private EndpointMetricsFeature(Builder builder) {
+        this.metrics = JerseyServerEndpointMetrics.of(builder.taggedMetricRegistry);
+    }
+
+    @Override
+    public void configure(ResourceInfo resourceInfo, FeatureContext context) {
+        context.register(new EndpointMetricsFilter(metrics, endpointNames.name(resourceInfo)));
+    }
+
+    @Override
+    public String toString() {
+        return "EndpointMetricsFeature{}";
+    }
+
+    @CheckReturnValue
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @CheckReturnValue
+    public static final class Builder {
+        private TaggedMetricRegistry taggedMetricRegistry;
+
+        private Builder() {}
+
+        /** Registry for the {@code server.endpoint} metrics. */
+        public Builder taggedMetricRegistry(TaggedMetricRegistry value) {
+            this.taggedMetricRegistry = value;
+            return this;
+        }
+
+        public EndpointMetricsFeature build() {
+            Preconditions.checkNotNull(taggedMetricRegistry, "taggedMetricRegistry");
+            return new EndpointMetricsFeature(this);
+        }
+    }
+}
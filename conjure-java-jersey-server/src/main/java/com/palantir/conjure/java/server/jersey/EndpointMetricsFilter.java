@@ -0,0 +1,95 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Timer;
+import com.google.common.io.CountingOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+/**
+ * Records the {@code server.endpoint} metrics of a single resource method, see {@link EndpointMetricsFeature}. The
+ * priority makes the request filter run before, and the response filter and writer interceptor run around, the other
+ * filters and interceptors, including gzip compression. It's lower than the {@link ConcurrencyLimitingFilter}'s so that
+ * requests rejected by the limiter are recorded too.
+ */
+@Priority(Priorities.AUTHENTICATION - 2)
+final class EndpointMetricsFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    private static final String START_NANOS_PROPERTY = EndpointMetricsFilter.class.getName() + ".startNanos";
+    private static final String[] STATUS_CLASSES = {"other", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final Timer latency;
+    private final Meter[] statuses;
+    private final Histogram size;
+
+    EndpointMetricsFilter(JerseyServerEndpointMetrics metrics, String endpoint) {
+        this.latency = metrics.response(endpoint);
+        this.size = metrics.responseSize(endpoint);
+        this.statuses = new Meter[STATUS_CLASSES.length];
+        for (int i = 0; i < STATUS_CLASSES.length; i++) {
+            statuses[i] = metrics.responseStatus()
+                    .endpoint(endpoint)
+                    .status(STATUS_CLASSES[i])
+                    .build();
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        requestContext.setProperty(START_NANOS_PROPERTY, System.nanoTime());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        int statusClass = responseContext.getStatus() / 100;
+        statuses[statusClass >= 1 && statusClass <= 5 ? statusClass : 0].mark();
+        if (!responseContext.hasEntity()) {
+            // Writer interceptors are only invoked for responses with a body
+            Object startNanos = requestContext.getProperty(START_NANOS_PROPERTY);
+            if (startNanos != null) {
+                latency.update(System.nanoTime() - (long) startNanos, TimeUnit.NANOSECONDS);
+            }
+            size.update(0);
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        CountingOutputStream countingStream = new CountingOutputStream(context.getOutputStream());
+        context.setOutputStream(countingStream);
+        try {
+            context.proceed();
+        } finally {
+            Object startNanos = context.getProperty(START_NANOS_PROPERTY);
+            if (startNanos != null) {
+                latency.update(System.nanoTime() - (long) startNanos, TimeUnit.NANOSECONDS);
+            }
+            size.update(countingStream.getCount());
+        }
+    }
+}
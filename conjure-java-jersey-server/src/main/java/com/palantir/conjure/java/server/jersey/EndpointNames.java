@@ -0,0 +1,116 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Path;
+import javax.ws.rs.container.ResourceInfo;
+
+/**
+ * Names resource methods for the {@code endpoint} tag of server metrics. The name is {@code Resource.method}, unless
+ * that is ambiguous, in which case it's qualified with the HTTP method and path template, as in
+ * {@code Resource.method[GET /resource/{id}]}:
+ * <ul>
+ *     <li>Overloaded resource methods are always qualified.
+ *     <li>Resource methods whose name is already taken by a different resource method, e.g. of a same-named class in
+ *     another package, are qualified, while the first one keeps the short name.
+ * </ul>
+ * Names are remembered per resource method, so configuring a resource method again yields the same name.
+ */
+final class EndpointNames {
+
+    private final Map<Method, String> names = new HashMap<>();
+    private final Map<String, Method> methods = new HashMap<>();
+
+    synchronized String name(ResourceInfo resourceInfo) {
+        Method method = resourceInfo.getResourceMethod();
+        String name = names.get(method);
+        if (name == null) {
+            name = newName(resourceInfo.getResourceClass(), method);
+            names.put(method, name);
+        }
+        return name;
+    }
+
+    private String newName(Class<?> resourceClass, Method method) {
+        String name = resourceClass.getSimpleName() + "." + method.getName();
+        if (!isOverloaded(method) && claim(name, method)) {
+            return name;
+        }
+        String qualified = name + "[" + httpMethod(method) + " " + pathTemplate(resourceClass, method) + "]";
+        if (claim(qualified, method)) {
+            return qualified;
+        }
+        // Only the same resource method of a class loaded twice gets here
+        return resourceClass.getName() + "." + method.getName() + qualified.substring(name.length());
+    }
+
+    private boolean claim(String name, Method method) {
+        Method owner = methods.putIfAbsent(name, method);
+        return owner == null || owner.equals(method);
+    }
+
+    private static boolean isOverloaded(Method method) {
+        return Arrays.stream(method.getDeclaringClass().getMethods())
+                        .filter(candidate -> candidate.getName().equals(method.getName()))
+                        .filter(EndpointNames::isResourceMethod)
+                        .count()
+                > 1;
+    }
+
+    private static boolean isResourceMethod(Method method) {
+        return method.isAnnotationPresent(Path.class) || !httpMethod(method).isEmpty();
+    }
+
+    private static String httpMethod(Method method) {
+        return Arrays.stream(method.getAnnotations())
+                .map(Annotation::annotationType)
+                .filter(annotation -> annotation.isAnnotationPresent(HttpMethod.class))
+                .map(annotation -> annotation.getAnnotation(HttpMethod.class).value())
+                .findFirst()
+                .orElse("");
+    }
+
+    private static String pathTemplate(Class<?> resourceClass, Method method) {
+        // Conjure services declare their paths on the interface that resources implement
+        Class<?> pathClass =
+                method.getDeclaringClass().isAnnotationPresent(Path.class) ? method.getDeclaringClass() : resourceClass;
+        return Stream.of(pathClass, method)
+                .map(EndpointNames::path)
+                .filter(path -> !path.isEmpty())
+                .collect(Collectors.joining("/", "/", ""));
+    }
+
+    private static String path(AnnotatedElement element) {
+        Path path = element.getAnnotation(Path.class);
+        if (path == null) {
+            return "";
+        }
+        String value = path.value();
+        int start = value.startsWith("/") ? 1 : 0;
+        int end = value.endsWith("/") && value.length() > start ? value.length() - 1 : value.length();
+        return value.substring(start, end);
+    }
+}
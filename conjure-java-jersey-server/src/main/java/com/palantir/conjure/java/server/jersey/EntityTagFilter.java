@@ -0,0 +1,169 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import com.google.common.hash.Funnels;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.BaseStream;
+import javax.annotation.Nullable;
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.NoContentException;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.MessageBodyWriter;
+import org.glassfish.jersey.message.MessageBodyWorkers;
+
+/**
+ * Answers conditional {@code GET} requests, see {@link ConjureJerseyFeature.Builder#entityTags}. Responses which
+ * already carry an {@code ETag}, e.g. a version set with {@link Response.ResponseBuilder#tag}, are checked against
+ * the request's {@code If-None-Match} header without serializing the entity. Otherwise the entity is serialized into
+ * a hash first, without buffering it, and the hash becomes a weak {@code ETag}: the hash covers the entity before any
+ * content coding, so gzip compressed and identity responses carry the same tag although their bytes differ. Matching
+ * requests get a {@code 304 Not Modified} without a body, all others are written as usual, which serializes their
+ * entity a second time: the tag must be sent before the body, so it can't be computed while writing it.
+ */
+@Priority(Priorities.HEADER_DECORATOR)
+final class EntityTagFilter implements ContainerResponseFilter {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    @Inject
+    private javax.inject.Provider<MessageBodyWorkers> mbw;
+
+    private final DelegateMessageBodyWriters delegates = new DelegateMessageBodyWriters();
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext)
+            throws IOException {
+        if (responseContext.getStatus() != Response.Status.OK.getStatusCode()
+                || !responseContext.hasEntity()
+                || !isSafe(requestContext.getMethod())) {
+            return;
+        }
+        EntityTag tag = responseContext.getEntityTag();
+        if (tag == null) {
+            if (!isHashable(responseContext)) {
+                return;
+            }
+            tag = hash(responseContext);
+            if (tag == null) {
+                return;
+            }
+            responseContext.getHeaders().putSingle(HttpHeaders.ETAG, tag);
+        }
+        Response.ResponseBuilder precondition = requestContext.getRequest().evaluatePreconditions(tag);
+        if (precondition != null) {
+            responseContext.setStatus(precondition.build().getStatus());
+            responseContext.setEntity(null);
+            responseContext.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+        }
+    }
+
+    @Nullable
+    private EntityTag hash(ContainerResponseContext responseContext) throws IOException {
+        Object entity = responseContext.getEntity();
+        @SuppressWarnings("rawtypes")
+        MessageBodyWriter writer = delegates.get(
+                mbw,
+                responseContext.getEntityClass(),
+                responseContext.getEntityType(),
+                responseContext.getEntityAnnotations(),
+                responseContext.getMediaType());
+        if (writer == null) {
+            return null;
+        }
+        Hasher hasher = HASH_FUNCTION.newHasher();
+        try (OutputStream hashing = Funnels.asOutputStream(hasher)) {
+            writeTo(writer, entity, responseContext, hashing);
+        } catch (NoContentException e) {
+            // Empty optionals are turned into 204 responses, which have no entity to tag
+            return null;
+        }
+        return new EntityTag(hasher.hash().toString(), true);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static void writeTo(
+            MessageBodyWriter writer, Object entity, ContainerResponseContext responseContext, OutputStream out)
+            throws IOException {
+        // Writers may add headers, which must only happen once the entity is actually written
+        writer.writeTo(
+                entity,
+                responseContext.getEntityClass(),
+                responseContext.getEntityType(),
+                responseContext.getEntityAnnotations(),
+                responseContext.getMediaType(),
+                new MultivaluedHashMap<>(responseContext.getHeaders()),
+                out);
+    }
+
+    private static boolean isSafe(String method) {
+        return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method);
+    }
+
+    /**
+     * Only serialized entities are hashed: streams and {@link StreamingOutput} may not produce the same bytes twice,
+     * and hashing them would read data which is then no longer available for the response itself.
+     */
+    private static boolean isHashable(ContainerResponseContext responseContext) {
+        return isSerializedMediaType(responseContext.getMediaType()) && isReplayable(responseContext.getEntity());
+    }
+
+    private static boolean isSerializedMediaType(MediaType mediaType) {
+        if (mediaType == null || !"application".equalsIgnoreCase(mediaType.getType())) {
+            return false;
+        }
+        String subtype = mediaType.getSubtype();
+        return "json".equalsIgnoreCase(subtype)
+                || "cbor".equalsIgnoreCase(subtype)
+                || "x-jackson-smile".equalsIgnoreCase(subtype);
+    }
+
+    private static boolean isReplayable(Object entity) {
+        Object value = entity;
+        if (value instanceof Optional) {
+            value = ((Optional<?>) value).orElse(null);
+        } else if (value instanceof com.google.common.base.Optional) {
+            value = ((com.google.common.base.Optional<?>) value).orNull();
+        }
+        return !(value instanceof InputStream
+                || value instanceof Reader
+                || value instanceof StreamingOutput
+                || value instanceof File
+                || value instanceof BaseStream
+                || value instanceof Iterator);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.tritium.metrics.registry.TaggedMetricRegistry;
+import java.time.Duration;
+
+/**
+ * Makes the exception mappers of the {@link ConjureJerseyFeature} cheap enough to survive error storms, see
+ * {@link ConjureJerseyFeature.Builder#errorHandling}. Stack traces are logged at most once per
+ * {@link Builder#logInterval} for each error name, together with the number of occurrences suppressed since the
+ * previous log line, and the bodies of errors without parameters are written from pre-serialized bytes.
+ */
+public final class ErrorHandling {
+
+    private final TaggedMetricRegistry taggedMetricRegistry;
+    private final Duration logInterval;
+
+    private ErrorHandling(Builder builder) {
+        this.taggedMetricRegistry = builder.taggedMetricRegistry;
+        this.logInterval = builder.logInterval;
+    }
+
+    TaggedMetricRegistry taggedMetricRegistry() {
+        return taggedMetricRegistry;
+    }
+
+    Duration logInterval() {
+        return logInterval;
+    }
+
+    @Override
+    public String toString() {
+        return "ErrorHandling{logInterval=" + logInterval + '}';
+    }
+
+    @CheckReturnValue
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @CheckReturnValue
+    public static final class Builder {
+        private TaggedMetricRegistry taggedMetricRegistry;
+        private Duration logInterval = Duration.ofSeconds(1);
+
+        private Builder() {}
+
+        /** Registry for the {@code server.response.error} metrics. */
+        public Builder taggedMetricRegistry(TaggedMetricRegistry value) {
+            this.taggedMetricRegistry = value;
+            return this;
+        }
+
+        /**
+         * The minimum time between two logged stack traces of the same error name. Occurrences in between are only
+         * counted. Defaults to one second.
+         */
+        public Builder logInterval(Duration value) {
+            this.logInterval = value;
+            return this;
+        }
+
+        public ErrorHandling build() {
+            Preconditions.checkNotNull(taggedMetricRegistry, "taggedMetricRegistry");
+            Preconditions.checkNotNull(logInterval, "logInterval");
+            Preconditions.checkArgument(
+                    !logInterval.isNegative(),
+                    "logInterval must not be negative",
+                    SafeArg.of("logInterval", logInterval));
+            return new ErrorHandling(this);
+        }
+    }
+}
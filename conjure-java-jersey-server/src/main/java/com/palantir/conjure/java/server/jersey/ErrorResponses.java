@@ -0,0 +1,237 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import com.codahale.metrics.Meter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.palantir.conjure.java.api.errors.ErrorType;
+import com.palantir.conjure.java.api.errors.SerializableError;
+import com.palantir.conjure.java.serialization.ObjectMappers;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import org.slf4j.Logger;
+
+/**
+ * Logs the exceptions handled by the exception mappers and builds their {@link SerializableError} responses. By
+ * default every exception is logged with its stack trace and error bodies are serialized by the JSON provider of the
+ * application. With {@link ErrorHandling} configured, stack traces are rate limited per error name and the bodies of
+ * errors without parameters are copied from bytes which are serialized once per error type.
+ */
+final class ErrorResponses {
+
+    static final ErrorResponses DEFAULT = new ErrorResponses(null, 0);
+
+    private static final ObjectMapper MAPPER = ObjectMappers.newServerObjectMapper();
+    private static final String ERROR_INSTANCE_ID_PLACEHOLDER = "__errorInstanceId__";
+
+    @Nullable
+    private final JerseyServerErrorsMetrics metrics;
+
+    private final long logIntervalNanos;
+    private final ConcurrentMap<String, LogWindow> logWindows = new ConcurrentHashMap<>();
+    private final ConcurrentMap<List<String>, SerializedError> serializedErrors = new ConcurrentHashMap<>();
+
+    private ErrorResponses(@Nullable JerseyServerErrorsMetrics metrics, long logIntervalNanos) {
+        this.metrics = metrics;
+        this.logIntervalNanos = logIntervalNanos;
+    }
+
+    static ErrorResponses of(ErrorHandling config) {
+        return new ErrorResponses(
+                JerseyServerErrorsMetrics.of(config.taggedMetricRegistry()),
+                config.logInterval().toNanos());
+    }
+
+    /**
+     * Returns a new random error instance id. Unlike {@link UUID#randomUUID}, this doesn't contend on a shared
+     * {@link java.security.SecureRandom}, which is fine because error instance ids only need to be unique.
+     */
+    static String newErrorInstanceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // Set the version (4) and variant (IETF) bits of a random UUID
+        long mostSigBits = (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+
+    /** Logs the given exception at INFO for client errors and at ERROR otherwise, unless it is rate limited. */
+    void log(Logger log, int httpErrorCode, String errorName, String errorInstanceId, Throwable exception) {
+        log(log, httpErrorCode, errorName, true, errorInstanceId, exception);
+    }
+
+    /**
+     * Like {@link #log}, except that the error name is only logged when rate limiting, so that mappers which never
+     * logged it keep their default output.
+     */
+    void logWithoutErrorName(
+            Logger log, int httpErrorCode, String errorName, String errorInstanceId, Throwable exception) {
+        log(log, httpErrorCode, errorName, false, errorInstanceId, exception);
+    }
+
+    private void log(
+            Logger log,
+            int httpErrorCode,
+            String errorName,
+            boolean logErrorName,
+            String errorInstanceId,
+            Throwable exception) {
+        boolean clientError = httpErrorCode / 100 == 4;
+        if (metrics == null && !logErrorName) {
+            if (clientError) {
+                log.info("Error handling request", SafeArg.of("errorInstanceId", errorInstanceId), exception);
+            } else {
+                log.error("Error handling request", SafeArg.of("errorInstanceId", errorInstanceId), exception);
+            }
+            return;
+        }
+        if (metrics == null) {
+            if (clientError) {
+                log.info(
+                        "Error handling request",
+                        SafeArg.of("errorInstanceId", errorInstanceId),
+                        SafeArg.of("errorName", errorName),
+                        exception);
+            } else {
+                log.error(
+                        "Error handling request",
+                        SafeArg.of("errorInstanceId", errorInstanceId),
+                        SafeArg.of("errorName", errorName),
+                        exception);
+            }
+            return;
+        }
+
+        LogWindow window = logWindows.computeIfAbsent(errorName, name -> new LogWindow(metrics.logSuppressed(name)));
+        long suppressedCount = window.tryLog(logIntervalNanos);
+        if (suppressedCount < 0) {
+            return;
+        }
+        if (clientError) {
+            log.info(
+                    "Error handling request",
+                    SafeArg.of("errorInstanceId", errorInstanceId),
+                    SafeArg.of("errorName", errorName),
+                    SafeArg.of("suppressedCount", suppressedCount),
+                    exception);
+        } else {
+            log.error(
+                    "Error handling request",
+                    SafeArg.of("errorInstanceId", errorInstanceId),
+                    SafeArg.of("errorName", errorName),
+                    SafeArg.of("suppressedCount", suppressedCount),
+                    exception);
+        }
+    }
+
+    Response response(ErrorType errorType, String errorInstanceId) {
+        return response(errorType.httpErrorCode(), errorType.code().name(), errorType.name(), errorInstanceId);
+    }
+
+    Response response(int httpErrorCode, String errorCode, String errorName, String errorInstanceId) {
+        if (metrics == null) {
+            return Response.status(httpErrorCode)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(SerializableError.builder()
+                            .errorCode(errorCode)
+                            .errorName(errorName)
+                            .errorInstanceId(errorInstanceId)
+                            .build())
+                    .build();
+        }
+        SerializedError serializedError = serializedErrors.computeIfAbsent(
+                List.of(errorCode, errorName), _key -> SerializedError.of(errorCode, errorName));
+        return Response.status(httpErrorCode)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(serializedError.withErrorInstanceId(errorInstanceId))
+                .build();
+    }
+
+    private static final class LogWindow {
+        private final Meter suppressed;
+        private final AtomicLong nextLogNanos = new AtomicLong(System.nanoTime());
+        private final LongAdder suppressedSinceLastLog = new LongAdder();
+
+        LogWindow(Meter suppressed) {
+            this.suppressed = suppressed;
+        }
+
+        /**
+         * Returns the number of occurrences suppressed since the previous log line if this occurrence may be logged,
+         * or -1 if it must be suppressed.
+         */
+        long tryLog(long intervalNanos) {
+            long now = System.nanoTime();
+            long next = nextLogNanos.get();
+            if (now - next >= 0 && nextLogNanos.compareAndSet(next, now + intervalNanos)) {
+                return suppressedSinceLastLog.sumThenReset();
+            }
+            suppressedSinceLastLog.increment();
+            suppressed.mark();
+            return -1;
+        }
+    }
+
+    /** The JSON of a {@link SerializableError} without parameters, split around its error instance id. */
+    private static final class SerializedError {
+        private final byte[] prefix;
+        private final byte[] suffix;
+
+        private SerializedError(byte[] prefix, byte[] suffix) {
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        static SerializedError of(String errorCode, String errorName) {
+            String json;
+            try {
+                json = MAPPER.writeValueAsString(SerializableError.builder()
+                        .errorCode(errorCode)
+                        .errorName(errorName)
+                        .errorInstanceId(ERROR_INSTANCE_ID_PLACEHOLDER)
+                        .build());
+            } catch (JsonProcessingException e) {
+                throw new SafeIllegalStateException("Failed to serialize error", e, SafeArg.of("errorName", errorName));
+            }
+            int index = json.indexOf(ERROR_INSTANCE_ID_PLACEHOLDER);
+            return new SerializedError(
+                    json.substring(0, index).getBytes(StandardCharsets.UTF_8),
+                    json.substring(index + ERROR_INSTANCE_ID_PLACEHOLDER.length())
+                            .getBytes(StandardCharsets.UTF_8));
+        }
+
+        byte[] withErrorInstanceId(String errorInstanceId) {
+            byte[] id = errorInstanceId.getBytes(StandardCharsets.UTF_8);
+            byte[] body = new byte[prefix.length + id.length + suffix.length];
+            System.arraycopy(prefix, 0, body, 0, prefix.length);
+            System.arraycopy(id, 0, body, prefix.length, id.length);
+            System.arraycopy(suffix, 0, body, prefix.length + id.length, suffix.length);
+            return body;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.tracing.Tracers;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.CompletionCallback;
+import javax.ws.rs.container.ConnectionCallback;
+import javax.ws.rs.core.GenericEntity;
+import javax.ws.rs.core.Response;
+import org.glassfish.jersey.server.AsyncContext;
+import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.spi.internal.ResourceMethodInvocationHandlerProvider;
+
+/**
+ * Lets resource methods return a {@link ListenableFuture} or {@link CompletionStage}, such as a
+ * {@link CompletableFuture}, without blocking a server thread while it is pending.
+ *
+ * <p>Jersey suspends requests whose resource method returns an incomplete {@link CompletionStage}, and resumes them
+ * once it completes: with its value, or with its failure which is then handled by the usual exception mappers. This
+ * adapts both kinds of futures to that mechanism. The stage handed to Jersey is completed with the trace of the
+ * request, so that response filters and exception mappers see the same trace as for synchronous methods. Values are
+ * wrapped in {@link GenericEntity GenericEntities} of the future's type argument, so they are written exactly like
+ * the return values of synchronous methods, e.g. absent {@link java.util.Optional Optionals} become 204 responses.
+ * Futures which are already done when the resource method returns are handled synchronously.
+ *
+ * <p>Pending futures are cancelled, without interrupting, on a best-effort basis once the request can no longer
+ * receive their result: when Jersey reports that the client disconnected, or when the request completed without
+ * them, e.g. because it timed out or was cancelled. Servlet containers generally only notice a disconnect once the
+ * response is written, so a future may well run to completion after its client went away.
+ */
+final class FutureInvocationHandlerProvider implements ResourceMethodInvocationHandlerProvider {
+
+    private final Provider<AsyncContext> asyncContext;
+
+    @Inject
+    FutureInvocationHandlerProvider(Provider<AsyncContext> asyncContext) {
+        this.asyncContext = asyncContext;
+    }
+
+    @Nullable
+    @Override
+    public InvocationHandler create(Invocable invocable) {
+        Method method = invocable.getDefinitionMethod();
+        Class<?> returnType = method.getReturnType();
+        if (!ListenableFuture.class.isAssignableFrom(returnType)
+                && !CompletionStage.class.isAssignableFrom(returnType)) {
+            return null;
+        }
+        Type genericReturnType = method.getGenericReturnType();
+        Type entityType = genericReturnType instanceof ParameterizedType
+                ? ((ParameterizedType) genericReturnType).getActualTypeArguments()[0]
+                : null;
+        return (resource, handlingMethod, args) -> bridge(handlingMethod.invoke(resource, args), entityType);
+    }
+
+    @Nullable
+    private Object bridge(@Nullable Object result, @Nullable Type entityType) throws InvocationTargetException {
+        CompletableFuture<Response> bridged = new CompletableFuture<>();
+        if (result instanceof ListenableFuture) {
+            ListenableFuture<?> future = (ListenableFuture<?>) result;
+            if (future.isDone()) {
+                complete(bridged, future, entityType);
+                return getDone(bridged);
+            }
+            future.addListener(
+                    Tracers.wrap(() -> complete(bridged, future, entityType)), MoreExecutors.directExecutor());
+            cancelOnDisconnect(bridged, future);
+        } else if (result instanceof CompletionStage) {
+            CompletableFuture<?> future = ((CompletionStage<?>) result).toCompletableFuture();
+            if (future.isDone()) {
+                complete(bridged, future, entityType);
+                return getDone(bridged);
+            }
+            Runnable complete = Tracers.wrap(() -> complete(bridged, future, entityType));
+            future.whenComplete((_value, _throwable) -> complete.run());
+            cancelOnDisconnect(bridged, future);
+        } else {
+            // Leave null futures to Jersey, like any other null return value
+            return result;
+        }
+        return bridged;
+    }
+
+    private void cancelOnDisconnect(CompletableFuture<Response> bridged, Future<?> future) {
+        bridged.whenComplete((_response, _throwable) -> {
+            if (bridged.isCancelled()) {
+                future.cancel(false);
+            }
+        });
+        asyncContext.get().register(new CancellingCallback(bridged));
+    }
+
+    /** Returns the response of a done future, or throws its failure as if the resource method had thrown it. */
+    private static Response getDone(CompletableFuture<Response> bridged) throws InvocationTargetException {
+        try {
+            return bridged.join();
+        } catch (CompletionException e) {
+            throw new InvocationTargetException(e.getCause());
+        } catch (CancellationException e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private static void complete(
+            CompletableFuture<Response> bridged, ListenableFuture<?> future, @Nullable Type entityType) {
+        try {
+            bridged.complete(response(Futures.getDone(future), entityType));
+        } catch (ExecutionException e) {
+            bridged.completeExceptionally(e.getCause());
+        } catch (RuntimeException e) {
+            bridged.completeExceptionally(e);
+        }
+    }
+
+    private static void complete(
+            CompletableFuture<Response> bridged, CompletableFuture<?> future, @Nullable Type entityType) {
+        try {
+            bridged.complete(response(future.join(), entityType));
+        } catch (CompletionException e) {
+            bridged.completeExceptionally(e.getCause() != null ? e.getCause() : e);
+        } catch (RuntimeException e) {
+            bridged.completeExceptionally(e);
+        }
+    }
+
+    private static Response response(@Nullable Object value, @Nullable Type entityType) {
+        if (value == null) {
+            return Response.noContent().build();
+        } else if (value instanceof Response) {
+            return (Response) value;
+        }
+        return Response.ok(new GenericEntity<>(value, entityType != null ? entityType : value.getClass()))
+                .build();
+    }
+
+    /**
+     * Cancels the future handed to Jersey once the request is over. Completion callbacks also run after the future
+     * completed normally, in which case cancelling it has no effect.
+     */
+    private static final class CancellingCallback implements CompletionCallback, ConnectionCallback {
+        private final CompletableFuture<Response> bridged;
+
+        CancellingCallback(CompletableFuture<Response> bridged) {
+            this.bridged = bridged;
+        }
+
+        @Override
+        public void onComplete(@Nullable Throwable _throwable) {
+            bridged.cancel(false);
+        }
+
+        @Override
+        public void onDisconnect(AsyncResponse _disconnected) {
+            bridged.cancel(false);
+        }
+    }
+}
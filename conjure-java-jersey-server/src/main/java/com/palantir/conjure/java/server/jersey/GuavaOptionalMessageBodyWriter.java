@@ -54,6 +54,8 @@ public final class GuavaOptionalMessageBodyWriter implements MessageBodyWriter<c
     @Inject
     private javax.inject.Provider<MessageBodyWorkers> mbw;
 
+    private final DelegateMessageBodyWriters delegates = new DelegateMessageBodyWriters();
+
     // Jersey ignores this
     @Override
     public long getSize(
@@ -90,7 +92,7 @@ public final class GuavaOptionalMessageBodyWriter implements MessageBodyWriter<c
                 : entity.get().getClass();
 
         MessageBodyWriter writer =
-                mbw.get().getMessageBodyWriter(entity.get().getClass(), innerGenericType, annotations, mediaType);
+                delegates.get(mbw, entity.get().getClass(), innerGenericType, annotations, mediaType);
 
         writer.writeTo(
                 entity.get(),
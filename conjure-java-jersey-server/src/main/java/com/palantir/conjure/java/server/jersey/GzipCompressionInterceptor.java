@@ -0,0 +1,245 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Timer;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.io.CountingOutputStream;
+import com.jcraft.jzlib.Deflater;
+import com.jcraft.jzlib.GZIPOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+/**
+ * Gzip-compresses response bodies of requests that accept it. The response filter decides whether a response is
+ * eligible based on the request's {@code Accept-Encoding} header; the writer interceptor then buffers up to
+ * {@link GzipCompression#minimumSizeBytes} of the body, and only switches to streaming compression once the body
+ * turns out to be at least that long.
+ */
+@Priority(Priorities.ENTITY_CODER)
+final class GzipCompressionInterceptor implements ContainerResponseFilter, WriterInterceptor {
+
+    private static final String COMPRESS_PROPERTY = GzipCompressionInterceptor.class.getName() + ".compress";
+    private static final String GZIP = "gzip";
+    private static final int DEFLATE_WINDOW_BITS = 15;
+    private static final int GZIP_WRAPPER_BITS = 16;
+    private static final int BUFFER_SIZE = 8192;
+    private static final ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+
+    private final int level;
+    private final int minimumSizeBytes;
+    private final Histogram ratio;
+    private final Timer cpuTime;
+
+    GzipCompressionInterceptor(GzipCompression config) {
+        JerseyServerCompressionMetrics metrics = JerseyServerCompressionMetrics.of(config.taggedMetricRegistry());
+        this.level = config.level();
+        this.minimumSizeBytes = config.minimumSizeBytes();
+        this.ratio = metrics.gzipRatio();
+        this.cpuTime = metrics.gzipCpuTime();
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        if (!responseContext.hasEntity() || responseContext.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return;
+        }
+        responseContext.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(requestContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING))) {
+            requestContext.setProperty(COMPRESS_PROPERTY, Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        if (context.getProperty(COMPRESS_PROPERTY) == null) {
+            context.proceed();
+            return;
+        }
+        CompressingOutputStream compressing =
+                new CompressingOutputStream(context.getOutputStream(), context.getHeaders());
+        context.setOutputStream(compressing);
+        try {
+            context.proceed();
+            compressing.finish();
+        } finally {
+            compressing.release();
+        }
+    }
+
+    /**
+     * Returns true if the given {@code Accept-Encoding} header value allows a gzip-encoded response. An explicit
+     * {@code gzip} coding takes precedence over the {@code *} wildcard, as per RFC 7231 section 5.3.4.
+     */
+    @VisibleForTesting
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzipQuality = -1;
+        double wildcardQuality = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (name.equals(GZIP)) {
+                gzipQuality = Math.max(gzipQuality, qualityOf(parts));
+            } else if (name.equals("*")) {
+                wildcardQuality = Math.max(wildcardQuality, qualityOf(parts));
+            }
+        }
+        return (gzipQuality >= 0 ? gzipQuality : wildcardQuality) > 0;
+    }
+
+    private static double qualityOf(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /** Buffers the start of the body until it is known to be long enough to be worth compressing. */
+    private final class CompressingOutputStream extends OutputStream {
+        private final OutputStream delegate;
+        private final MultivaluedMap<String, Object> headers;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream(minimumSizeBytes);
+        private CountingOutputStream compressedBytes;
+        private Deflater deflater;
+        private GZIPOutputStream gzip;
+        private long uncompressedBytes;
+        private long compressionStartCpuNanos = -1;
+        private boolean finished;
+
+        CompressingOutputStream(OutputStream delegate, MultivaluedMap<String, Object> headers) {
+            this.delegate = delegate;
+            this.headers = headers;
+        }
+
+        @Override
+        public void write(int value) throws IOException {
+            write(new byte[] {(byte) value}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int off, int len) throws IOException {
+            if (gzip == null) {
+                if (buffer.size() + len < minimumSizeBytes) {
+                    buffer.write(bytes, off, len);
+                    return;
+                }
+                startCompression();
+            }
+            compress(bytes, off, len);
+        }
+
+        /**
+         * Flushes are deferred while buffering, since flushing would commit to sending the body uncompressed. Once
+         * compressing, a flush ends the current deflate block so that the client can decode everything written so far.
+         */
+        @Override
+        public void flush() throws IOException {
+            if (gzip != null) {
+                gzip.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                finish();
+            } finally {
+                release();
+            }
+            delegate.close();
+        }
+
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (gzip == null) {
+                buffer.writeTo(delegate);
+                buffer = null;
+                return;
+            }
+            gzip.close();
+            if (compressionStartCpuNanos >= 0) {
+                cpuTime.update(threadMxBean.getCurrentThreadCpuTime() - compressionStartCpuNanos, TimeUnit.NANOSECONDS);
+            }
+            if (uncompressedBytes > 0) {
+                ratio.update(compressedBytes.getCount() * 100 / uncompressedBytes);
+            }
+        }
+
+        /**
+         * Releases the deflater, which the gzip stream does not end since it did not create it. Also called when
+         * writing the body failed, in which case the response is abandoned without being finished.
+         */
+        void release() {
+            finished = true;
+            if (deflater != null) {
+                deflater.end();
+                deflater = null;
+            }
+        }
+
+        private void startCompression() throws IOException {
+            // Nothing has been written to the delegate yet, so the response headers are still mutable.
+            headers.putSingle(HttpHeaders.CONTENT_ENCODING, GZIP);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            compressedBytes = new CountingOutputStream(delegate);
+            deflater = new Deflater(level, DEFLATE_WINDOW_BITS + GZIP_WRAPPER_BITS);
+            gzip = new GZIPOutputStream(compressedBytes, deflater, BUFFER_SIZE, false);
+            // Explicit flushes, such as those between streamed elements, must send everything compressed so far
+            gzip.setSyncFlush(true);
+            // Thread CPU time is read once here and once when finishing, rather than around every write
+            if (threadMxBean.isCurrentThreadCpuTimeSupported() && threadMxBean.isThreadCpuTimeEnabled()) {
+                compressionStartCpuNanos = threadMxBean.getCurrentThreadCpuTime();
+            }
+            byte[] buffered = buffer.toByteArray();
+            buffer = null;
+            compress(buffered, 0, buffered.length);
+        }
+
+        private void compress(byte[] bytes, int off, int len) throws IOException {
+            gzip.write(bytes, off, len);
+            uncompressedBytes += len;
+        }
+    }
+}
@@ -22,8 +22,8 @@ import javax.ws.rs.ext.Provider;
 @Provider
 final class IllegalArgumentExceptionMapper extends JsonExceptionMapper<IllegalArgumentException> {
 
-    IllegalArgumentExceptionMapper(ConjureJerseyFeature.ExceptionListener listener) {
-        super(listener);
+    IllegalArgumentExceptionMapper(ConjureJerseyFeature.ExceptionListener listener, ErrorResponses errors) {
+        super(listener, errors);
     }
 
     @Override
@@ -30,20 +30,21 @@ final class JacksonExceptionMappers {
 
     private static final int HIGH_PRIORITY = 500;
 
-    static void configure(FeatureContext context, ConjureJerseyFeature.ExceptionListener exceptionListener) {
-        context.register(new InvalidDefinitionExceptionMapper(exceptionListener));
-        context.register(new JsonGenerationExceptionMapper(exceptionListener));
-        context.register(new JsonMappingExceptionMapper(exceptionListener));
-        context.register(new JsonProcessingExceptionMapper(exceptionListener));
-        context.register(new JsonParseExceptionMapper(exceptionListener));
+    static void configure(
+            FeatureContext context, ConjureJerseyFeature.ExceptionListener exceptionListener, ErrorResponses errors) {
+        context.register(new InvalidDefinitionExceptionMapper(exceptionListener, errors));
+        context.register(new JsonGenerationExceptionMapper(exceptionListener, errors));
+        context.register(new JsonMappingExceptionMapper(exceptionListener, errors));
+        context.register(new JsonProcessingExceptionMapper(exceptionListener, errors));
+        context.register(new JsonParseExceptionMapper(exceptionListener, errors));
     }
 
     @Provider
     @Priority(HIGH_PRIORITY) // Must be prioritized over com.fasterxml.jackson.jaxrs.base.JsonMappingExceptionMapper
     static final class JsonMappingExceptionMapper extends JsonExceptionMapper<JsonMappingException> {
 
-        JsonMappingExceptionMapper(ConjureJerseyFeature.ExceptionListener listener) {
-            super(listener);
+        JsonMappingExceptionMapper(ConjureJerseyFeature.ExceptionListener listener, ErrorResponses errors) {
+            super(listener, errors);
         }
 
         @Override
@@ -56,8 +57,8 @@ final class JacksonExceptionMappers {
     @Priority(HIGH_PRIORITY) // Higher priority to avoid interaction with potential future builtin mappers
     static final class InvalidDefinitionExceptionMapper extends JsonExceptionMapper<InvalidDefinitionException> {
 
-        InvalidDefinitionExceptionMapper(ConjureJerseyFeature.ExceptionListener listener) {
-            super(listener);
+        InvalidDefinitionExceptionMapper(ConjureJerseyFeature.ExceptionListener listener, ErrorResponses errors) {
+            super(listener, errors);
         }
 
         @Override
@@ -70,8 +71,8 @@ final class JacksonExceptionMappers {
     @Priority(HIGH_PRIORITY) // Higher priority to avoid interaction with potential future builtin mappers
     static final class JsonGenerationExceptionMapper extends JsonExceptionMapper<JsonGenerationException> {
 
-        JsonGenerationExceptionMapper(ConjureJerseyFeature.ExceptionListener listener) {
-            super(listener);
+        JsonGenerationExceptionMapper(ConjureJerseyFeature.ExceptionListener listener, ErrorResponses errors) {
+            super(listener, errors);
         }
 
         @Override
@@ -83,8 +84,8 @@ final class JacksonExceptionMappers {
     @Provider
     @Priority(HIGH_PRIORITY) // Higher priority to avoid interaction with potential future builtin mappers
     static final class JsonProcessingExceptionMapper extends JsonExceptionMapper<JsonProcessingException> {
-        JsonProcessingExceptionMapper(ConjureJerseyFeature.ExceptionListener listener) {
-            super(listener);
+        JsonProcessingExceptionMapper(ConjureJerseyFeature.ExceptionListener listener, ErrorResponses errors) {
+            super(listener, errors);
         }
 
         @Override
@@ -97,8 +98,8 @@ final class JacksonExceptionMappers {
     @Priority(HIGH_PRIORITY) // Must be prioritized over com.fasterxml.jackson.jaxrs.base.JsonParseExceptionMapper
     static final class JsonParseExceptionMapper extends JsonExceptionMapper<JsonParseException> {
 
-        JsonParseExceptionMapper(ConjureJerseyFeature.ExceptionListener listener) {
-            super(listener);
+        JsonParseExceptionMapper(ConjureJerseyFeature.ExceptionListener listener, ErrorResponses errors) {
+            super(listener, errors);
         }
 
         @Override
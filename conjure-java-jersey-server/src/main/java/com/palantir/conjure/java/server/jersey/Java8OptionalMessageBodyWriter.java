@@ -38,6 +38,8 @@ public final class Java8OptionalMessageBodyWriter implements MessageBodyWriter<O
     @Inject
     private javax.inject.Provider<MessageBodyWorkers> mbw;
 
+    private final DelegateMessageBodyWriters delegates = new DelegateMessageBodyWriters();
+
     // Jersey ignores this
     @Override
     public long getSize(
@@ -70,7 +72,7 @@ public final class Java8OptionalMessageBodyWriter implements MessageBodyWriter<O
                 : entity.get().getClass();
 
         MessageBodyWriter writer =
-                mbw.get().getMessageBodyWriter(entity.get().getClass(), innerGenericType, annotations, mediaType);
+                delegates.get(mbw, entity.get().getClass(), innerGenericType, annotations, mediaType);
 
         writer.writeTo(
                 entity.get(),
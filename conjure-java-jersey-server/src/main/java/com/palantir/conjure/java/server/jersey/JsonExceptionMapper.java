@@ -18,8 +18,6 @@ package com.palantir.conjure.java.server.jersey;
 
 import com.palantir.conjure.java.api.errors.ErrorType;
 import com.palantir.conjure.java.api.errors.SerializableError;
-import com.palantir.logsafe.SafeArg;
-import java.util.UUID;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.ext.ExceptionMapper;
@@ -43,8 +41,11 @@ abstract class JsonExceptionMapper<T extends Throwable> extends ListenableExcept
 
     private static final Logger log = LoggerFactory.getLogger(JsonExceptionMapper.class);
 
-    JsonExceptionMapper(ConjureJerseyFeature.ExceptionListener listener) {
+    private final ErrorResponses errors;
+
+    JsonExceptionMapper(ConjureJerseyFeature.ExceptionListener listener, ErrorResponses errors) {
         super(listener);
+        this.errors = errors;
     }
 
     /** Returns the {@link ErrorType} that this exception corresponds to. */
@@ -52,38 +53,9 @@ abstract class JsonExceptionMapper<T extends Throwable> extends ListenableExcept
 
     @Override
     public final Response toResponseInner(T exception) {
-        String errorInstanceId = UUID.randomUUID().toString();
+        String errorInstanceId = ErrorResponses.newErrorInstanceId();
         ErrorType errorType = getErrorType(exception);
-
-        if (errorType.httpErrorCode() / 100 == 4 /* client error */) {
-            log.info(
-                    "Error handling request",
-                    SafeArg.of("errorInstanceId", errorInstanceId),
-                    SafeArg.of("errorName", errorType.name()),
-                    exception);
-        } else {
-            log.error(
-                    "Error handling request",
-                    SafeArg.of("errorInstanceId", errorInstanceId),
-                    SafeArg.of("errorName", errorType.name()),
-                    exception);
-        }
-
-        return createResponse(errorType, errorInstanceId);
-    }
-
-    static Response createResponse(ErrorType errorType, String errorInstanceId) {
-        return createResponse(errorType.httpErrorCode(), errorType.code().name(), errorType.name(), errorInstanceId);
-    }
-
-    static Response createResponse(int httpErrorCode, String errorCode, String errorName, String errorInstanceId) {
-        return Response.status(httpErrorCode)
-                .type(MediaType.APPLICATION_JSON)
-                .entity(SerializableError.builder()
-                        .errorCode(errorCode)
-                        .errorName(errorName)
-                        .errorInstanceId(errorInstanceId)
-                        .build())
-                .build();
+        errors.log(log, errorType.httpErrorCode(), errorType.name(), errorInstanceId, exception);
+        return errors.response(errorType, errorInstanceId);
     }
 }
@@ -0,0 +1,121 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import com.palantir.conjure.java.api.errors.ErrorType;
+import com.palantir.conjure.java.api.errors.ServiceException;
+import com.palantir.logsafe.SafeArg;
+import java.time.Duration;
+import java.util.Optional;
+import javax.ws.rs.container.ContainerRequestContext;
+
+/**
+ * Exposes the deadline propagated by the caller of the request currently being handled on this thread, allowing
+ * long-running resource methods to give up on work whose result can no longer be used.
+ *
+ * <p>Deadlines are read from the {@value #HEADER} request header by the {@link ConjureJerseyFeature} when
+ * {@link ConjureJerseyFeature.Builder#requestDeadlines enabled}, and are stored both in a thread-local, read by
+ * {@link #remaining()}, and in a property of the request, read by {@link #remaining(ContainerRequestContext)}. The
+ * thread-local is only set on the thread which invokes the resource method, so asynchronous resources (returning a
+ * {@code CompletableFuture} or {@code ListenableFuture}, or using {@link javax.ws.rs.container.Suspended @Suspended})
+ * must either capture the deadline before handing off work, or inject the {@link javax.ws.rs.core.Context @Context}
+ * {@link ContainerRequestContext} and read the deadline from it.
+ */
+public final class RequestDeadlines {
+
+    /** Number of milliseconds the caller is still willing to wait for a response. */
+    public static final String HEADER = "X-Request-Deadline-Millis";
+
+    private static final String PROPERTY = RequestDeadlines.class.getName() + ".deadline";
+
+    private static final ThreadLocal<Deadline> currentDeadline = new ThreadLocal<>();
+
+    private RequestDeadlines() {}
+
+    /**
+     * Returns the time remaining before the caller gives up on the request handled by the current thread, or
+     * {@link Optional#empty} if the caller did not supply a deadline. The returned duration is negative once the
+     * deadline has passed.
+     */
+    public static Optional<Duration> remaining() {
+        return remaining(currentDeadline.get());
+    }
+
+    /**
+     * Returns the time remaining before the caller gives up on the given request, or {@link Optional#empty} if the
+     * caller did not supply a deadline. Unlike {@link #remaining()}, this may be called from any thread.
+     */
+    public static Optional<Duration> remaining(ContainerRequestContext requestContext) {
+        return remaining(get(requestContext));
+    }
+
+    /** Throws a {@link ErrorType#TIMEOUT} {@link ServiceException} if the deadline of the current request passed. */
+    public static void checkNotExpired() {
+        checkNotExpired(remaining());
+    }
+
+    /** Throws a {@link ErrorType#TIMEOUT} {@link ServiceException} if the deadline of the given request passed. */
+    public static void checkNotExpired(ContainerRequestContext requestContext) {
+        checkNotExpired(remaining(requestContext));
+    }
+
+    static void set(ContainerRequestContext requestContext, Duration remaining) {
+        Deadline deadline = new Deadline(System.nanoTime() + remaining.toNanos());
+        requestContext.setProperty(PROPERTY, deadline);
+        currentDeadline.set(deadline);
+    }
+
+    /** Clears the deadline of the current thread, unless it belongs to a request other than the given one. */
+    static void clear(ContainerRequestContext requestContext) {
+        Deadline deadline = currentDeadline.get();
+        if (deadline != null && deadline == get(requestContext)) {
+            currentDeadline.remove();
+        }
+    }
+
+    static void clear() {
+        currentDeadline.remove();
+    }
+
+    private static Deadline get(ContainerRequestContext requestContext) {
+        Object deadline = requestContext.getProperty(PROPERTY);
+        return deadline instanceof Deadline ? (Deadline) deadline : null;
+    }
+
+    private static Optional<Duration> remaining(Deadline deadline) {
+        if (deadline == null) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofNanos(deadline.nanos - System.nanoTime()));
+    }
+
+    private static void checkNotExpired(Optional<Duration> remaining) {
+        if (remaining.isPresent() && (remaining.get().isNegative() || remaining.get().isZero())) {
+            throw new ServiceException(
+                    ErrorType.TIMEOUT, SafeArg.of("exceededByMillis", remaining.get().negated().toMillis()));
+        }
+    }
+
+    /** A distinct instance per request, so that a thread only clears the deadline it was given. */
+    private static final class Deadline {
+        private final long nanos;
+
+        Deadline(long nanos) {
+            this.nanos = nanos;
+        }
+    }
+}
@@ -23,8 +23,8 @@ import javax.ws.rs.ext.Provider;
 @Provider
 final class RetryableExceptionMapper extends JsonExceptionMapper<RetryableException> {
 
-    RetryableExceptionMapper(ConjureJerseyFeature.ExceptionListener listener) {
-        super(listener);
+    RetryableExceptionMapper(ConjureJerseyFeature.ExceptionListener listener, ErrorResponses errors) {
+        super(listener, errors);
     }
 
     @Override
@@ -22,8 +22,8 @@ import javax.ws.rs.ext.Provider;
 @Provider
 final class RuntimeExceptionMapper extends JsonExceptionMapper<RuntimeException> {
 
-    RuntimeExceptionMapper(ConjureJerseyFeature.ExceptionListener listener) {
-        super(listener);
+    RuntimeExceptionMapper(ConjureJerseyFeature.ExceptionListener listener, ErrorResponses errors) {
+        super(listener, errors);
     }
 
     @Override
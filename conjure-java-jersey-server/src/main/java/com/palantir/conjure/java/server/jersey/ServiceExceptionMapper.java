@@ -18,7 +18,6 @@ package com.palantir.conjure.java.server.jersey;
 
 import com.palantir.conjure.java.api.errors.SerializableError;
 import com.palantir.conjure.java.api.errors.ServiceException;
-import com.palantir.logsafe.SafeArg;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import org.slf4j.Logger;
@@ -33,26 +32,17 @@ final class ServiceExceptionMapper extends ListenableExceptionMapper<ServiceExce
 
     private static final Logger log = LoggerFactory.getLogger(ServiceExceptionMapper.class);
 
-    ServiceExceptionMapper(ConjureJerseyFeature.ExceptionListener listener) {
+    private final ErrorResponses errors;
+
+    ServiceExceptionMapper(ConjureJerseyFeature.ExceptionListener listener, ErrorResponses errors) {
         super(listener);
+        this.errors = errors;
     }
 
     @Override
     public Response toResponseInner(ServiceException exception) {
         int httpStatus = exception.getErrorType().httpErrorCode();
-        if (httpStatus / 100 == 4 /* client error */) {
-            log.info(
-                    "Error handling request",
-                    SafeArg.of("errorInstanceId", exception.getErrorInstanceId()),
-                    SafeArg.of("errorName", exception.getErrorType().name()),
-                    exception);
-        } else {
-            log.error(
-                    "Error handling request",
-                    SafeArg.of("errorInstanceId", exception.getErrorInstanceId()),
-                    SafeArg.of("errorName", exception.getErrorType().name()),
-                    exception);
-        }
+        errors.log(log, httpStatus, exception.getErrorType().name(), exception.getErrorInstanceId(), exception);
 
         return Response.status(httpStatus)
                 .type(MediaType.APPLICATION_JSON)
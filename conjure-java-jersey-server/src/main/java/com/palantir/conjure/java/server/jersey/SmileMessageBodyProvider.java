@@ -0,0 +1,138 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Reads and writes {@code application/x-jackson-smile} entities, the binary encoding of JSON which is smaller and
+ * faster to parse. Resources opt in by listing the media type in their {@link Consumes} and {@link Produces}
+ * annotations, in which case Jersey picks it for clients which prefer it in their {@code Accept} header. Jackson
+ * readers and writers are bound to each entity type once.
+ */
+@Provider
+@Consumes(SmileMessageBodyProvider.MIME_TYPE)
+@Produces(SmileMessageBodyProvider.MIME_TYPE)
+final class SmileMessageBodyProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+
+    static final String MIME_TYPE = "application/x-jackson-smile";
+
+    /** Types which Jersey handles itself regardless of the media type, as in the Jackson JAX-RS providers. */
+    private static final List<Class<?>> UNTOUCHABLES = List.of(
+            InputStream.class,
+            Reader.class,
+            OutputStream.class,
+            Writer.class,
+            String.class,
+            byte[].class,
+            char[].class,
+            StreamingOutput.class,
+            Response.class);
+
+    private final ObjectMapper smileMapper;
+    private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    SmileMessageBodyProvider(ObjectMapper smileMapper) {
+        this.smileMapper = smileMapper;
+    }
+
+    @Override
+    public boolean isReadable(Class<?> type, Type _genericType, Annotation[] _annotations, MediaType mediaType) {
+        return isSmile(mediaType) && !isUntouchable(type);
+    }
+
+    @Override
+    public Object readFrom(
+            Class<Object> _type,
+            Type genericType,
+            Annotation[] _annotations,
+            MediaType _mediaType,
+            MultivaluedMap<String, String> _httpHeaders,
+            InputStream entityStream)
+            throws IOException {
+        ObjectReader reader = readers.computeIfAbsent(genericType, type -> smileMapper
+                .readerFor(smileMapper.constructType(type))
+                .without(JsonParser.Feature.AUTO_CLOSE_SOURCE));
+        try (JsonParser parser = reader.createParser(entityStream)) {
+            // Empty bodies are read as null, like the JSON provider does
+            if (parser.nextToken() == null) {
+                return null;
+            }
+            return reader.readValue(parser);
+        }
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type _genericType, Annotation[] _annotations, MediaType mediaType) {
+        return isSmile(mediaType) && !isUntouchable(type);
+    }
+
+    @Override
+    public void writeTo(
+            Object value,
+            Class<?> _type,
+            Type genericType,
+            Annotation[] _annotations,
+            MediaType _mediaType,
+            MultivaluedMap<String, Object> _httpHeaders,
+            OutputStream entityStream)
+            throws IOException {
+        ObjectWriter writer = writers.computeIfAbsent(genericType, type -> smileMapper
+                .writerFor(smileMapper.constructType(type))
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+        writer.writeValue(entityStream, value);
+    }
+
+    private static boolean isSmile(MediaType mediaType) {
+        return mediaType != null
+                && "application".equalsIgnoreCase(mediaType.getType())
+                && "x-jackson-smile".equalsIgnoreCase(mediaType.getSubtype());
+    }
+
+    private static boolean isUntouchable(Class<?> type) {
+        for (Class<?> untouchable : UNTOUCHABLES) {
+            if (untouchable.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Writes {@link Stream} and {@link Iterator} return values as a JSON, CBOR or Smile array one element at a time, so
+ * that resources can return arbitrarily large results without building a {@link java.util.List} first. The output is
+ * flushed every {@value #FLUSH_INTERVAL} elements so that clients can start consuming the array before it is complete.
+ *
+ * <p>The stream, or the iterator if it is {@link AutoCloseable}, is always closed once written, including when the
+ * write fails because the client disconnected.
+ */
+@Provider
+@Produces({MediaType.APPLICATION_JSON, "application/cbor", SmileMessageBodyProvider.MIME_TYPE})
+final class StreamingMessageBodyWriter implements MessageBodyWriter<Object> {
+
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+    private final ObjectMapper smileMapper;
+    private final ConcurrentMap<Type, ObjectWriter> jsonWriters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Type, ObjectWriter> cborWriters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Type, ObjectWriter> smileWriters = new ConcurrentHashMap<>();
+
+    StreamingMessageBodyWriter(ObjectMapper jsonMapper, ObjectMapper cborMapper, ObjectMapper smileMapper) {
+        this.jsonMapper = jsonMapper;
+        this.cborMapper = cborMapper;
+        this.smileMapper = smileMapper;
+    }
+
+    // Jersey ignores this
+    @Override
+    public long getSize(
+            Object _entity, Class<?> _type, Type _genericType, Annotation[] _annotations, MediaType _mediaType) {
+        return -1;
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type _genericType, Annotation[] _annotations, MediaType mediaType) {
+        return (Stream.class.isAssignableFrom(type) || Iterator.class.isAssignableFrom(type))
+                && mapper(mediaType) != null;
+    }
+
+    @Override
+    public void writeTo(
+            Object entity,
+            Class<?> _type,
+            Type genericType,
+            Annotation[] _annotations,
+            MediaType mediaType,
+            MultivaluedMap<String, Object> _httpHeaders,
+            OutputStream entityStream)
+            throws IOException {
+        try {
+            write(entity, genericType, mediaType, entityStream);
+        } catch (IOException | RuntimeException | Error e) {
+            // Don't let a failure to close the entity mask the failure to write it
+            try {
+                close(entity);
+            } catch (IOException | RuntimeException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
+        close(entity);
+    }
+
+    private void write(Object entity, Type genericType, MediaType mediaType, OutputStream entityStream)
+            throws IOException {
+        ObjectMapper mapper = mapper(mediaType);
+        ObjectWriter writer = writers(mapper).computeIfAbsent(elementType(genericType), type -> mapper
+                .writerFor(mapper.constructType(type))
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+        try (JsonGenerator generator = mapper.getFactory()
+                .createGenerator(entityStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            Iterator<?> elements = entity instanceof Stream ? ((Stream<?>) entity).iterator() : (Iterator<?>) entity;
+            generator.writeStartArray();
+            int count = 0;
+            while (elements.hasNext()) {
+                writer.writeValue(generator, elements.next());
+                if (++count % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    @Nullable
+    private ObjectMapper mapper(@Nullable MediaType mediaType) {
+        if (mediaType == null || !"application".equalsIgnoreCase(mediaType.getType())) {
+            return null;
+        }
+        String subtype = mediaType.getSubtype();
+        if ("json".equalsIgnoreCase(subtype)) {
+            return jsonMapper;
+        } else if ("cbor".equalsIgnoreCase(subtype)) {
+            return cborMapper;
+        } else if ("x-jackson-smile".equalsIgnoreCase(subtype)) {
+            return smileMapper;
+        }
+        return null;
+    }
+
+    private ConcurrentMap<Type, ObjectWriter> writers(ObjectMapper mapper) {
+        if (mapper == cborMapper) {
+            return cborWriters;
+        } else if (mapper == smileMapper) {
+            return smileWriters;
+        }
+        return jsonWriters;
+    }
+
+    private static Type elementType(Type genericType) {
+        return genericType instanceof ParameterizedType
+                ? ((ParameterizedType) genericType).getActualTypeArguments()[0]
+                : Object.class;
+    }
+
+    private static void close(Object entity) throws IOException {
+        try {
+            if (entity instanceof AutoCloseable) {
+                ((AutoCloseable) entity).close();
+            }
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to close streamed entity", e);
+        }
+    }
+}
@@ -22,8 +22,8 @@ import javax.ws.rs.ext.Provider;
 @Provider
 final class ThrowableExceptionMapper extends JsonExceptionMapper<Throwable> {
 
-    ThrowableExceptionMapper(ConjureJerseyFeature.ExceptionListener listener) {
-        super(listener);
+    ThrowableExceptionMapper(ConjureJerseyFeature.ExceptionListener listener, ErrorResponses errors) {
+        super(listener, errors);
     }
 
     @Override
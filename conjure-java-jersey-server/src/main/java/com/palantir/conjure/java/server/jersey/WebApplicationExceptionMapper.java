@@ -16,10 +16,10 @@
 
 package com.palantir.conjure.java.server.jersey;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.palantir.conjure.java.api.errors.ErrorType;
 import com.palantir.conjure.java.api.errors.ServiceException;
-import com.palantir.logsafe.SafeArg;
-import java.util.UUID;
+import javax.annotation.Nullable;
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.ForbiddenException;
 import javax.ws.rs.NotAuthorizedException;
@@ -42,39 +42,51 @@ import org.slf4j.LoggerFactory;
 @Provider
 final class WebApplicationExceptionMapper extends ListenableExceptionMapper<WebApplicationException> {
 
-    private static final Logger log = LoggerFactory.getLogger(WebApplicationExceptionMapper.class);
+    private final Logger log;
+    private final ErrorResponses errors;
 
-    WebApplicationExceptionMapper(ConjureJerseyFeature.ExceptionListener listener) {
+    WebApplicationExceptionMapper(ConjureJerseyFeature.ExceptionListener listener, ErrorResponses errors) {
+        this(listener, errors, LoggerFactory.getLogger(WebApplicationExceptionMapper.class));
+    }
+
+    @VisibleForTesting
+    WebApplicationExceptionMapper(ConjureJerseyFeature.ExceptionListener listener, ErrorResponses errors, Logger log) {
         super(listener);
+        this.errors = errors;
+        this.log = log;
     }
 
     @Override
     public Response toResponseInner(WebApplicationException exception) {
-        String errorInstanceId = UUID.randomUUID().toString();
+        String errorInstanceId = ErrorResponses.newErrorInstanceId();
+        ErrorType errorType = getErrorType(exception);
+        int status = exception.getResponse().getStatus();
+        String errorName =
+                errorType != null ? errorType.name() : exception.getClass().getSimpleName();
 
-        if (exception.getResponse().getStatus() / 100 == 4 /* client error */) {
-            log.info("Error handling request", SafeArg.of("errorInstanceId", errorInstanceId), exception);
+        errors.logWithoutErrorName(log, status, errorName, errorInstanceId, exception);
+
+        if (errorType != null) {
+            return errors.response(errorType, errorInstanceId);
         } else {
-            log.error("Error handling request", SafeArg.of("errorInstanceId", errorInstanceId), exception);
+            return errors.response(status, exception.getClass().getName(), errorName, errorInstanceId);
         }
+    }
 
+    @Nullable
+    private static ErrorType getErrorType(WebApplicationException exception) {
         if (exception instanceof NotAuthorizedException) {
-            return JsonExceptionMapper.createResponse(ErrorType.UNAUTHORIZED, errorInstanceId);
+            return ErrorType.UNAUTHORIZED;
         } else if (exception instanceof UnauthorizedException) {
-            return JsonExceptionMapper.createResponse(
-                    ((UnauthorizedException) exception).getErrorType(), errorInstanceId);
+            return ((UnauthorizedException) exception).getErrorType();
         } else if (exception instanceof ForbiddenException) {
-            return JsonExceptionMapper.createResponse(ErrorType.PERMISSION_DENIED, errorInstanceId);
+            return ErrorType.PERMISSION_DENIED;
         } else if (exception instanceof NotFoundException) {
-            return JsonExceptionMapper.createResponse(ErrorType.NOT_FOUND, errorInstanceId);
+            return ErrorType.NOT_FOUND;
         } else if (exception instanceof BadRequestException || exception instanceof ParamException) {
-            return JsonExceptionMapper.createResponse(ErrorType.INVALID_ARGUMENT, errorInstanceId);
+            return ErrorType.INVALID_ARGUMENT;
         } else {
-            return JsonExceptionMapper.createResponse(
-                    exception.getResponse().getStatus(),
-                    exception.getClass().getName(),
-                    exception.getClass().getSimpleName(),
-                    errorInstanceId);
+            return null;
         }
     }
 }
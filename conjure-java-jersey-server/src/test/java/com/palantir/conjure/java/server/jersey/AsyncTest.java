@@ -0,0 +1,210 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningScheduledExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.conjure.java.api.errors.ErrorType;
+import com.palantir.conjure.java.api.errors.SerializableError;
+import com.palantir.conjure.java.api.errors.ServiceException;
+import com.palantir.tracing.Tracer;
+import com.palantir.tracing.api.TraceHttpHeaders;
+import io.dropwizard.Application;
+import io.dropwizard.Configuration;
+import io.dropwizard.setup.Environment;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Provider;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import org.glassfish.jersey.client.JerseyClientBuilder;
+import org.glassfish.jersey.server.AsyncContext;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+public final class AsyncTest {
+
+    private static final String RESPONSE_TRACE_ID = "X-Response-Trace-Id";
+    private static final ListeningScheduledExecutorService executor =
+            MoreExecutors.listeningDecorator(Executors.newSingleThreadScheduledExecutor());
+    private static final CompletableFuture<String> pending = new CompletableFuture<>();
+
+    @ClassRule
+    public static final DropwizardAppRule<Configuration> APP =
+            new DropwizardAppRule<>(AsyncTestServer.class, "src/test/resources/test-server.yml");
+
+    private WebTarget target;
+
+    @Before
+    public void before() {
+        String endpointUri = "http://localhost:" + APP.getLocalPort();
+        JerseyClientBuilder builder = new JerseyClientBuilder();
+        Client client = builder.build();
+        target = client.target(endpointUri);
+    }
+
+    @Test
+    public void testListenableFuture() {
+        try (Response response = target.path("listenable").request().get()) {
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.readEntity(String.class)).isEqualTo("value");
+        }
+    }
+
+    @Test
+    public void testCompletableFutureOfOptional() {
+        try (Response response =
+                target.path("optional").queryParam("present", true).request().get()) {
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.readEntity(String.class)).isEqualTo("value");
+        }
+        try (Response response =
+                target.path("optional").queryParam("present", false).request().get()) {
+            assertThat(response.getStatus()).isEqualTo(204);
+        }
+    }
+
+    @Test
+    public void testDoneFutures() {
+        try (Response response = target.path("done").request().get()) {
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.readEntity(String.class)).isEqualTo("done");
+        }
+        try (Response response = target.path("void").request().get()) {
+            assertThat(response.getStatus()).isEqualTo(204);
+        }
+    }
+
+    @Test
+    public void testFailedFuturesAreMapped() {
+        try (Response response = target.path("failed").request().get()) {
+            assertThat(response.getStatus()).isEqualTo(404);
+            assertThat(response.readEntity(SerializableError.class).errorName()).isEqualTo(ErrorType.NOT_FOUND.name());
+        }
+    }
+
+    @Test
+    public void testResponseFiltersRunWithRequestTrace() {
+        try (Response response = target.path("listenable")
+                .request()
+                .header(TraceHttpHeaders.TRACE_ID, "traceId")
+                .get()) {
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getHeaderString(RESPONSE_TRACE_ID)).isEqualTo("traceId");
+        }
+    }
+
+    @Test
+    public void testPendingFutureIsCancelledOnceTheRequestIsOver() {
+        try (Response response = target.path("cancelled").request().get()) {
+            assertThat(response.getStatus()).isEqualTo(503);
+        }
+        assertThatThrownBy(() -> pending.get(5, TimeUnit.SECONDS)).isInstanceOf(CancellationException.class);
+    }
+
+    public static class AsyncTestServer extends Application<Configuration> {
+        @Override
+        public final void run(Configuration _config, final Environment env) {
+            env.jersey().register(ConjureJerseyFeature.INSTANCE);
+            env.jersey().register(new EmptyOptionalTo204ExceptionMapper());
+            env.jersey().register(new TraceCapturingFilter());
+            env.jersey().register(AsyncResource.class);
+        }
+    }
+
+    @Path("/")
+    @Produces(MediaType.TEXT_PLAIN)
+    public static final class AsyncResource {
+        @Context
+        private Provider<AsyncContext> asyncContext;
+
+        @GET
+        @Path("/listenable")
+        public ListenableFuture<String> listenable() {
+            return executor.schedule(() -> "value", 50, TimeUnit.MILLISECONDS);
+        }
+
+        @GET
+        @Path("/optional")
+        public CompletableFuture<Optional<String>> optional(@QueryParam("present") boolean present) {
+            return CompletableFuture.supplyAsync(
+                    () -> present ? Optional.of("value") : Optional.empty(),
+                    CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+        }
+
+        @GET
+        @Path("/cancelled")
+        public CompletableFuture<String> cancelled() {
+            AsyncResponse asyncResponse = asyncContext.get();
+            executor.schedule(() -> asyncResponse.cancel(), 50, TimeUnit.MILLISECONDS);
+            return pending;
+        }
+
+        @GET
+        @Path("/done")
+        public ListenableFuture<String> done() {
+            return Futures.immediateFuture("done");
+        }
+
+        @GET
+        @Path("/void")
+        public CompletableFuture<Void> voidMethod() {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @GET
+        @Path("/failed")
+        public ListenableFuture<String> failed() {
+            return executor.schedule(
+                    () -> {
+                        throw new ServiceException(ErrorType.NOT_FOUND);
+                    },
+                    50,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static final class TraceCapturingFilter implements ContainerResponseFilter {
+        @Override
+        public void filter(ContainerRequestContext _requestContext, ContainerResponseContext responseContext) {
+            if (Tracer.hasTraceId()) {
+                responseContext.getHeaders().putSingle(RESPONSE_TRACE_ID, Tracer.getTraceId());
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.Gauge;
+import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
+import com.palantir.tritium.metrics.registry.TaggedMetricRegistry;
+import io.dropwizard.Application;
+import io.dropwizard.Configuration;
+import io.dropwizard.setup.Environment;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import org.glassfish.jersey.client.JerseyClientBuilder;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+public final class ConcurrencyLimitingTest {
+
+    private static final TaggedMetricRegistry registry = new DefaultTaggedMetricRegistry();
+    private static final CountDownLatch slowStarted = new CountDownLatch(1);
+    private static final CountDownLatch slowRelease = new CountDownLatch(1);
+
+    @ClassRule
+    public static final DropwizardAppRule<Configuration> APP =
+            new DropwizardAppRule<>(ConcurrencyLimitingTestServer.class, "src/test/resources/test-server.yml");
+
+    private WebTarget target;
+
+    @Before
+    public void before() {
+        String endpointUri = "http://localhost:" + APP.getLocalPort();
+        JerseyClientBuilder builder = new JerseyClientBuilder();
+        Client client = builder.build();
+        target = client.target(endpointUri);
+    }
+
+    @Test
+    public void testRejectsRequestsAboveLimit() throws Exception {
+        Future<Response> slow = target.path("slow").request().async().get();
+        assertThat(slowStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        try (Response response = target.path("fast").request().get()) {
+            assertThat(response.getStatus()).isEqualTo(Status.SERVICE_UNAVAILABLE.getStatusCode());
+        }
+        assertThat(JerseyServerConcurrencyLimiterMetrics.of(registry)
+                        .rejected("ConcurrencyLimitingResource.fast")
+                        .getCount())
+                .isEqualTo(1);
+        JerseyServerEndpointMetrics endpointMetrics = JerseyServerEndpointMetrics.of(registry);
+        assertThat(endpointMetrics.response("ConcurrencyLimitingResource.fast").getCount())
+                .isEqualTo(1);
+        assertThat(endpointMetrics
+                        .responseStatus()
+                        .endpoint("ConcurrencyLimitingResource.fast")
+                        .status("5xx")
+                        .build()
+                        .getCount())
+                .isEqualTo(1);
+
+        slowRelease.countDown();
+        try (Response response = slow.get(10, TimeUnit.SECONDS)) {
+            assertThat(response.getStatus()).isEqualTo(Status.NO_CONTENT.getStatusCode());
+        }
+        try (Response response = target.path("fast").request().get()) {
+            assertThat(response.getStatus()).isEqualTo(Status.NO_CONTENT.getStatusCode());
+        }
+    }
+
+    @Test
+    public void testReconfiguringReusesEndpointLimiters() throws Exception {
+        TaggedMetricRegistry limiterRegistry = new DefaultTaggedMetricRegistry();
+        ConcurrencyLimitingFeature feature = ConcurrencyLimitingFeature.builder()
+                .taggedMetricRegistry(limiterRegistry)
+                .partitioning(ConcurrencyLimitingFeature.Partitioning.PER_ENDPOINT)
+                .initialLimit(3)
+                .build();
+        ResourceInfo slow = resourceInfo("slow");
+        ResourceInfo fast = resourceInfo("fast");
+
+        feature.configure(slow, mock(FeatureContext.class));
+        feature.configure(fast, mock(FeatureContext.class));
+        feature.configure(slow, mock(FeatureContext.class));
+        feature.configure(fast, mock(FeatureContext.class));
+
+        assertThat(gauge(limiterRegistry, "server.concurrency-limiter.limit").getValue())
+                .isEqualTo(6);
+        assertThat(gauge(limiterRegistry, "server.concurrency-limiter.inflight").getValue())
+                .isEqualTo(0);
+    }
+
+    @Test
+    public void testGradientAlgorithm() {
+        TaggedMetricRegistry limiterRegistry = new DefaultTaggedMetricRegistry();
+        ConcurrencyLimitingFeature.builder()
+                .taggedMetricRegistry(limiterRegistry)
+                .algorithm(ConcurrencyLimitingFeature.Algorithm.GRADIENT)
+                .initialLimit(5)
+                .build();
+
+        assertThat(gauge(limiterRegistry, "server.concurrency-limiter.limit").getValue())
+                .isEqualTo(5);
+    }
+
+    private static ResourceInfo resourceInfo(String methodName) throws NoSuchMethodException {
+        ResourceInfo resourceInfo = mock(ResourceInfo.class);
+        when(resourceInfo.getResourceClass()).thenAnswer(_invocation -> ConcurrencyLimitingResource.class);
+        when(resourceInfo.getResourceMethod()).thenReturn(ConcurrencyLimitingResource.class.getMethod(methodName));
+        return resourceInfo;
+    }
+
+    private static Gauge<?> gauge(TaggedMetricRegistry metrics, String name) {
+        return metrics.getMetrics().entrySet().stream()
+                .filter(entry -> entry.getKey().safeName().equals(name))
+                .map(entry -> (Gauge<?>) entry.getValue())
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Missing gauge " + name));
+    }
+
+    public static class ConcurrencyLimitingTestServer extends Application<Configuration> {
+        @Override
+        public final void run(Configuration _config, final Environment env) {
+            env.jersey().register(ConjureJerseyFeature.INSTANCE);
+            env.jersey()
+                    .register(ConcurrencyLimitingFeature.builder()
+                            .taggedMetricRegistry(registry)
+                            .initialLimit(1)
+                            .maxLimit(1)
+                            .build());
+            env.jersey()
+                    .register(EndpointMetricsFeature.builder()
+                            .taggedMetricRegistry(registry)
+                            .build());
+            env.jersey().register(new ConcurrencyLimitingResource());
+        }
+    }
+
+    @Path("/")
+    public static final class ConcurrencyLimitingResource {
+        @GET
+        @Path("/slow")
+        public void slow() throws InterruptedException {
+            slowStarted.countDown();
+            slowRelease.await(10, TimeUnit.SECONDS);
+        }
+
+        @GET
+        @Path("/fast")
+        public void fast() {}
+    }
+}
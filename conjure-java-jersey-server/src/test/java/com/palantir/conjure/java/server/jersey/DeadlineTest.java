@@ -0,0 +1,191 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.dropwizard.Application;
+import io.dropwizard.Configuration;
+import io.dropwizard.setup.Environment;
+import io.dropwizard.testing.ConfigOverride;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import org.glassfish.jersey.client.JerseyClientBuilder;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+public final class DeadlineTest {
+
+    @ClassRule
+    public static final DropwizardAppRule<Configuration> APP =
+            new DropwizardAppRule<>(DeadlineTestServer.class, "src/test/resources/test-server.yml");
+
+    @ClassRule
+    public static final DropwizardAppRule<Configuration> DISABLED_APP = new DropwizardAppRule<>(
+            DisabledDeadlineTestServer.class,
+            "src/test/resources/test-server.yml",
+            ConfigOverride.config("server.applicationConnectors[0].port", "0"));
+
+    private WebTarget target;
+
+    @Before
+    public void before() {
+        String endpointUri = "http://localhost:" + APP.getLocalPort();
+        JerseyClientBuilder builder = new JerseyClientBuilder();
+        Client client = builder.build();
+        target = client.target(endpointUri);
+    }
+
+    @Test
+    public void testNoDeadline() {
+        try (Response response = target.path("remaining").request().get()) {
+            assertThat(response.getStatus()).isEqualTo(Status.OK.getStatusCode());
+            assertThat(response.readEntity(String.class)).isEqualTo("-1");
+        }
+    }
+
+    @Test
+    public void testDeadlineExposedToResource() {
+        try (Response response = target.path("remaining")
+                .request()
+                .header(RequestDeadlines.HEADER, "10000")
+                .get()) {
+            assertThat(response.getStatus()).isEqualTo(Status.OK.getStatusCode());
+            assertThat(Long.parseLong(response.readEntity(String.class))).isBetween(1L, 10_000L);
+        }
+    }
+
+    @Test
+    public void testDeadlineExposedToAsyncResource() {
+        try (Response response = target.path("remaining-async")
+                .request()
+                .header(RequestDeadlines.HEADER, "10000")
+                .get()) {
+            assertThat(response.getStatus()).isEqualTo(Status.OK.getStatusCode());
+            assertThat(Long.parseLong(response.readEntity(String.class))).isBetween(1L, 10_000L);
+        }
+    }
+
+    @Test
+    public void testDeadlineClearedAfterRequest() {
+        target.path("remaining")
+                .request()
+                .header(RequestDeadlines.HEADER, "10000")
+                .get()
+                .close();
+        for (int i = 0; i < 10; i++) {
+            try (Response response = target.path("remaining").request().get()) {
+                assertThat(response.readEntity(String.class)).isEqualTo("-1");
+            }
+        }
+    }
+
+    @Test
+    public void testExpiredDeadlineRejected() {
+        try (Response response = target.path("remaining")
+                .request()
+                .header(RequestDeadlines.HEADER, "0")
+                .get()) {
+            assertThat(response.getStatus()).isEqualTo(500);
+            assertThat(response.readEntity(String.class)).contains("Default:Timeout");
+        }
+    }
+
+    @Test
+    public void testMalformedDeadlineRejected() {
+        try (Response response = target.path("remaining")
+                .request()
+                .header(RequestDeadlines.HEADER, "soon")
+                .get()) {
+            assertThat(response.getStatus()).isEqualTo(Status.BAD_REQUEST.getStatusCode());
+        }
+    }
+
+    @Test
+    public void testDeadlineIgnoredUnlessEnabled() {
+        WebTarget disabledTarget =
+                new JerseyClientBuilder().build().target("http://localhost:" + DISABLED_APP.getLocalPort());
+        try (Response response = disabledTarget
+                .path("remaining")
+                .request()
+                .header(RequestDeadlines.HEADER, "0")
+                .get()) {
+            assertThat(response.getStatus()).isEqualTo(Status.OK.getStatusCode());
+            assertThat(response.readEntity(String.class)).isEqualTo("-1");
+        }
+    }
+
+    public static class DeadlineTestServer extends Application<Configuration> {
+        @Override
+        public final void run(Configuration _config, final Environment env) {
+            env.jersey().register(ConjureJerseyFeature.builder().requestDeadlines(true).build());
+            env.jersey().register(new DeadlineResource());
+        }
+    }
+
+    public static class DisabledDeadlineTestServer extends Application<Configuration> {
+        @Override
+        public final void run(Configuration _config, final Environment env) {
+            env.jersey().register(ConjureJerseyFeature.INSTANCE);
+            env.jersey().register(new DeadlineResource());
+        }
+    }
+
+    public static final class DeadlineResource implements DeadlineTestService {
+        @Override
+        public String remaining() {
+            RequestDeadlines.checkNotExpired();
+            return Long.toString(RequestDeadlines.remaining().map(Duration::toMillis).orElse(-1L));
+        }
+
+        @Override
+        public CompletableFuture<String> remainingAsync(ContainerRequestContext requestContext) {
+            return CompletableFuture.supplyAsync(() -> {
+                RequestDeadlines.checkNotExpired(requestContext);
+                return Long.toString(RequestDeadlines.remaining(requestContext)
+                        .map(Duration::toMillis)
+                        .orElse(-1L));
+            });
+        }
+    }
+
+    @Path("/")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.TEXT_PLAIN)
+    public interface DeadlineTestService {
+        @GET
+        @Path("/remaining")
+        String remaining();
+
+        @GET
+        @Path("/remaining-async")
+        CompletableFuture<String> remainingAsync(@Context ContainerRequestContext requestContext);
+    }
+}
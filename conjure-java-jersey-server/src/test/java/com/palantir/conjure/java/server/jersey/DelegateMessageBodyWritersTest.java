@@ -0,0 +1,83 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.annotation.Annotation;
+import javax.ws.rs.GET;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.MessageBodyWriter;
+import org.glassfish.jersey.message.MessageBodyWorkers;
+import org.junit.Test;
+
+public final class DelegateMessageBodyWritersTest {
+
+    private final MessageBodyWorkers workers = mock(MessageBodyWorkers.class);
+    private final MessageBodyWriter<?> stringWriter = mock(MessageBodyWriter.class);
+    private final MessageBodyWriter<?> integerWriter = mock(MessageBodyWriter.class);
+    private final DelegateMessageBodyWriters delegates = new DelegateMessageBodyWriters();
+
+    @Test
+    public void resolvesEachWriterOnce() throws Exception {
+        when(workers.getMessageBodyWriter(eq(String.class), any(), any(), any()))
+                .thenAnswer(_invocation -> stringWriter);
+        when(workers.getMessageBodyWriter(eq(Integer.class), any(), any(), any()))
+                .thenAnswer(_invocation -> integerWriter);
+        Annotation[] annotations = Resource.class.getMethod("get").getAnnotations();
+
+        for (int i = 0; i < 3; i++) {
+            // Equal but distinct annotation arrays and media types, as Jersey may pass
+            MediaType mediaType = MediaType.valueOf("text/plain");
+            assertThat(delegates.get(() -> workers, String.class, String.class, annotations.clone(), mediaType))
+                    .isSameAs(stringWriter);
+        }
+        assertThat(delegates.get(() -> workers, Integer.class, Integer.class, annotations, MediaType.TEXT_PLAIN_TYPE))
+                .isSameAs(integerWriter);
+        assertThat(delegates.get(() -> workers, String.class, String.class, annotations, MediaType.TEXT_HTML_TYPE))
+                .isSameAs(stringWriter);
+
+        verify(workers, times(1))
+                .getMessageBodyWriter(String.class, String.class, annotations, MediaType.TEXT_PLAIN_TYPE);
+        verify(workers, times(1))
+                .getMessageBodyWriter(Integer.class, Integer.class, annotations, MediaType.TEXT_PLAIN_TYPE);
+        verify(workers, times(1))
+                .getMessageBodyWriter(String.class, String.class, annotations, MediaType.TEXT_HTML_TYPE);
+    }
+
+    @Test
+    public void doesNotCacheMissingWriters() {
+        Annotation[] annotations = new Annotation[0];
+        assertThat(delegates.get(() -> workers, String.class, String.class, annotations, MediaType.TEXT_PLAIN_TYPE))
+                .isNull();
+        assertThat(delegates.get(() -> workers, String.class, String.class, annotations, MediaType.TEXT_PLAIN_TYPE))
+                .isNull();
+        verify(workers, times(2))
+                .getMessageBodyWriter(String.class, String.class, annotations, MediaType.TEXT_PLAIN_TYPE);
+    }
+
+    public interface Resource {
+        @GET
+        String get();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.palantir.conjure.java.api.errors.ErrorType;
+import com.palantir.conjure.java.api.errors.ServiceException;
+import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
+import com.palantir.tritium.metrics.registry.TaggedMetricRegistry;
+import io.dropwizard.Application;
+import io.dropwizard.Configuration;
+import io.dropwizard.setup.Environment;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import org.glassfish.jersey.client.JerseyClientBuilder;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+public final class EndpointMetricsTest {
+
+    private static final TaggedMetricRegistry registry = new DefaultTaggedMetricRegistry();
+    private static final JerseyServerEndpointMetrics metrics = JerseyServerEndpointMetrics.of(registry);
+
+    @ClassRule
+    public static final DropwizardAppRule<Configuration> APP =
+            new DropwizardAppRule<>(EndpointMetricsTestServer.class, "src/test/resources/test-server.yml");
+
+    private WebTarget target;
+
+    @Before
+    public void before() {
+        String endpointUri = "http://localhost:" + APP.getLocalPort();
+        JerseyClientBuilder builder = new JerseyClientBuilder();
+        Client client = builder.build();
+        target = client.target(endpointUri);
+    }
+
+    @Test
+    public void testRecordsResponsesWithBodies() {
+        try (Response response = target.path("text").request().get()) {
+            assertThat(response.readEntity(String.class)).isEqualTo("hello world");
+        }
+        assertThat(metrics.response("EndpointMetricsResource.text").getCount()).isEqualTo(1);
+        assertThat(status("EndpointMetricsResource.text", "2xx")).isEqualTo(1);
+        assertThat(metrics.responseSize("EndpointMetricsResource.text")
+                        .getSnapshot()
+                        .getValues())
+                .containsExactly(11);
+    }
+
+    @Test
+    public void testRecordsEmptyResponses() {
+        try (Response response = target.path("empty").request().get()) {
+            assertThat(response.getStatus()).isEqualTo(204);
+        }
+        assertThat(metrics.response("EndpointMetricsResource.empty").getCount()).isEqualTo(1);
+        assertThat(status("EndpointMetricsResource.empty", "2xx")).isEqualTo(1);
+        assertThat(metrics.responseSize("EndpointMetricsResource.empty")
+                        .getSnapshot()
+                        .getValues())
+                .containsExactly(0);
+    }
+
+    @Test
+    public void testRecordsMappedExceptions() {
+        try (Response response = target.path("error").request().get()) {
+            assertThat(response.getStatus()).isEqualTo(404);
+        }
+        assertThat(metrics.response("EndpointMetricsResource.error").getCount()).isEqualTo(1);
+        assertThat(status("EndpointMetricsResource.error", "4xx")).isEqualTo(1);
+        assertThat(status("EndpointMetricsResource.error", "2xx")).isZero();
+    }
+
+    private static long status(String endpoint, String status) {
+        return metrics.responseStatus()
+                .endpoint(endpoint)
+                .status(status)
+                .build()
+                .getCount();
+    }
+
+    public static class EndpointMetricsTestServer extends Application<Configuration> {
+        @Override
+        public final void run(Configuration _config, final Environment env) {
+            env.jersey().register(ConjureJerseyFeature.INSTANCE);
+            env.jersey()
+                    .register(EndpointMetricsFeature.builder()
+                            .taggedMetricRegistry(registry)
+                            .build());
+            env.jersey().register(new EndpointMetricsResource());
+        }
+    }
+
+    @Path("/")
+    public static final class EndpointMetricsResource {
+        @GET
+        @Path("/text")
+        @Produces(MediaType.TEXT_PLAIN)
+        public String text() {
+            return "hello world";
+        }
+
+        @GET
+        @Path("/empty")
+        public void empty() {}
+
+        @GET
+        @Path("/error")
+        public void error() {
+            throw new ServiceException(ErrorType.NOT_FOUND);
+        }
+    }
+}
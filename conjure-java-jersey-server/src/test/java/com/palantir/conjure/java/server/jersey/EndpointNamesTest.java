@@ -0,0 +1,118 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Method;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.container.ResourceInfo;
+import org.junit.Test;
+
+public final class EndpointNamesTest {
+
+    private final EndpointNames names = new EndpointNames();
+
+    @Test
+    public void testNamesResourceMethodsByClassAndMethod() throws NoSuchMethodException {
+        assertThat(names.name(resourceInfo(Service.class, Service.class.getMethod("get", String.class))))
+                .isEqualTo("Service.get");
+    }
+
+    @Test
+    public void testQualifiesOverloads() throws NoSuchMethodException {
+        assertThat(names.name(resourceInfo(Service.class, Service.class.getMethod("put"))))
+                .isEqualTo("Service.put[GET /service/put]");
+        assertThat(names.name(resourceInfo(Service.class, Service.class.getMethod("put", String.class))))
+                .isEqualTo("Service.put[POST /service/put/{id}]");
+    }
+
+    @Test
+    public void testQualifiesNamesTakenByOtherClasses() throws NoSuchMethodException {
+        assertThat(names.name(resourceInfo(Service.class, Service.class.getMethod("get", String.class))))
+                .isEqualTo("Service.get");
+        assertThat(names.name(resourceInfo(Other.Service.class, Other.Service.class.getMethod("get"))))
+                .isEqualTo("Service.get[GET /other/get]");
+    }
+
+    @Test
+    public void testNamesAreStable() throws NoSuchMethodException {
+        Method get = Service.class.getMethod("get", String.class);
+        Method otherGet = Other.Service.class.getMethod("get");
+        assertThat(names.name(resourceInfo(Service.class, get))).isEqualTo("Service.get");
+        assertThat(names.name(resourceInfo(Other.Service.class, otherGet))).isEqualTo("Service.get[GET /other/get]");
+        assertThat(names.name(resourceInfo(Service.class, get))).isEqualTo("Service.get");
+        assertThat(names.name(resourceInfo(Other.Service.class, otherGet))).isEqualTo("Service.get[GET /other/get]");
+    }
+
+    @Test
+    public void testUsesPathsOfImplementedInterfaces() throws NoSuchMethodException {
+        assertThat(names.name(resourceInfo(ServiceResource.class, Service.class.getMethod("put"))))
+                .isEqualTo("ServiceResource.put[GET /service/put]");
+    }
+
+    private static ResourceInfo resourceInfo(Class<?> resourceClass, Method method) {
+        ResourceInfo resourceInfo = mock(ResourceInfo.class);
+        when(resourceInfo.getResourceClass()).thenAnswer(_invocation -> resourceClass);
+        when(resourceInfo.getResourceMethod()).thenReturn(method);
+        return resourceInfo;
+    }
+
+    @Path("/service/")
+    public interface Service {
+        @GET
+        @Path("{id}")
+        String get(@PathParam("id") String id);
+
+        @GET
+        @Path("put")
+        void put();
+
+        @POST
+        @Path("/put/{id}")
+        void put(@PathParam("id") String id);
+    }
+
+    public static final class ServiceResource implements Service {
+        @Override
+        public String get(String id) {
+            return id;
+        }
+
+        @Override
+        public void put() {}
+
+        @Override
+        public void put(String _id) {}
+    }
+
+    public static final class Other {
+        private Other() {}
+
+        @Path("other")
+        public interface Service {
+            @GET
+            @Path("get")
+            String get();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableMap;
+import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
+import io.dropwizard.Application;
+import io.dropwizard.Configuration;
+import io.dropwizard.setup.Environment;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import org.glassfish.jersey.client.JerseyClientBuilder;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+public final class EntityTagTest {
+
+    private static final AtomicInteger serializations = new AtomicInteger();
+
+    @ClassRule
+    public static final DropwizardAppRule<Configuration> APP =
+            new DropwizardAppRule<>(EntityTagTestServer.class, "src/test/resources/test-server.yml");
+
+    private WebTarget target;
+
+    @Before
+    public void before() {
+        String endpointUri = "http://localhost:" + APP.getLocalPort();
+        JerseyClientBuilder builder = new JerseyClientBuilder();
+        Client client = builder.build();
+        target = client.target(endpointUri);
+        serializations.set(0);
+    }
+
+    @Test
+    public void testResponsesAreTagged() {
+        String etag = etagOf(target.path("data").queryParam("size", 10));
+        assertThat(etag).matches("W/\"[0-9a-f]{32}\"");
+        assertThat(etagOf(target.path("data").queryParam("size", 10))).isEqualTo(etag);
+        assertThat(etagOf(target.path("data").queryParam("size", 11))).isNotEqualTo(etag);
+    }
+
+    @Test
+    public void testMatchingIfNoneMatchIsNotModified() {
+        String etag = etagOf(target.path("data").queryParam("size", 10));
+        try (Response response = target.path("data")
+                .queryParam("size", 10)
+                .request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .get()) {
+            assertThat(response.getStatus()).isEqualTo(304);
+            assertThat(response.getHeaderString(HttpHeaders.ETAG)).isEqualTo(etag);
+            assertThat(response.hasEntity()).isFalse();
+        }
+    }
+
+    @Test
+    public void testCompressedResponsesHaveTheSameWeakTag() {
+        String etag = etagOf(target.path("data").queryParam("size", 10));
+        try (Response response = target.path("data")
+                .queryParam("size", 10)
+                .request()
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .get()) {
+            assertThat(response.getHeaderString(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+            assertThat(response.getHeaderString(HttpHeaders.ETAG)).isEqualTo(etag);
+        }
+        try (Response response = target.path("data")
+                .queryParam("size", 10)
+                .request()
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .get()) {
+            assertThat(response.getStatus()).isEqualTo(304);
+        }
+    }
+
+    @Test
+    public void testChangedEntityIsSentAgain() {
+        String etag = etagOf(target.path("data").queryParam("size", 10));
+        try (Response response = target.path("data")
+                .queryParam("size", 11)
+                .request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .get()) {
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.readEntity(String.class)).contains("\"size\":11");
+        }
+    }
+
+    @Test
+    public void testPrecomputedTagSkipsSerialization() {
+        try (Response response =
+                target.path("versioned").request().header(HttpHeaders.IF_NONE_MATCH, "\"v1\"").get()) {
+            assertThat(response.getStatus()).isEqualTo(304);
+            assertThat(response.getHeaderString(HttpHeaders.ETAG)).isEqualTo("\"v1\"");
+        }
+        assertThat(serializations).hasValue(0);
+
+        try (Response response =
+                target.path("versioned").request().header(HttpHeaders.IF_NONE_MATCH, "\"v0\"").get()) {
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getHeaderString(HttpHeaders.ETAG)).isEqualTo("\"v1\"");
+            assertThat(response.readEntity(String.class)).isEqualTo("{\"value\":\"versioned\"}");
+        }
+        assertThat(serializations).hasValue(1);
+    }
+
+    @Test
+    public void testOptionalResponses() {
+        String etag = etagOf(target.path("optional").queryParam("present", true));
+        try (Response response = target.path("optional")
+                .queryParam("present", true)
+                .request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .get()) {
+            assertThat(response.getStatus()).isEqualTo(304);
+        }
+        try (Response response = target.path("optional")
+                .queryParam("present", false)
+                .request()
+                .get()) {
+            assertThat(response.getStatus()).isEqualTo(204);
+            assertThat(response.getHeaderString(HttpHeaders.ETAG)).isNull();
+        }
+    }
+
+    @Test
+    public void testStreamingOutputIsNotTagged() {
+        try (Response response = target.path("streaming").request().get()) {
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getHeaderString(HttpHeaders.ETAG)).isNull();
+            assertThat(response.readEntity(String.class)).isEqualTo("streamed");
+        }
+    }
+
+    private static String etagOf(WebTarget target) {
+        try (Response response = target.request().get()) {
+            assertThat(response.getStatus()).isEqualTo(200);
+            return response.getHeaderString(HttpHeaders.ETAG);
+        }
+    }
+
+    public static class EntityTagTestServer extends Application<Configuration> {
+        @Override
+        public final void run(Configuration _config, final Environment env) {
+            env.jersey()
+                    .register(ConjureJerseyFeature.builder()
+                            .entityTags(true)
+                            .gzipCompression(GzipCompression.builder()
+                                    .taggedMetricRegistry(new DefaultTaggedMetricRegistry())
+                                    .minimumSizeBytes(0)
+                                    .build())
+                            .build());
+            env.jersey().register(new EmptyOptionalTo204ExceptionMapper());
+            env.jersey().register(new EntityTagResource());
+        }
+    }
+
+    @Path("/")
+    @Produces(MediaType.APPLICATION_JSON)
+    public static final class EntityTagResource {
+        @GET
+        @Path("/data")
+        public Map<String, Object> data(@QueryParam("size") int size) {
+            return ImmutableMap.of("name", "dataset", "size", size);
+        }
+
+        @GET
+        @Path("/versioned")
+        public Response versioned() {
+            return Response.ok(new CountingValue("versioned")).tag("v1").build();
+        }
+
+        @GET
+        @Path("/optional")
+        public Optional<Map<String, Object>> optional(@QueryParam("present") boolean present) {
+            return present ? Optional.of(ImmutableMap.of("name", "dataset")) : Optional.empty();
+        }
+
+        @GET
+        @Path("/streaming")
+        public StreamingOutput streaming() {
+            return output -> output.write("streamed".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    public static final class CountingValue {
+        private final String value;
+
+        CountingValue(String value) {
+            this.value = value;
+        }
+
+        @JsonProperty("value")
+        public String getValue() {
+            serializations.incrementAndGet();
+            return value;
+        }
+    }
+}
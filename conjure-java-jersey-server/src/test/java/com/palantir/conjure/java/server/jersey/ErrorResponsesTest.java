@@ -0,0 +1,127 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.palantir.conjure.java.api.errors.ErrorType;
+import com.palantir.conjure.java.api.errors.SerializableError;
+import com.palantir.conjure.java.serialization.ObjectMappers;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
+import com.palantir.tritium.metrics.registry.TaggedMetricRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import org.junit.Test;
+import org.slf4j.Logger;
+
+public final class ErrorResponsesTest {
+
+    private static final String MESSAGE = "Error handling request";
+
+    private final TaggedMetricRegistry registry = new DefaultTaggedMetricRegistry();
+    private final Logger log = mock(Logger.class);
+    private final RuntimeException exception = new RuntimeException();
+
+    @Test
+    public void testErrorInstanceIdsAreRandomUuids() {
+        UUID uuid = UUID.fromString(ErrorResponses.newErrorInstanceId());
+        assertThat(uuid.version()).isEqualTo(4);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(ErrorResponses.newErrorInstanceId()).isNotEqualTo(uuid.toString());
+    }
+
+    @Test
+    public void testLogsEveryExceptionByDefault() {
+        for (int i = 0; i < 3; i++) {
+            ErrorResponses.DEFAULT.log(log, 400, "Default:InvalidArgument", "id", exception);
+        }
+        ErrorResponses.DEFAULT.log(log, 500, "Default:Internal", "id", exception);
+        verify(log, times(3))
+                .info(
+                        MESSAGE,
+                        SafeArg.of("errorInstanceId", "id"),
+                        SafeArg.of("errorName", "Default:InvalidArgument"),
+                        exception);
+        verify(log)
+                .error(
+                        MESSAGE,
+                        SafeArg.of("errorInstanceId", "id"),
+                        SafeArg.of("errorName", "Default:Internal"),
+                        exception);
+    }
+
+    @Test
+    public void testRateLimitsLogsPerErrorName() {
+        ErrorResponses errors = ErrorResponses.of(ErrorHandling.builder()
+                .taggedMetricRegistry(registry)
+                .logInterval(Duration.ofHours(1))
+                .build());
+        for (int i = 0; i < 3; i++) {
+            errors.log(log, 400, "Default:InvalidArgument", "id", exception);
+            errors.log(log, 500, "Default:Internal", "id", exception);
+        }
+        verify(log).info(eq(MESSAGE), any(), eq(SafeArg.of("errorName", "Default:InvalidArgument")), any(), any());
+        verify(log).error(eq(MESSAGE), any(), eq(SafeArg.of("errorName", "Default:Internal")), any(), any());
+        JerseyServerErrorsMetrics metrics = JerseyServerErrorsMetrics.of(registry);
+        assertThat(metrics.logSuppressed("Default:InvalidArgument").getCount()).isEqualTo(2);
+        assertThat(metrics.logSuppressed("Default:Internal").getCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testReportsSuppressedCount() throws InterruptedException {
+        ErrorResponses errors = ErrorResponses.of(ErrorHandling.builder()
+                .taggedMetricRegistry(registry)
+                .logInterval(Duration.ofMillis(50))
+                .build());
+        for (int i = 0; i < 3; i++) {
+            errors.log(log, 400, "Default:InvalidArgument", "id", exception);
+        }
+        verify(log).info(eq(MESSAGE), any(), any(), eq(SafeArg.of("suppressedCount", 0L)), eq(exception));
+        verify(log, never()).info(eq(MESSAGE), any(), any(), eq(SafeArg.of("suppressedCount", 2L)), eq(exception));
+
+        Thread.sleep(100);
+        errors.log(log, 400, "Default:InvalidArgument", "id", exception);
+        verify(log).info(eq(MESSAGE), any(), any(), eq(SafeArg.of("suppressedCount", 2L)), eq(exception));
+    }
+
+    @Test
+    public void testPreSerializedErrorBodies() throws Exception {
+        ErrorResponses errors =
+                ErrorResponses.of(ErrorHandling.builder().taggedMetricRegistry(registry).build());
+        for (String errorInstanceId : new String[] {"first", "second"}) {
+            Response response = errors.response(ErrorType.NOT_FOUND, errorInstanceId);
+            assertThat(response.getStatus()).isEqualTo(404);
+            assertThat(response.getMediaType()).isEqualTo(MediaType.APPLICATION_JSON_TYPE);
+            assertThat(ObjectMappers.newClientObjectMapper()
+                            .readValue((byte[]) response.getEntity(), SerializableError.class))
+                    .isEqualTo(SerializableError.builder()
+                            .errorCode("NOT_FOUND")
+                            .errorName("Default:NotFound")
+                            .errorInstanceId(errorInstanceId)
+                            .build());
+        }
+    }
+}
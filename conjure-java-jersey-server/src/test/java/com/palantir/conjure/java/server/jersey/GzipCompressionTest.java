@@ -0,0 +1,197 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.base.Strings;
+import com.google.common.io.ByteStreams;
+import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
+import com.palantir.tritium.metrics.registry.TaggedMetricRegistry;
+import io.dropwizard.Application;
+import io.dropwizard.Configuration;
+import io.dropwizard.setup.Environment;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import org.glassfish.jersey.client.JerseyClientBuilder;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+public final class GzipCompressionTest {
+
+    private static final TaggedMetricRegistry registry = new DefaultTaggedMetricRegistry();
+    private static final String LARGE = Strings.repeat("conjure", 1000);
+    private static final String SMALL = "conjure";
+    // Larger than the buffer Jersey fills before committing the response, which would otherwise swallow the flush
+    private static final byte[] INCOMPRESSIBLE = randomBytes(64 * 1024);
+    private static final CountDownLatch firstPartReceived = new CountDownLatch(1);
+
+    @ClassRule
+    public static final DropwizardAppRule<Configuration> APP =
+            new DropwizardAppRule<>(GzipCompressionTestServer.class, "src/test/resources/test-server.yml");
+
+    private WebTarget target;
+
+    @Before
+    public void before() {
+        String endpointUri = "http://localhost:" + APP.getLocalPort();
+        JerseyClientBuilder builder = new JerseyClientBuilder();
+        Client client = builder.build();
+        target = client.target(endpointUri);
+    }
+
+    @Test
+    public void testCompressesLargeResponses() throws IOException {
+        try (Response response = target.path("large")
+                .request()
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .get()) {
+            assertThat(response.getHeaderString(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+            assertThat(response.getHeaderString(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+            byte[] compressed = response.readEntity(byte[].class);
+            assertThat(compressed.length).isLessThan(LARGE.length());
+            assertThat(gunzip(compressed)).isEqualTo(LARGE);
+        }
+        assertThat(JerseyServerCompressionMetrics.of(registry).gzipRatio().getCount())
+                .isPositive();
+    }
+
+    @Test
+    public void testFlushSendsEverythingCompressedSoFar() throws IOException {
+        try (Response response = target.path("flushed")
+                        .request()
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .get();
+                GZIPInputStream body = new GZIPInputStream(response.readEntity(InputStream.class))) {
+            assertThat(response.getHeaderString(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+            byte[] firstPart = new byte[INCOMPRESSIBLE.length];
+            ByteStreams.readFully(body, firstPart);
+            assertThat(firstPart).isEqualTo(INCOMPRESSIBLE);
+            firstPartReceived.countDown();
+            assertThat(new String(ByteStreams.toByteArray(body), StandardCharsets.UTF_8))
+                    .isEqualTo(SMALL);
+        }
+    }
+
+    @Test
+    public void testDoesNotCompressSmallResponses() {
+        try (Response response = target.path("small")
+                .request()
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .get()) {
+            assertThat(response.getHeaderString(HttpHeaders.CONTENT_ENCODING)).isNull();
+            assertThat(response.readEntity(String.class)).isEqualTo(SMALL);
+        }
+    }
+
+    @Test
+    public void testDoesNotCompressWithoutAcceptEncoding() {
+        try (Response response = target.path("large").request().get()) {
+            assertThat(response.getHeaderString(HttpHeaders.CONTENT_ENCODING)).isNull();
+            assertThat(response.readEntity(String.class)).isEqualTo(LARGE);
+        }
+    }
+
+    @Test
+    public void testAcceptsGzip() {
+        assertThat(GzipCompressionInterceptor.acceptsGzip("gzip")).isTrue();
+        assertThat(GzipCompressionInterceptor.acceptsGzip("deflate, GZIP;q=0.5"))
+                .isTrue();
+        assertThat(GzipCompressionInterceptor.acceptsGzip("*")).isTrue();
+        assertThat(GzipCompressionInterceptor.acceptsGzip(null)).isFalse();
+        assertThat(GzipCompressionInterceptor.acceptsGzip("identity")).isFalse();
+        assertThat(GzipCompressionInterceptor.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(GzipCompressionInterceptor.acceptsGzip("gzip;q=0, *")).isFalse();
+        assertThat(GzipCompressionInterceptor.acceptsGzip("*;q=0, gzip")).isTrue();
+        assertThat(GzipCompressionInterceptor.acceptsGzip("*;q=0")).isFalse();
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(0).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(ByteStreams.toByteArray(input), StandardCharsets.UTF_8);
+        }
+    }
+
+    public static class GzipCompressionTestServer extends Application<Configuration> {
+        @Override
+        public final void run(Configuration _config, final Environment env) {
+            env.jersey()
+                    .register(ConjureJerseyFeature.builder()
+                            .gzipCompression(GzipCompression.builder()
+                                    .taggedMetricRegistry(registry)
+                                    .build())
+                            .build());
+            env.jersey().register(new GzipCompressionResource());
+        }
+    }
+
+    @Path("/")
+    @Produces(MediaType.TEXT_PLAIN)
+    public static final class GzipCompressionResource {
+        @GET
+        @Path("/large")
+        public String large() {
+            return LARGE;
+        }
+
+        @GET
+        @Path("/small")
+        public String small() {
+            return SMALL;
+        }
+
+        /** Writes the second part only once the client has decoded the first, or gives up after a while. */
+        @GET
+        @Path("/flushed")
+        public StreamingOutput flushed() {
+            return output -> {
+                output.write(INCOMPRESSIBLE);
+                output.flush();
+                try {
+                    String rest = firstPartReceived.await(10, TimeUnit.SECONDS) ? SMALL : "timed out";
+                    output.write(rest.getBytes(StandardCharsets.UTF_8));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            };
+        }
+    }
+}
@@ -29,7 +29,8 @@ import org.junit.Test;
 public final class JsonExceptionMapperTest {
 
     private final JsonExceptionMapper<RuntimeException> mapper =
-            new JsonExceptionMapper<RuntimeException>(ConjureJerseyFeature.NoOpListener.INSTANCE) {
+            new JsonExceptionMapper<RuntimeException>(
+                    ConjureJerseyFeature.NoOpListener.INSTANCE, ErrorResponses.DEFAULT) {
                 @Override
                 ErrorType getErrorType(RuntimeException _exception) {
                     return ErrorType.INVALID_ARGUMENT;
@@ -50,7 +51,8 @@ public final class JsonExceptionMapperTest {
 
     @Test
     public void testDoesNotPropagateExceptionMessage() throws Exception {
-        Response response = new RuntimeExceptionMapper(ConjureJerseyFeature.NoOpListener.INSTANCE)
+        Response response = new RuntimeExceptionMapper(
+                        ConjureJerseyFeature.NoOpListener.INSTANCE, ErrorResponses.DEFAULT)
                 .toResponse(new NullPointerException("secret"));
         String entity = objectMapper.writeValueAsString(response.getEntity());
         assertThat(entity).doesNotContain("secret");
@@ -0,0 +1,141 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import com.palantir.conjure.java.serialization.ObjectMappers;
+import io.dropwizard.Application;
+import io.dropwizard.Configuration;
+import io.dropwizard.setup.Environment;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import org.glassfish.jersey.client.JerseyClientBuilder;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+public final class SmileTest {
+
+    private static final String SMILE = SmileMessageBodyProvider.MIME_TYPE;
+    private static final ObjectMapper smileMapper = ObjectMappers.newSmileClientObjectMapper();
+    private static final Map<String, Object> BODY = ImmutableMap.of("name", "dataset", "size", 1024);
+
+    @ClassRule
+    public static final DropwizardAppRule<Configuration> APP =
+            new DropwizardAppRule<>(SmileTestServer.class, "src/test/resources/test-server.yml");
+
+    private WebTarget target;
+
+    @Before
+    public void before() {
+        String endpointUri = "http://localhost:" + APP.getLocalPort();
+        JerseyClientBuilder builder = new JerseyClientBuilder();
+        Client client = builder.build();
+        target = client.target(endpointUri);
+    }
+
+    @Test
+    public void testSmileRequestAndResponse() throws IOException {
+        try (Response response = target.path("echo")
+                .request()
+                .header(HttpHeaders.ACCEPT, SMILE + ", application/json;q=0.9")
+                .post(Entity.entity(smileMapper.writeValueAsBytes(BODY), SMILE))) {
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getMediaType().toString()).isEqualTo(SMILE);
+            assertThat(readSmile(response.readEntity(byte[].class))).isEqualTo(BODY);
+        }
+    }
+
+    @Test
+    public void testFallsBackToJson() {
+        try (Response response = target.path("echo")
+                .request()
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON)
+                .post(Entity.json("{\"name\":\"dataset\",\"size\":1024}"))) {
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getMediaType()).isEqualTo(MediaType.APPLICATION_JSON_TYPE);
+            assertThat(response.readEntity(String.class)).isEqualTo("{\"name\":\"dataset\",\"size\":1024}");
+        }
+    }
+
+    @Test
+    public void testOptionalResponses() throws IOException {
+        try (Response response = target.path("optional")
+                .queryParam("present", true)
+                .request()
+                .header(HttpHeaders.ACCEPT, SMILE)
+                .get()) {
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(readSmile(response.readEntity(byte[].class))).isEqualTo(BODY);
+        }
+        try (Response response = target.path("optional")
+                .queryParam("present", false)
+                .request()
+                .header(HttpHeaders.ACCEPT, SMILE)
+                .get()) {
+            assertThat(response.getStatus()).isEqualTo(204);
+        }
+    }
+
+    private static Map<String, Object> readSmile(byte[] bytes) throws IOException {
+        return smileMapper.readValue(bytes, new TypeReference<Map<String, Object>>() {});
+    }
+
+    public static class SmileTestServer extends Application<Configuration> {
+        @Override
+        public final void run(Configuration _config, final Environment env) {
+            env.jersey().register(ConjureJerseyFeature.INSTANCE);
+            env.jersey().register(new EmptyOptionalTo204ExceptionMapper());
+            env.jersey().register(new SmileResource());
+        }
+    }
+
+    @Path("/")
+    @Produces({SmileMessageBodyProvider.MIME_TYPE, MediaType.APPLICATION_JSON})
+    @Consumes({SmileMessageBodyProvider.MIME_TYPE, MediaType.APPLICATION_JSON})
+    public static final class SmileResource {
+        @POST
+        @Path("/echo")
+        public Map<String, Object> echo(Map<String, Object> body) {
+            return body;
+        }
+
+        @GET
+        @Path("/optional")
+        public Optional<Map<String, Object>> optional(@QueryParam("present") boolean present) {
+            return present ? Optional.of(BODY) : Optional.empty();
+        }
+    }
+}
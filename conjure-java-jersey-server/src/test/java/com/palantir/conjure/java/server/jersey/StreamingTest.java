@@ -0,0 +1,179 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.server.jersey;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.palantir.conjure.java.serialization.ObjectMappers;
+import io.dropwizard.Application;
+import io.dropwizard.Configuration;
+import io.dropwizard.setup.Environment;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.Response;
+import org.glassfish.jersey.client.JerseyClientBuilder;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+public final class StreamingTest {
+
+    private static final ObjectMapper jsonMapper = ObjectMappers.newClientObjectMapper();
+    private static final ObjectMapper cborMapper = ObjectMappers.newCborClientObjectMapper();
+    private static final TypeReference<List<Integer>> LIST_TYPE = new TypeReference<List<Integer>>() {};
+
+    private static volatile CountDownLatch closed = new CountDownLatch(1);
+
+    @ClassRule
+    public static final DropwizardAppRule<Configuration> APP =
+            new DropwizardAppRule<>(StreamingTestServer.class, "src/test/resources/test-server.yml");
+
+    private WebTarget target;
+
+    @Before
+    public void before() {
+        String endpointUri = "http://localhost:" + APP.getLocalPort();
+        JerseyClientBuilder builder = new JerseyClientBuilder();
+        Client client = builder.build();
+        target = client.target(endpointUri);
+        closed = new CountDownLatch(1);
+    }
+
+    @Test
+    public void testStreamsJsonArrays() throws Exception {
+        try (Response response = target.path("stream")
+                .queryParam("size", 100_000)
+                .request()
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON)
+                .get()) {
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getMediaType()).isEqualTo(MediaType.APPLICATION_JSON_TYPE);
+            List<Integer> elements = jsonMapper.readValue(response.readEntity(String.class), LIST_TYPE);
+            assertThat(elements).hasSize(100_000).startsWith(0, 1, 2).endsWith(99_999);
+        }
+        assertThat(closed.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void testStreamsCborArrays() throws IOException {
+        try (Response response = target.path("stream")
+                .queryParam("size", 3)
+                .request()
+                .header(HttpHeaders.ACCEPT, "application/cbor")
+                .get()) {
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(cborMapper.readValue(response.readEntity(byte[].class), LIST_TYPE))
+                    .containsExactly(0, 1, 2);
+        }
+    }
+
+    @Test
+    public void testEmptyStream() {
+        try (Response response = target.path("stream")
+                .queryParam("size", 0)
+                .request()
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON)
+                .get()) {
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.readEntity(String.class)).isEqualTo("[]");
+        }
+    }
+
+    @Test
+    public void testIteratorWithNullElements() {
+        try (Response response = target.path("iterator")
+                .request()
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON)
+                .get()) {
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.readEntity(String.class)).isEqualTo("[\"a\",null,\"b\"]");
+        }
+    }
+
+    @Test
+    public void testCloseFailuresDoNotMaskWriteFailures() {
+        StreamingMessageBodyWriter writer = new StreamingMessageBodyWriter(
+                ObjectMappers.newServerObjectMapper(),
+                ObjectMappers.newCborServerObjectMapper(),
+                ObjectMappers.newSmileServerObjectMapper());
+        Stream<String> entity = Stream.of("a", "b")
+                .<String>map(element -> {
+                    throw new IllegalStateException("Failed to produce element");
+                })
+                .onClose(() -> {
+                    throw new IllegalStateException("Failed to close");
+                });
+
+        assertThatThrownBy(() -> writer.writeTo(
+                        entity,
+                        Stream.class,
+                        Stream.class,
+                        new Annotation[0],
+                        MediaType.APPLICATION_JSON_TYPE,
+                        new MultivaluedHashMap<>(),
+                        new ByteArrayOutputStream()))
+                .hasMessage("Failed to produce element")
+                .satisfies(e -> assertThat(e.getSuppressed())
+                        .extracting(Throwable::getMessage)
+                        .containsExactly("Failed to close"));
+    }
+
+    public static class StreamingTestServer extends Application<Configuration> {
+        @Override
+        public final void run(Configuration _config, final Environment env) {
+            env.jersey().register(ConjureJerseyFeature.INSTANCE);
+            env.jersey().register(new StreamingResource());
+        }
+    }
+
+    @Path("/")
+    @Produces({MediaType.APPLICATION_JSON, "application/cbor"})
+    public static final class StreamingResource {
+        @GET
+        @Path("/stream")
+        public Stream<Integer> stream(@QueryParam("size") int size) {
+            return IntStream.range(0, size).boxed().onClose(() -> closed.countDown());
+        }
+
+        @GET
+        @Path("/iterator")
+        public Iterator<String> iterator() {
+            return Arrays.asList("a", null, "b").iterator();
+        }
+    }
+}
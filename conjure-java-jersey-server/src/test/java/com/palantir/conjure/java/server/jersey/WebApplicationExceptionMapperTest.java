@@ -17,10 +17,15 @@
 package com.palantir.conjure.java.server.jersey;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.palantir.conjure.java.api.errors.SerializableError;
 import com.palantir.conjure.java.serialization.ObjectMappers;
+import com.palantir.logsafe.SafeArg;
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.ForbiddenException;
 import javax.ws.rs.NotAuthorizedException;
@@ -30,11 +35,12 @@ import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Response;
 import org.glassfish.jersey.server.ParamException;
 import org.junit.Test;
+import org.slf4j.Logger;
 
 public final class WebApplicationExceptionMapperTest {
 
     private final WebApplicationExceptionMapper mapper =
-            new WebApplicationExceptionMapper(ConjureJerseyFeature.NoOpListener.INSTANCE);
+            new WebApplicationExceptionMapper(ConjureJerseyFeature.NoOpListener.INSTANCE, ErrorResponses.DEFAULT);
     private final ObjectMapper objectMapper =
             ObjectMappers.newServerObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
 
@@ -101,4 +107,31 @@ public final class WebApplicationExceptionMapperTest {
         assertThat(response.getStatus()).isEqualTo(503);
         assertThat(entity).doesNotContain("secret");
     }
+
+    @Test
+    public void testDefaultOutputIsUnchanged() throws Exception {
+        Logger log = mock(Logger.class);
+        WebApplicationExceptionMapper defaultMapper = new WebApplicationExceptionMapper(
+                ConjureJerseyFeature.NoOpListener.INSTANCE, ErrorResponses.DEFAULT, log);
+
+        NotFoundException notFound = new NotFoundException("secret");
+        Response response = defaultMapper.toResponse(notFound);
+        String errorInstanceId = ((SerializableError) response.getEntity()).errorInstanceId();
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(ObjectMappers.newServerObjectMapper().writeValueAsString(response.getEntity()))
+                .isEqualTo("{\"errorCode\":\"NOT_FOUND\",\"errorName\":\"Default:NotFound\",\"errorInstanceId\":\""
+                        + errorInstanceId + "\",\"parameters\":{}}");
+        verify(log).info("Error handling request", SafeArg.of("errorInstanceId", errorInstanceId), notFound);
+
+        WebApplicationException unavailable = new WebApplicationException("secret", 503);
+        response = defaultMapper.toResponse(unavailable);
+        errorInstanceId = ((SerializableError) response.getEntity()).errorInstanceId();
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(ObjectMappers.newServerObjectMapper().writeValueAsString(response.getEntity()))
+                .isEqualTo("{\"errorCode\":\"javax.ws.rs.WebApplicationException\","
+                        + "\"errorName\":\"WebApplicationException\",\"errorInstanceId\":\"" + errorInstanceId
+                        + "\",\"parameters\":{}}");
+        verify(log).error("Error handling request", SafeArg.of("errorInstanceId", errorInstanceId), unavailable);
+        verifyNoMoreInteractions(log);
+    }
 }
@@ -45,16 +45,21 @@ final class DefaultHostMetrics implements HostMetrics {
 
     /** Creates a metrics registry for calls from the given service to the given host and port. */
     DefaultHostMetrics(String serviceName, String hostname, int port, Clock clock) {
+        this(serviceName, hostname, port, clock, HostMetricsReservoir.EXPONENTIALLY_DECAYING);
+    }
+
+    /** As above, but with timers backed by reservoirs of the given type. */
+    DefaultHostMetrics(String serviceName, String hostname, int port, Clock clock, HostMetricsReservoir reservoir) {
         this.serviceName = serviceName;
         this.hostname = hostname;
         this.port = port;
-        this.informational = new Timer();
-        this.successful = new Timer();
-        this.redirection = new Timer();
-        this.clientError = new Timer();
-        this.serverError = new Timer();
-        this.qos = new Timer();
-        this.other = new Timer();
+        this.informational = new Timer(reservoir.create());
+        this.successful = new Timer(reservoir.create());
+        this.redirection = new Timer(reservoir.create());
+        this.clientError = new Timer(reservoir.create());
+        this.serverError = new Timer(reservoir.create());
+        this.qos = new Timer(reservoir.create());
+        this.other = new Timer(reservoir.create());
         this.ioExceptions = new Meter();
         this.clock = clock;
         this.lastUpdateEpochMillis = clock.millis();
@@ -0,0 +1,153 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.okhttp;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.HdrHistogram.Recorder;
+
+/**
+ * A {@link Reservoir} for {@link com.codahale.metrics.Timer timers} backed by an HdrHistogram {@link Recorder}.
+ *
+ * <p>Recording is wait-free, and each call to {@link #getSnapshot()} returns the values recorded since the previous
+ * call (i.e. snapshots reset on read), so percentiles describe the most recent reporting interval rather than
+ * drifting over the lifetime of the process. Values are stored with microsecond resolution and one significant
+ * decimal digit of precision, and values above {@link #HIGHEST_TRACKABLE_MICROS} are clamped, which keeps the
+ * histograms at a fixed size of {@link #estimatedFootprintBytes()} regardless of the request rate.
+ */
+final class HdrHistogramIntervalReservoir implements Reservoir {
+
+    /** Requests running longer than ten minutes are recorded as ten minutes. */
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    /** The most entries returned by {@link Snapshot#getValues()}, matching Dropwizard's default reservoir size. */
+    static final int MAX_VALUES = 1028;
+
+    private static final int SIGNIFICANT_DIGITS = 1;
+    private static final long NANOS_PER_MICRO = TimeUnit.MICROSECONDS.toNanos(1);
+
+    private final Recorder recorder = new Recorder(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+
+    @Override
+    public int size() {
+        // Reservoir#size is not used by Timer, and reading the recorder would reset the interval.
+        return 0;
+    }
+
+    /** Records a duration in nanoseconds, as passed by {@link com.codahale.metrics.Timer}. */
+    @Override
+    public void update(long nanos) {
+        long micros = nanos / NANOS_PER_MICRO;
+        recorder.recordValue(Math.max(0, Math.min(micros, HIGHEST_TRACKABLE_MICROS)));
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        return new IntervalSnapshot(recorder.getIntervalHistogram());
+    }
+
+    /**
+     * The approximate number of bytes held by a single reservoir: the active and inactive histograms of the
+     * {@link Recorder}. Snapshots are allocated per read and are not retained.
+     */
+    static long estimatedFootprintBytes() {
+        return 2L * new Histogram(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS).getEstimatedFootprintInBytes();
+    }
+
+    /** A {@link Snapshot} over a single interval histogram, reporting values in nanoseconds. */
+    private static final class IntervalSnapshot extends Snapshot {
+        private final Histogram histogram;
+
+        IntervalSnapshot(Histogram histogram) {
+            this.histogram = histogram;
+        }
+
+        @Override
+        public double getValue(double quantile) {
+            if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+                throw new IllegalArgumentException(quantile + " is not in [0..1]");
+            }
+            return toNanos(histogram.getValueAtPercentile(quantile * 100));
+        }
+
+        /**
+         * Returns one entry per recorded sample, down-sampled evenly across the buckets to at most
+         * {@link HdrHistogramIntervalReservoir#MAX_VALUES} entries so that busy intervals do not allocate arrays
+         * proportional to the request count.
+         */
+        @Override
+        public long[] getValues() {
+            long[] values = new long[size()];
+            long totalCount = histogram.getTotalCount();
+            long cumulativeCount = 0;
+            int size = 0;
+            for (HistogramIterationValue value : histogram.recordedValues()) {
+                cumulativeCount += value.getCountAtValueIteratedTo();
+                int end = (int) (cumulativeCount * values.length / totalCount);
+                Arrays.fill(values, size, end, toNanos(value.getValueIteratedTo()));
+                size = end;
+            }
+            return values;
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(histogram.getTotalCount(), MAX_VALUES);
+        }
+
+        @Override
+        public long getMax() {
+            return toNanos(histogram.getMaxValue());
+        }
+
+        @Override
+        public double getMean() {
+            return histogram.getMean() * NANOS_PER_MICRO;
+        }
+
+        @Override
+        public long getMin() {
+            return toNanos(histogram.getMinValue());
+        }
+
+        @Override
+        public double getStdDev() {
+            return histogram.getStdDeviation() * NANOS_PER_MICRO;
+        }
+
+        @Override
+        public void dump(OutputStream output) {
+            try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+                for (long value : getValues()) {
+                    writer.printf("%d%n", value);
+                }
+            }
+        }
+
+        private static long toNanos(long micros) {
+            return micros * NANOS_PER_MICRO;
+        }
+    }
+}
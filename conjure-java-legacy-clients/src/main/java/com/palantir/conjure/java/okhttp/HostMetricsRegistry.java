@@ -38,11 +38,21 @@ public final class HostMetricsRegistry implements HostEventsSink {
     private final LoadingCache<ServiceHostAndPort, DefaultHostMetrics> hostMetrics;
 
     public HostMetricsRegistry() {
+        this(HostMetricsReservoir.EXPONENTIALLY_DECAYING);
+    }
+
+    /**
+     * Creates a registry whose per-host timers are backed by the given type of reservoir. Prefer
+     * {@link HostMetricsReservoir#HDR_HISTOGRAM_INTERVAL} for clients of many hosts: it does not lock on the request
+     * path and uses a fixed amount of memory per host.
+     */
+    public HostMetricsRegistry(HostMetricsReservoir reservoir) {
         this.hostMetrics = Caffeine.newBuilder()
                 .maximumSize(1_000)
                 .initialCapacity(64)
                 .expireAfterAccess(Duration.ofDays(1))
-                .build(key -> new DefaultHostMetrics(key.serviceName(), key.hostname(), key.port(), Clock.systemUTC()));
+                .build(key -> new DefaultHostMetrics(
+                        key.serviceName(), key.hostname(), key.port(), Clock.systemUTC(), reservoir));
     }
 
     @Override
@@ -0,0 +1,47 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.okhttp;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Reservoir;
+
+/**
+ * Selects the {@link Reservoir} backing the per-host {@link com.codahale.metrics.Timer timers} of
+ * {@link HostMetrics}.
+ */
+public enum HostMetricsReservoir {
+    /** Dropwizard's default reservoir, biased towards the last five minutes of samples. */
+    EXPONENTIALLY_DECAYING {
+        @Override
+        Reservoir create() {
+            return new ExponentiallyDecayingReservoir();
+        }
+    },
+
+    /**
+     * A lock-free, fixed-size HdrHistogram reservoir whose snapshots reset on read, i.e. each snapshot describes the
+     * samples recorded since the previous one. Recommended for clients talking to many hosts at high request rates.
+     */
+    HDR_HISTOGRAM_INTERVAL {
+        @Override
+        Reservoir create() {
+            return new HdrHistogramIntervalReservoir();
+        }
+    };
+
+    abstract Reservoir create();
+}
@@ -28,6 +28,8 @@ import java.util.Objects;
 import okhttp3.MediaType;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
 import retrofit2.Converter;
 import retrofit2.Retrofit;
 import retrofit2.http.Headers;
@@ -58,7 +60,8 @@ public final class CborConverterFactory extends Converter.Factory {
     public Converter<?, RequestBody> requestBodyConverter(
             Type type, Annotation[] parameterAnnotations, Annotation[] methodAnnotations, Retrofit retrofit) {
         if (contentTypeIsCbor(methodAnnotations)) {
-            return new CborRequestBodyConverter<>(cborObjectMapper.writer());
+            JavaType javaType = cborObjectMapper.getTypeFactory().constructType(type);
+            return new CborRequestBodyConverter<>(cborObjectMapper.writerFor(javaType));
         } else {
             return delegate.requestBodyConverter(type, parameterAnnotations, methodAnnotations, retrofit);
         }
@@ -101,8 +104,35 @@ public final class CborConverterFactory extends Converter.Factory {
 
         @Override
         public RequestBody convert(T value) throws IOException {
-            byte[] bytes = cborObjectWriter.writeValueAsBytes(value);
-            return RequestBody.create(CBOR_MIME_TYPE, bytes);
+            // Serialize into pooled okio segments rather than growing and then copying a byte array
+            Buffer buffer = new Buffer();
+            cborObjectWriter.writeValue(buffer.outputStream(), value);
+            return new BufferRequestBody(buffer);
+        }
+    }
+
+    /** A repeatable request body which shares the segments of the buffer with each sink it is written to. */
+    private static final class BufferRequestBody extends RequestBody {
+
+        private final Buffer buffer;
+
+        BufferRequestBody(Buffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return CBOR_MIME_TYPE;
+        }
+
+        @Override
+        public long contentLength() {
+            return buffer.size();
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            sink.write(buffer.clone(), buffer.size());
         }
     }
 
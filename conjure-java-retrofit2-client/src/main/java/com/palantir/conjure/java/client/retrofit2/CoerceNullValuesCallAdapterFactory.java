@@ -16,6 +16,7 @@
 
 package com.palantir.conjure.java.client.retrofit2;
 
+import com.palantir.conjure.java.serialization.ArrayElementIterator;
 import com.palantir.logsafe.Preconditions;
 import com.palantir.logsafe.SafeArg;
 import java.io.IOException;
@@ -23,6 +24,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -31,6 +33,7 @@ import java.util.OptionalInt;
 import java.util.OptionalLong;
 import java.util.Set;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import okhttp3.Request;
 import retrofit2.Call;
@@ -78,6 +81,10 @@ final class CoerceNullValuesCallAdapterFactory extends CallAdapter.Factory {
             return new DefaultingOnNullAdapter<>(callAdapter, Collections::emptySet);
         } else if (Map.class.isAssignableFrom(rawType)) {
             return new DefaultingOnNullAdapter<>(callAdapter, Collections::emptyMap);
+        } else if (rawType == Stream.class) {
+            return new DefaultingOnNullAdapter<>(callAdapter, Stream::empty);
+        } else if (rawType == Iterator.class) {
+            return new DefaultingOnNullAdapter<>(callAdapter, ArrayElementIterator::empty);
         } else if (rawType == Optional.class) {
             return new DefaultingOnNullAdapter<>(callAdapter, Optional::empty);
         } else if (rawType == OptionalInt.class) {
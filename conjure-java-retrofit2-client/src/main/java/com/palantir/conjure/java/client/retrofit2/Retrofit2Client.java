@@ -23,7 +23,14 @@ import com.palantir.conjure.java.ext.refresh.Refreshable;
 import com.palantir.conjure.java.ext.refresh.RefreshableProxyInvocationHandler;
 import com.palantir.conjure.java.okhttp.HostEventsSink;
 
-/** Static factory methods for producing creating Retrofit2 HTTP proxies. */
+/**
+ * Static factory methods for producing creating Retrofit2 HTTP proxies.
+ *
+ * <p>Methods may return {@code Call<Stream<T>>} or {@code Call<Iterator<T>>} to read the elements of an array response
+ * one at a time. The response, including its connection, is held until the elements are exhausted or the stream is
+ * closed. Returned iterators implement {@link java.io.Closeable}, so an iterator which isn't consumed entirely must be
+ * cast to {@code Closeable} and closed to release the response.
+ */
 public final class Retrofit2Client {
 
     private Retrofit2Client() {}
@@ -29,6 +29,7 @@ import retrofit2.converter.jackson.JacksonConverterFactory;
 
 public final class Retrofit2ClientBuilder {
     private static final ObjectMapper CBOR_OBJECT_MAPPER = ObjectMappers.newCborClientObjectMapper();
+    private static final ObjectMapper SMILE_OBJECT_MAPPER = ObjectMappers.newSmileClientObjectMapper();
     private static final ObjectMapper OBJECT_MAPPER = ObjectMappers.newClientObjectMapper();
 
     private ClientConfiguration config;
@@ -60,10 +61,14 @@ public final class Retrofit2ClientBuilder {
                 .baseUrl(addTrailingSlash(config.uris().get(0)))
                 // These get evaluated first, but only for successful responses that are not 204 or 205
                 .addConverterFactory(OptionalResponseBodyConverterFactory.INSTANCE)
-                .addConverterFactory(new CborConverterFactory(
-                        new NeverReturnNullConverterFactory(
-                                new CoerceNullValuesConverterFactory(JacksonConverterFactory.create(OBJECT_MAPPER))),
-                        CBOR_OBJECT_MAPPER))
+                .addConverterFactory(new StreamingResponseBodyConverterFactory(
+                        OBJECT_MAPPER, CBOR_OBJECT_MAPPER, SMILE_OBJECT_MAPPER))
+                .addConverterFactory(new SmileConverterFactory(
+                        new CborConverterFactory(
+                                new NeverReturnNullConverterFactory(new CoerceNullValuesConverterFactory(
+                                        JacksonConverterFactory.create(OBJECT_MAPPER))),
+                                CBOR_OBJECT_MAPPER),
+                        SMILE_OBJECT_MAPPER))
                 .addConverterFactory(OptionalObjectToStringConverterFactory.INSTANCE)
                 // These get evaluated last, to convert the original Call into the response type expected by the client
                 .addCallAdapterFactory(new QosExceptionThrowingCallAdapterFactory(
@@ -0,0 +1,153 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.client.retrofit2;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.net.HttpHeaders;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Objects;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.http.Headers;
+
+/**
+ * Encodes request bodies of methods annotated with {@code @Headers("Content-Type: application/x-jackson-smile")} as
+ * Smile, and decodes responses whose Content-Type is Smile, delegating everything else. Clients which prefer Smile
+ * responses declare it in their Accept header, e.g.
+ * {@code @Headers("Accept: application/x-jackson-smile, application/json;q=0.9")}.
+ */
+final class SmileConverterFactory extends Converter.Factory {
+
+    private static final MediaType SMILE_MIME_TYPE = MediaType.parse("application/x-jackson-smile");
+
+    private final Converter.Factory delegate;
+    private final ObjectMapper smileObjectMapper;
+
+    SmileConverterFactory(Converter.Factory delegate, ObjectMapper smileObjectMapper) {
+        this.delegate = delegate;
+        this.smileObjectMapper = smileObjectMapper;
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        Converter<ResponseBody, ?> delegateConverter = delegate.responseBodyConverter(type, annotations, retrofit);
+        JavaType javaType = smileObjectMapper.getTypeFactory().constructType(type);
+        return new SmileResponseBodyConverter<>(smileObjectMapper.readerFor(javaType), delegateConverter);
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(
+            Type type, Annotation[] parameterAnnotations, Annotation[] methodAnnotations, Retrofit retrofit) {
+        if (contentTypeIsSmile(methodAnnotations)) {
+            JavaType javaType = smileObjectMapper.getTypeFactory().constructType(type);
+            return new SmileRequestBodyConverter<>(smileObjectMapper.writerFor(javaType));
+        } else {
+            return delegate.requestBodyConverter(type, parameterAnnotations, methodAnnotations, retrofit);
+        }
+    }
+
+    private static boolean contentTypeIsSmile(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof Headers) {
+                for (String header : ((Headers) annotation).value()) {
+                    int index = header.indexOf(":");
+                    if (index != -1
+                            && header.substring(0, index).equals(HttpHeaders.CONTENT_TYPE)
+                            && Objects.equals(MediaType.parse(header.substring(index + 1).trim()), SMILE_MIME_TYPE)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static final class SmileRequestBodyConverter<T> implements Converter<T, RequestBody> {
+
+        private final ObjectWriter smileObjectWriter;
+
+        SmileRequestBodyConverter(ObjectWriter smileObjectWriter) {
+            this.smileObjectWriter = smileObjectWriter;
+        }
+
+        @Override
+        public RequestBody convert(T value) throws IOException {
+            Buffer buffer = new Buffer();
+            smileObjectWriter.writeValue(buffer.outputStream(), value);
+            return new BufferRequestBody(buffer);
+        }
+    }
+
+    /** A repeatable request body which shares the segments of the buffer with each sink it is written to. */
+    private static final class BufferRequestBody extends RequestBody {
+
+        private final Buffer buffer;
+
+        BufferRequestBody(Buffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return SMILE_MIME_TYPE;
+        }
+
+        @Override
+        public long contentLength() {
+            return buffer.size();
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            sink.write(buffer.clone(), buffer.size());
+        }
+    }
+
+    private static final class SmileResponseBodyConverter<T> implements Converter<ResponseBody, T> {
+
+        private final ObjectReader smileObjectReader;
+        private final Converter<ResponseBody, T> delegate;
+
+        SmileResponseBodyConverter(ObjectReader smileObjectReader, Converter<ResponseBody, T> delegate) {
+            this.smileObjectReader = smileObjectReader;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public T convert(ResponseBody value) throws IOException {
+            if (!SMILE_MIME_TYPE.equals(value.contentType())) {
+                return delegate.convert(value);
+            }
+
+            try {
+                return smileObjectReader.readValue(value.byteStream());
+            } finally {
+                value.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.client.retrofit2;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.palantir.conjure.java.serialization.ArrayElementIterator;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Converts array responses to {@link Stream} and {@link Iterator} return types, e.g. {@code Call<Stream<T>>}, which
+ * read one element at a time from the response body instead of materialising the whole list, see
+ * {@link ArrayElementIterator}. The response body is closed once the elements are exhausted or the stream or iterator
+ * is closed.
+ */
+final class StreamingResponseBodyConverterFactory extends Converter.Factory {
+
+    private final ObjectMapper jsonObjectMapper;
+    private final ObjectMapper cborObjectMapper;
+    private final ObjectMapper smileObjectMapper;
+
+    StreamingResponseBodyConverterFactory(
+            ObjectMapper jsonObjectMapper, ObjectMapper cborObjectMapper, ObjectMapper smileObjectMapper) {
+        this.jsonObjectMapper = jsonObjectMapper;
+        this.cborObjectMapper = cborObjectMapper;
+        this.smileObjectMapper = smileObjectMapper;
+    }
+
+    @Nullable
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] _annotations, Retrofit _retrofit) {
+        Class<?> rawType = getRawType(type);
+        if (rawType != Stream.class && rawType != Iterator.class) {
+            return null;
+        }
+        Type elementType =
+                type instanceof ParameterizedType ? getParameterUpperBound(0, (ParameterizedType) type) : Object.class;
+        return new StreamingResponseBodyConverter(
+                rawType == Stream.class,
+                jsonObjectMapper.readerFor(jsonObjectMapper.constructType(elementType)),
+                cborObjectMapper.readerFor(cborObjectMapper.constructType(elementType)),
+                smileObjectMapper.readerFor(smileObjectMapper.constructType(elementType)));
+    }
+
+    private static final class StreamingResponseBodyConverter implements Converter<ResponseBody, Object> {
+
+        private final boolean isStream;
+        private final ObjectReader jsonReader;
+        private final ObjectReader cborReader;
+        private final ObjectReader smileReader;
+
+        StreamingResponseBodyConverter(
+                boolean isStream, ObjectReader jsonReader, ObjectReader cborReader, ObjectReader smileReader) {
+            this.isStream = isStream;
+            this.jsonReader = jsonReader;
+            this.cborReader = cborReader;
+            this.smileReader = smileReader;
+        }
+
+        @Override
+        public Object convert(ResponseBody value) throws IOException {
+            ArrayElementIterator<Object> elements =
+                    ArrayElementIterator.of(reader(value.contentType()), value.byteStream());
+            return isStream ? elements.stream() : elements;
+        }
+
+        private ObjectReader reader(@Nullable MediaType contentType) {
+            if (contentType != null && contentType.type().equals("application")) {
+                if (contentType.subtype().equals("cbor")) {
+                    return cborReader;
+                } else if (contentType.subtype().equals("x-jackson-smile")) {
+                    return smileReader;
+                }
+            }
+            return jsonReader;
+        }
+    }
+}
@@ -36,9 +36,11 @@ import com.palantir.conjure.java.okhttp.HostMetricsRegistry;
 import com.palantir.conjure.java.serialization.ObjectMappers;
 import com.palantir.logsafe.exceptions.SafeNullPointerException;
 import com.palantir.logsafe.testing.Assertions;
+import java.io.Closeable;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
@@ -49,6 +51,8 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import okhttp3.HttpUrl;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
@@ -255,8 +259,74 @@ public final class Retrofit2ClientApiTest extends TestBase {
         server.enqueue(new MockResponse());
         service.makeCborRequest(date).execute();
         RecordedRequest request = server.takeRequest();
-        assertThat(request.getBody().readByteArray())
-                .isEqualTo(ObjectMappers.newCborClientObjectMapper().writeValueAsBytes(date));
+        byte[] expected = ObjectMappers.newCborClientObjectMapper().writeValueAsBytes(date);
+        assertThat(request.getHeader("Content-Length")).isEqualTo(Integer.toString(expected.length));
+        assertThat(request.getBody().readByteArray()).isEqualTo(expected);
+    }
+
+    @Test
+    public void testSmileReturnValues() throws IOException, InterruptedException {
+        LocalDate date = LocalDate.of(2001, 2, 3);
+        byte[] bytes = ObjectMappers.newSmileServerObjectMapper().writeValueAsBytes(Optional.of(date));
+        try (Buffer buffer = new Buffer()) {
+            buffer.write(bytes);
+            server.enqueue(
+                    new MockResponse().setBody(buffer).addHeader("Content-Type", "application/x-jackson-smile"));
+            assertThat(service.getComplexSmileType().execute().body()).isEqualTo(java8Optional(date));
+        }
+        assertThat(server.takeRequest().getHeader("Accept"))
+                .isEqualTo("application/x-jackson-smile, application/json;q=0.9");
+    }
+
+    @Test
+    public void testSmileRequests() throws IOException, InterruptedException {
+        LocalDate date = LocalDate.of(2001, 2, 3);
+
+        server.enqueue(new MockResponse());
+        service.makeSmileRequest(date).execute();
+        RecordedRequest request = server.takeRequest();
+        byte[] expected = ObjectMappers.newSmileClientObjectMapper().writeValueAsBytes(date);
+        assertThat(request.getHeader("Content-Type")).isEqualTo("application/x-jackson-smile");
+        assertThat(request.getBody().readByteArray()).isEqualTo(expected);
+    }
+
+    @Test
+    public void testStreamReturnValues() throws IOException {
+        server.enqueue(new MockResponse().setBody("[\"2001-02-03\",\"2001-02-04\"]"));
+        try (Stream<LocalDate> stream = service.getStream().execute().body()) {
+            assertThat(stream.collect(Collectors.toList()))
+                    .containsExactly(LocalDate.of(2001, 2, 3), LocalDate.of(2001, 2, 4));
+        }
+    }
+
+    @Test
+    public void testIteratorReturnValues() throws IOException {
+        server.enqueue(new MockResponse().setBody("[\"a\",\"b\"]"));
+        assertThat(service.getIterator().execute().body()).toIterable().containsExactly("a", "b");
+    }
+
+    @Test
+    public void testPartiallyConsumedIteratorReturnValuesCanBeClosed() throws IOException {
+        server.enqueue(new MockResponse().setBody("[\"a\",\"b\"]"));
+        Iterator<String> iterator = service.getIterator().execute().body();
+        assertThat(iterator.next()).isEqualTo("a");
+        assertThat(iterator).isInstanceOf(Closeable.class);
+        ((Closeable) iterator).close();
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testEmptyIteratorReturnValuesCanBeClosed() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(204));
+        Iterator<String> iterator = service.getIterator().execute().body();
+        assertThat(iterator).isInstanceOf(Closeable.class);
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testEmptyStreamReturnValues() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(204));
+        assertThat(service.getStream().execute().body()).isEmpty();
     }
 
     @Test
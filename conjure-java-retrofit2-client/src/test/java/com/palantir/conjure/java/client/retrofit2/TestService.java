@@ -18,8 +18,10 @@ package com.palantir.conjure.java.client.retrofit2;
 
 import com.google.common.util.concurrent.ListenableFuture;
 import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
@@ -70,6 +72,20 @@ public interface TestService {
     @Headers("Content-Type: application/cbor")
     Call<Void> makeCborRequest(@Body LocalDate localDate);
 
+    @GET("getComplexSmileType")
+    @Headers("Accept: application/x-jackson-smile, application/json;q=0.9")
+    Call<Optional<LocalDate>> getComplexSmileType();
+
+    @POST("makeSmileRequest")
+    @Headers("Content-Type: application/x-jackson-smile")
+    Call<Void> makeSmileRequest(@Body LocalDate localDate);
+
+    @GET("getStream")
+    Call<Stream<LocalDate>> getStream();
+
+    @GET("getIterator")
+    Call<Iterator<String>> getIterator();
+
     @POST("makeCompletableFutureRequest")
     @Headers("hr-path-template: /makeCompletableFutureRequest")
     CompletableFuture<String> makeCompletableFutureRequest();
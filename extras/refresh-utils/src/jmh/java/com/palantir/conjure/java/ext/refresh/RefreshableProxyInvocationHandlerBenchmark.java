@@ -0,0 +1,98 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.ext.refresh;
+
+import com.google.common.reflect.AbstractInvocationHandler;
+import com.google.common.reflect.Reflection;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of many threads sharing one refreshable proxy. The {@code getAndClear} handler reproduces the
+ * previous implementation, which wrote to the refreshable and invoked the delegate reflectively on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+@SuppressWarnings("deprecation")
+public class RefreshableProxyInvocationHandlerBenchmark {
+
+    @Param({"versioned", "getAndClear"})
+    public String handler;
+
+    private Service proxy;
+
+    @Setup
+    public void setup() {
+        Refreshable<String> refreshable = Refreshable.of("prefix");
+        Function<String, Service> delegateSupplier = prefix -> value -> prefix + value;
+        proxy = Reflection.newProxy(
+                Service.class,
+                handler.equals("versioned")
+                        ? RefreshableProxyInvocationHandler.create(refreshable, delegateSupplier)
+                        : new GetAndClearInvocationHandler<>(refreshable, delegateSupplier));
+    }
+
+    @Benchmark
+    public String invoke() {
+        return proxy.get("value");
+    }
+
+    public interface Service {
+        String get(String value);
+    }
+
+    private static final class GetAndClearInvocationHandler<R, T> extends AbstractInvocationHandler {
+        private final Refreshable<R> refreshable;
+        private final Function<R, T> delegateSupplier;
+        private T delegate;
+
+        GetAndClearInvocationHandler(Refreshable<R> refreshable, Function<R, T> delegateSupplier) {
+            this.refreshable = refreshable;
+            this.delegateSupplier = delegateSupplier;
+            this.delegate = delegateSupplier.apply(refreshable.getAndClear().get());
+        }
+
+        @Override
+        protected Object handleInvocation(Object _proxy, Method method, Object[] args) throws Throwable {
+            refreshable.getAndClear().ifPresent(r -> delegate = delegateSupplier.apply(r));
+            try {
+                return method.invoke(delegate, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
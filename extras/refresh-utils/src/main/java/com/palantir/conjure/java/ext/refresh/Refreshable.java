@@ -17,6 +17,7 @@
 package com.palantir.conjure.java.ext.refresh;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
@@ -32,6 +33,7 @@ import javax.annotation.concurrent.ThreadSafe;
 public final class Refreshable<T> {
 
     private final AtomicReference<T> value;
+    private final AtomicLong version = new AtomicLong();
 
     private Refreshable(@Nullable T initialValue) {
         value = new AtomicReference<>(initialValue);
@@ -47,7 +49,9 @@ public final class Refreshable<T> {
 
     /** Sets the stored value to the given value and returns the previously stored value if it exists. */
     public Optional<T> set(T newValue) {
-        return Optional.ofNullable(value.getAndSet(newValue));
+        Optional<T> previous = Optional.ofNullable(value.getAndSet(newValue));
+        version.incrementAndGet();
+        return previous;
     }
 
     /**
@@ -58,4 +62,12 @@ public final class Refreshable<T> {
     public Optional<T> getAndClear() {
         return Optional.ofNullable(value.getAndSet(null));
     }
+
+    /**
+     * Returns a counter which is incremented after every {@link #set}, allowing readers to detect a new value with a
+     * plain volatile read rather than a {@link #getAndClear} write on every access.
+     */
+    long version() {
+        return version.get();
+    }
 }
@@ -18,10 +18,15 @@ package com.palantir.conjure.java.ext.refresh;
 
 import com.google.common.base.Preconditions;
 import com.google.common.reflect.AbstractInvocationHandler;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import javax.annotation.Nonnull;
 
@@ -35,21 +40,40 @@ import javax.annotation.Nonnull;
 @Deprecated
 public final class RefreshableProxyInvocationHandler<R, T> extends AbstractInvocationHandler {
 
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final MethodHandle INVOKE_REFLECTIVELY;
+
+    static {
+        try {
+            INVOKE_REFLECTIVELY = MethodHandles.lookup()
+                    .findStatic(
+                            RefreshableProxyInvocationHandler.class,
+                            "invokeReflectively",
+                            MethodType.methodType(Object.class, Method.class, Object.class, Object[].class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private final Refreshable<R> refreshable;
     private final Function<R, T> delegateSupplier;
+    private final ConcurrentMap<Method, MethodHandle> invokers = new ConcurrentHashMap<>();
 
-    private T delegate;
+    private volatile T delegate;
+    private volatile long version;
 
     private RefreshableProxyInvocationHandler(Refreshable<R> refreshable, Function<R, T> delegateSupplier) {
         this.refreshable = refreshable;
         this.delegateSupplier = delegateSupplier;
 
+        long initialVersion = refreshable.version();
         Optional<R> initialRefreshable = refreshable.getAndClear();
         Preconditions.checkArgument(
                 initialRefreshable.isPresent(),
                 "Cannot construct %s with empty initial refreshable",
                 getClass().getSimpleName());
         delegate = delegateSupplier.apply(initialRefreshable.get());
+        version = initialVersion;
     }
 
     public static <R, T> RefreshableProxyInvocationHandler<R, T> create(
@@ -60,15 +84,49 @@ public final class RefreshableProxyInvocationHandler<R, T> extends AbstractInvoc
     @Override
     protected Object handleInvocation(@Nonnull Object _proxy, @Nonnull Method method, @Nonnull Object[] args)
             throws Throwable {
-        updateDelegate();
+        if (refreshable.version() != version) {
+            updateDelegate();
+        }
+        return invoker(method).invokeExact((Object) delegate, args);
+    }
+
+    /**
+     * Only called once the version of the refreshable changes, so that the common path is a volatile read which
+     * doesn't contend with other threads invoking the proxy.
+     */
+    private synchronized void updateDelegate() {
+        long currentVersion = refreshable.version();
+        if (currentVersion != version) {
+            refreshable.getAndClear().ifPresent(r -> delegate = delegateSupplier.apply(r));
+            version = currentVersion;
+        }
+    }
+
+    private MethodHandle invoker(Method method) {
+        MethodHandle invoker = invokers.get(method);
+        if (invoker != null) {
+            return invoker;
+        }
+        return invokers.computeIfAbsent(method, RefreshableProxyInvocationHandler::createInvoker);
+    }
+
+    /** Adapts the method to a {@code (Object delegate, Object[] args)Object} handle which can be invoked exactly. */
+    private static MethodHandle createInvoker(Method method) {
+        try {
+            return MethodHandles.lookup()
+                    .unreflect(method)
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(INVOKER_TYPE);
+        } catch (IllegalAccessException e) {
+            return INVOKE_REFLECTIVELY.bindTo(method);
+        }
+    }
+
+    private static Object invokeReflectively(Method method, Object delegate, Object[] args) throws Throwable {
         try {
             return method.invoke(delegate, args);
         } catch (InvocationTargetException e) {
             throw e.getCause();
         }
     }
-
-    private void updateDelegate() {
-        refreshable.getAndClear().ifPresent(r -> delegate = delegateSupplier.apply(r));
-    }
 }
@@ -37,6 +37,10 @@ public final class RefreshableProxyInvocationHandlerTest {
         void call();
     }
 
+    interface Calculator {
+        long add(int first, long second);
+    }
+
     @Mock
     private Function<Object, Callable> supplier;
 
@@ -115,4 +119,17 @@ public final class RefreshableProxyInvocationHandlerTest {
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessage("Whoops");
     }
+
+    @Test
+    public void testInvokesMethodsWithPrimitiveArgumentsAndReturnValues() {
+        Refreshable<Long> refreshable = Refreshable.of(1L);
+        RefreshableProxyInvocationHandler<Long, Calculator> handler = RefreshableProxyInvocationHandler.create(
+                refreshable, offset -> (first, second) -> offset + first + second);
+        Calculator proxy = Reflection.newProxy(Calculator.class, handler);
+
+        assertThat(proxy.add(2, 3L)).isEqualTo(6L);
+        refreshable.set(10L);
+        assertThat(proxy.add(2, 3L)).isEqualTo(15L);
+        assertThat(proxy.add(2, 3L)).isEqualTo(15L);
+    }
 }
@@ -57,6 +57,16 @@ public final class RefreshableTest {
         assertThat(refreshable.getAndClear()).contains(O2);
     }
 
+    @Test
+    public void testSetterIncrementsVersion() {
+        Refreshable<Object> refreshable = Refreshable.of(O1);
+        long initialVersion = refreshable.version();
+        refreshable.getAndClear();
+        assertThat(refreshable.version()).isEqualTo(initialVersion);
+        refreshable.set(O2);
+        assertThat(refreshable.version()).isEqualTo(initialVersion + 1);
+    }
+
     @Test
     public void testRefreshableFromObservable() throws InterruptedException {
         Object o1 = new Object();
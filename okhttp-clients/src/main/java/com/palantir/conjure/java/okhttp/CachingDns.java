@@ -0,0 +1,208 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.okhttp;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Timer;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.UnsafeArg;
+import com.palantir.tritium.metrics.registry.TaggedMetricRegistry;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import okhttp3.Dns;
+import okhttp3.internal.Util;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link Dns} which caches the addresses resolved by a delegate (by default {@link Dns#SYSTEM}) independently of
+ * the JVM-wide {@code networkaddress.cache.ttl}.
+ *
+ * <ul>
+ *   <li>Entries older than the configured {@code ttl} are refreshed in the background on their next lookup; the
+ *       cached addresses are returned in the meantime, so dispatcher threads do not block on DNS for hot hosts.
+ *   <li>If a refresh fails, the previously resolved addresses keep being served until they are older than
+ *       {@code ttl + maxStaleness}, after which lookups go to the delegate again and failures are propagated.
+ *   <li>Each lookup rotates the resolved addresses, so that new connections to a hostname with several A records are
+ *       spread across all of them rather than always preferring the first.
+ * </ul>
+ *
+ * <p>Clients opt in by configuring the {@link okhttp3.OkHttpClient.Builder} passed to
+ * {@link OkHttpClients#create(okhttp3.OkHttpClient.Builder,
+ * com.palantir.conjure.java.client.config.ClientConfiguration, com.palantir.conjure.java.api.config.service.UserAgent,
+ * HostEventsSink, Class)}, e.g.
+ * {@code new OkHttpClient.Builder().dns(CachingDns.create(registry))}. Instances are thread-safe and are intended to
+ * be shared between clients.
+ */
+public final class CachingDns implements Dns {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingDns.class);
+
+    private static final Duration DEFAULT_TTL = Duration.ofSeconds(30);
+    private static final Duration DEFAULT_MAX_STALENESS = Duration.ofMinutes(10);
+    private static final int MAX_CACHED_HOSTNAMES = 10_000;
+
+    /** Refreshes block on the delegate, so they must not run on the common fork-join pool. */
+    private static final Supplier<Executor> refreshExecutor =
+            Suppliers.memoize(() -> Executors.newCachedThreadPool(
+                    Util.threadFactory("conjure-java-runtime/dns refresh", true)));
+
+    private final Dns delegate;
+    private final Ticker ticker;
+    private final long expireAfterNanos;
+    private final LoadingCache<String, Addresses> cache;
+    private final Timer lookupTimer;
+    private final Meter lookupFailures;
+
+    @VisibleForTesting
+    CachingDns(
+            Dns delegate,
+            Duration ttl,
+            Duration maxStaleness,
+            TaggedMetricRegistry registry,
+            Executor executor,
+            Ticker ticker) {
+        Preconditions.checkArgument(!ttl.isNegative() && !ttl.isZero(), "ttl must be positive");
+        Preconditions.checkArgument(!maxStaleness.isNegative(), "maxStaleness must be non-negative");
+        ClientMetrics metrics = ClientMetrics.of(registry);
+        this.delegate = delegate;
+        this.ticker = ticker;
+        this.expireAfterNanos = ttl.plus(maxStaleness).toNanos();
+        this.lookupTimer = metrics.dnsLookup();
+        this.lookupFailures = metrics.dnsLookupFailure();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(MAX_CACHED_HOSTNAMES)
+                .refreshAfterWrite(ttl)
+                .executor(executor)
+                .ticker(ticker)
+                .build(new AddressLoader());
+    }
+
+    /** Creates a {@link CachingDns} which refreshes entries every 30 seconds and serves them for up to 10 minutes. */
+    public static CachingDns create(TaggedMetricRegistry registry) {
+        return create(DEFAULT_TTL, DEFAULT_MAX_STALENESS, registry);
+    }
+
+    /**
+     * Creates a {@link CachingDns} which refreshes entries older than {@code ttl}, and keeps serving them for up to
+     * {@code maxStaleness} past their {@code ttl} while refreshes fail.
+     */
+    public static CachingDns create(Duration ttl, Duration maxStaleness, TaggedMetricRegistry registry) {
+        return new CachingDns(Dns.SYSTEM, ttl, maxStaleness, registry, refreshExecutor.get(), Ticker.systemTicker());
+    }
+
+    @Override
+    public List<InetAddress> lookup(String hostname) throws UnknownHostException {
+        Preconditions.checkNotNull(hostname, "hostname");
+        Addresses addresses = get(hostname);
+        if (ticker.read() - addresses.resolvedAtNanos > expireAfterNanos) {
+            // Refreshes have been failing for longer than we are willing to serve stale results
+            cache.invalidate(hostname);
+            addresses = get(hostname);
+        }
+        return addresses.next();
+    }
+
+    private Addresses get(String hostname) throws UnknownHostException {
+        try {
+            return cache.get(hostname);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UnknownHostException) {
+                throw (UnknownHostException) e.getCause();
+            }
+            UnknownHostException exception = new UnknownHostException("Failed to resolve hostname");
+            exception.initCause(e.getCause());
+            throw exception;
+        }
+    }
+
+    private Addresses resolve(String hostname) throws UnknownHostException {
+        long startNanos = ticker.read();
+        try {
+            List<InetAddress> resolved = delegate.lookup(hostname);
+            if (resolved.isEmpty()) {
+                throw new UnknownHostException("No addresses for hostname");
+            }
+            return new Addresses(resolved, startNanos);
+        } catch (UnknownHostException | RuntimeException e) {
+            lookupFailures.mark();
+            throw e;
+        } finally {
+            lookupTimer.update(ticker.read() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private final class AddressLoader implements CacheLoader<String, Addresses> {
+        @Override
+        public Addresses load(String hostname) throws UnknownHostException {
+            return resolve(hostname);
+        }
+
+        @Override
+        public Addresses reload(String hostname, Addresses oldValue) {
+            try {
+                return resolve(hostname);
+            } catch (UnknownHostException | RuntimeException e) {
+                log.info(
+                        "Failed to refresh DNS entry, continuing to use previously resolved addresses",
+                        UnsafeArg.of("hostname", hostname),
+                        e);
+                return oldValue;
+            }
+        }
+    }
+
+    /** The addresses a hostname resolved to, handed out in round-robin order. */
+    private static final class Addresses {
+        private final ImmutableList<InetAddress> addresses;
+        private final long resolvedAtNanos;
+        private final AtomicInteger offset = new AtomicInteger();
+
+        Addresses(List<InetAddress> addresses, long resolvedAtNanos) {
+            this.addresses = ImmutableList.copyOf(addresses);
+            this.resolvedAtNanos = resolvedAtNanos;
+        }
+
+        List<InetAddress> next() {
+            int size = addresses.size();
+            if (size == 1) {
+                return addresses;
+            }
+            int start = Math.floorMod(offset.getAndIncrement(), size);
+            List<InetAddress> rotated = new ArrayList<>(size);
+            rotated.addAll(addresses.subList(start, size));
+            rotated.addAll(addresses.subList(0, start));
+            return rotated;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.okhttp;
+
+import com.palantir.logsafe.Preconditions;
+import java.time.Duration;
+
+/**
+ * The point in time by which a call must complete, including all of its retries and backoffs. Attach a deadline to an
+ * individual request with {@code new Request.Builder().tag(Deadline.class, Deadline.after(timeout))}; otherwise the
+ * {@link com.palantir.conjure.java.client.config.ClientConfiguration#deadline configured default} (if any) applies.
+ *
+ * <p>The remaining time is sent to servers in the {@value #HEADER} request header, so that they can reject or stop
+ * working on requests the client has already given up on.
+ */
+public final class Deadline {
+
+    /** Number of milliseconds the client is still willing to wait, read by Conjure Jersey servers. */
+    static final String HEADER = "X-Request-Deadline-Millis";
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /** Creates a deadline {@code timeout} from now. */
+    public static Deadline after(Duration timeout) {
+        Preconditions.checkArgument(!timeout.isNegative(), "timeout must be non-negative");
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /** The time remaining until this deadline, which is negative once it has passed. */
+    public Duration remaining() {
+        return Duration.ofNanos(deadlineNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline{remaining=" + remaining() + '}';
+    }
+}
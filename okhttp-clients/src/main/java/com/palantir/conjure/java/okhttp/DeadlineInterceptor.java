@@ -0,0 +1,49 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.okhttp;
+
+import com.palantir.logsafe.exceptions.SafeIoException;
+import java.io.IOException;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Fails requests whose {@link Deadline} has passed before they are sent, and otherwise propagates the remaining time to
+ * the server in the {@link Deadline#HEADER} header. Must run inside the {@link ConcurrencyLimitingInterceptor}
+ * so that the concurrency permit is released when a request is rejected.
+ */
+enum DeadlineInterceptor implements Interceptor {
+    INSTANCE;
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Deadline deadline = request.tag(Deadline.class);
+        if (deadline == null) {
+            return chain.proceed(request);
+        }
+
+        long remainingMillis = deadline.remaining().toMillis();
+        if (remainingMillis <= 0) {
+            throw new SafeIoException("Deadline exceeded before the request could be sent");
+        }
+        return chain.proceed(request.newBuilder()
+                .header(Deadline.HEADER, Long.toString(remainingMillis))
+                .build());
+    }
+}
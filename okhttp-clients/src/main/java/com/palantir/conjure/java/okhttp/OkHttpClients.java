@@ -250,6 +250,7 @@ public final class OkHttpClients {
         if (enableClientQoS) {
             client.addInterceptor(new ConcurrencyLimitingInterceptor());
         }
+        client.addInterceptor(DeadlineInterceptor.INSTANCE);
         ClientMetrics clientMetrics = ClientMetrics.of(config.taggedMetricRegistry());
         client.addInterceptor(DeprecationWarningInterceptor.create(clientMetrics, serviceClass));
         client.addInterceptor(InstrumentedInterceptor.create(
@@ -306,7 +307,8 @@ public final class OkHttpClients {
                 concurrencyLimiters,
                 config.serverQoS(),
                 config.retryOnTimeout(),
-                config.retryOnSocketException());
+                config.retryOnSocketException(),
+                config.deadline());
     }
 
     private static boolean shouldEnableQos(ClientConfiguration.ClientQoS clientQoS) {
@@ -251,9 +251,29 @@ final class RemotingOkHttpCall extends ForwardingCall {
     }
 
     private void enqueueInternal(Callback callback) {
+        Deadline deadline = request().tag(Deadline.class);
+        if (deadline != null) {
+            // Bounds this attempt, including reading the response body, by the time left for the entire call.
+            // Expired deadlines are rejected by the DeadlineInterceptor, which releases the concurrency permit.
+            long remainingNanos = deadline.remaining().toNanos();
+            if (remainingNanos > 0) {
+                getDelegate().timeout().timeout(remainingNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
         super.enqueue(new LeakedResponseClosingCallback(new Callback() {
             @Override
             public void onFailure(Call call, IOException exception) {
+                if (isDeadlineExceeded()) {
+                    callback.onFailure(
+                            call,
+                            new SafeIoException(
+                                    "Failed to complete the request before its deadline",
+                                    exception,
+                                    UnsafeArg.of("requestUrl", call.request().url().toString())));
+                    return;
+                }
+
                 if (isCanceled()) {
                     callback.onFailure(call, exception);
                     return;
@@ -412,8 +432,25 @@ final class RemotingOkHttpCall extends ForwardingCall {
                 "Encountered unknown retry on timeout configuration", SafeArg.of("retryOnTimeout", retryOnTimeout));
     }
 
+    private boolean isDeadlineExceeded() {
+        Deadline deadline = request().tag(Deadline.class);
+        return deadline != null && deadline.isExpired();
+    }
+
     @SuppressWarnings("FutureReturnValueIgnored")
     private void scheduleExecution(Duration backoff, Tags.AttemptSpan attemptSpan, Call nextCall, Callback callback) {
+        Deadline deadline = request().tag(Deadline.class);
+        if (deadline != null && backoff.compareTo(deadline.remaining()) >= 0) {
+            attemptSpan.attemptSpan().complete();
+            callback.onFailure(
+                    this,
+                    new SafeIoException(
+                            "Backing off would exceed the deadline of the request",
+                            SafeArg.of("backoffMillis", backoff.toMillis()),
+                            UnsafeArg.of("requestUrl", request().url().toString())));
+            return;
+        }
+
         DetachedSpan backoffSpan = attemptSpan.attemptSpan().childDetachedSpan("OkHttp: backoff-with-jitter");
 
         // TODO(rfink): Investigate whether ignoring the ScheduledFuture is safe, #629.
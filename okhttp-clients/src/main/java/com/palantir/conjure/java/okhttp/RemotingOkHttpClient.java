@@ -22,6 +22,7 @@ import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.exceptions.SafeIllegalStateException;
 import com.palantir.logsafe.exceptions.SafeRuntimeException;
 import com.palantir.tracing.DetachedSpan;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
@@ -51,6 +52,7 @@ final class RemotingOkHttpClient extends ForwardingOkHttpClient {
     private final ClientConfiguration.ServerQoS serverQoS;
     private final ClientConfiguration.RetryOnTimeout retryOnTimeout;
     private final ClientConfiguration.RetryOnSocketException retryOnSocketException;
+    private final Optional<Duration> defaultDeadline;
 
     RemotingOkHttpClient(
             OkHttpClient delegate,
@@ -62,7 +64,8 @@ final class RemotingOkHttpClient extends ForwardingOkHttpClient {
             ConcurrencyLimiters concurrencyLimiters,
             ClientConfiguration.ServerQoS serverQoS,
             ClientConfiguration.RetryOnTimeout retryOnTimeout,
-            ClientConfiguration.RetryOnSocketException retryOnSocketException) {
+            ClientConfiguration.RetryOnSocketException retryOnSocketException,
+            Optional<Duration> defaultDeadline) {
         super(delegate);
         this.backoffStrategyFactory = backoffStrategy;
         this.nodeSelectionStrategy = nodeSelectionStrategy;
@@ -73,6 +76,7 @@ final class RemotingOkHttpClient extends ForwardingOkHttpClient {
         this.serverQoS = serverQoS;
         this.retryOnTimeout = retryOnTimeout;
         this.retryOnSocketException = retryOnSocketException;
+        this.defaultDeadline = defaultDeadline;
     }
 
     @Override
@@ -116,8 +120,11 @@ final class RemotingOkHttpClient extends ForwardingOkHttpClient {
             spanName = request.method();
         }
         DetachedSpan entireSpan = DetachedSpan.start(spanName);
-        return request.newBuilder()
-                .url(getNewRequestUrl(request.url()))
+        Request.Builder builder = request.newBuilder();
+        if (request.tag(Deadline.class) == null && defaultDeadline.isPresent()) {
+            builder.tag(Deadline.class, Deadline.after(defaultDeadline.get()));
+        }
+        return builder.url(getNewRequestUrl(request.url()))
                 .tag(ConcurrencyLimiterListener.class, ConcurrencyLimiterListener.create())
                 .tag(Tags.EntireSpan.class, () -> entireSpan)
                 .tag(Tags.AttemptSpan.class, Tags.AttemptSpan.createAttempt(entireSpan, 0))
@@ -0,0 +1,136 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.okhttp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.collect.ImmutableList;
+import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
+import com.palantir.tritium.metrics.registry.TaggedMetricRegistry;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class CachingDnsTest {
+
+    private static final String HOSTNAME = "foo.example.com";
+    private static final Duration TTL = Duration.ofSeconds(30);
+    private static final Duration MAX_STALENESS = Duration.ofMinutes(5);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final AtomicReference<List<InetAddress>> resolved = new AtomicReference<>();
+    private final TaggedMetricRegistry registry = new DefaultTaggedMetricRegistry();
+    private CachingDns dns;
+
+    @Before
+    public void before() throws UnknownHostException {
+        resolved.set(ImmutableList.of(address(1)));
+        dns = new CachingDns(
+                hostname -> {
+                    lookups.incrementAndGet();
+                    List<InetAddress> addresses = resolved.get();
+                    if (addresses == null) {
+                        throw new UnknownHostException(hostname);
+                    }
+                    return addresses;
+                },
+                TTL,
+                MAX_STALENESS,
+                registry,
+                Runnable::run,
+                nanos::get);
+    }
+
+    @Test
+    public void testCachesWithinTtl() throws UnknownHostException {
+        assertThat(dns.lookup(HOSTNAME)).containsExactly(address(1));
+        advance(TTL.minusSeconds(1));
+        assertThat(dns.lookup(HOSTNAME)).containsExactly(address(1));
+
+        assertThat(lookups).hasValue(1);
+        assertThat(ClientMetrics.of(registry).dnsLookup().getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRefreshesAfterTtl() throws UnknownHostException {
+        dns.lookup(HOSTNAME);
+        resolved.set(ImmutableList.of(address(2)));
+        advance(TTL.plusSeconds(1));
+
+        // the lookup which triggers the refresh is served the previous result
+        assertThat(dns.lookup(HOSTNAME)).containsExactly(address(1));
+        assertThat(dns.lookup(HOSTNAME)).containsExactly(address(2));
+        assertThat(lookups).hasValue(2);
+    }
+
+    @Test
+    public void testServesStaleResultsWhenRefreshFails() throws UnknownHostException {
+        dns.lookup(HOSTNAME);
+        resolved.set(null);
+        advance(TTL.plusSeconds(1));
+
+        assertThat(dns.lookup(HOSTNAME)).containsExactly(address(1));
+        assertThat(dns.lookup(HOSTNAME)).containsExactly(address(1));
+        assertThat(ClientMetrics.of(registry).dnsLookupFailure().getCount()).isPositive();
+    }
+
+    @Test
+    public void testFailsOnceStalenessExceeded() throws UnknownHostException {
+        dns.lookup(HOSTNAME);
+        resolved.set(null);
+        advance(TTL.plus(MAX_STALENESS).plusSeconds(1));
+
+        assertThatThrownBy(() -> dns.lookup(HOSTNAME)).isInstanceOf(UnknownHostException.class);
+    }
+
+    @Test
+    public void testDoesNotCacheFailures() throws UnknownHostException {
+        resolved.set(null);
+        assertThatThrownBy(() -> dns.lookup(HOSTNAME)).isInstanceOf(UnknownHostException.class);
+
+        resolved.set(ImmutableList.of(address(1)));
+        assertThat(dns.lookup(HOSTNAME)).containsExactly(address(1));
+        assertThat(ClientMetrics.of(registry).dnsLookupFailure().getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRotatesAcrossAllAddresses() throws UnknownHostException {
+        resolved.set(ImmutableList.of(address(1), address(2), address(3)));
+
+        assertThat(dns.lookup(HOSTNAME)).containsExactly(address(1), address(2), address(3));
+        assertThat(dns.lookup(HOSTNAME)).containsExactly(address(2), address(3), address(1));
+        assertThat(dns.lookup(HOSTNAME)).containsExactly(address(3), address(1), address(2));
+        assertThat(dns.lookup(HOSTNAME)).containsExactly(address(1), address(2), address(3));
+        assertThat(lookups).hasValue(1);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private static InetAddress address(int lastOctet) throws UnknownHostException {
+        return InetAddress.getByAddress(HOSTNAME, new byte[] {10, 0, 0, (byte) lastOctet});
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * (c) Copyright 2021 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.okhttp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.Iterables;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.assertj.core.data.Percentage;
+import org.junit.Test;
+
+public final class HdrHistogramIntervalReservoirTest {
+
+    private final HdrHistogramIntervalReservoir reservoir = new HdrHistogramIntervalReservoir();
+
+    @Test
+    public void testSnapshotResetsOnRead() {
+        Timer timer = new Timer(reservoir);
+        timer.update(1, TimeUnit.MICROSECONDS);
+        timer.update(3, TimeUnit.MICROSECONDS);
+
+        Snapshot first = timer.getSnapshot();
+        assertThat(first.size()).isEqualTo(2);
+        assertThat(first.getMin()).isEqualTo(1_000);
+        assertThat(first.getMax()).isEqualTo(3_000);
+        assertThat(first.getValues()).containsExactly(1_000, 3_000);
+
+        Snapshot second = timer.getSnapshot();
+        assertThat(second.size()).isZero();
+        assertThat(second.getMin()).isZero();
+        assertThat(second.getMax()).isZero();
+        assertThat(timer.getCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testPercentilesWithinPrecision() {
+        for (int i = 1; i <= 1000; i++) {
+            reservoir.update(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        Snapshot snapshot = reservoir.getSnapshot();
+        assertThat(snapshot.getMedian()).isCloseTo(500_000_000, Percentage.withPercentage(7));
+        assertThat(snapshot.get99thPercentile()).isCloseTo(990_000_000, Percentage.withPercentage(7));
+        assertThat(snapshot.getMean()).isCloseTo(500_500_000, Percentage.withPercentage(7));
+    }
+
+    @Test
+    public void testValuesMatchSize() {
+        reservoir.update(TimeUnit.MICROSECONDS.toNanos(1));
+        reservoir.update(TimeUnit.MICROSECONDS.toNanos(1));
+        reservoir.update(TimeUnit.MICROSECONDS.toNanos(3));
+
+        Snapshot snapshot = reservoir.getSnapshot();
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(snapshot.getValues()).containsExactly(1_000, 1_000, 3_000);
+    }
+
+    @Test
+    public void testValuesAreDownSampled() {
+        for (int i = 0; i < 3 * HdrHistogramIntervalReservoir.MAX_VALUES; i++) {
+            reservoir.update(TimeUnit.MICROSECONDS.toNanos(i % 3 == 0 ? 1 : 3));
+        }
+
+        Snapshot snapshot = reservoir.getSnapshot();
+        assertThat(snapshot.size()).isEqualTo(HdrHistogramIntervalReservoir.MAX_VALUES);
+        assertThat(snapshot.getValues()).hasSize(HdrHistogramIntervalReservoir.MAX_VALUES);
+        assertThat(Arrays.stream(snapshot.getValues()).filter(value -> value == 1_000))
+                .hasSize(HdrHistogramIntervalReservoir.MAX_VALUES / 3);
+    }
+
+    @Test
+    public void testOutOfRangeValuesAreClamped() {
+        reservoir.update(-1);
+        reservoir.update(TimeUnit.HOURS.toNanos(1));
+
+        Snapshot snapshot = reservoir.getSnapshot();
+        assertThat(snapshot.size()).isEqualTo(2);
+        assertThat(snapshot.getMin()).isZero();
+        assertThat(snapshot.getMax())
+                .isCloseTo(
+                        TimeUnit.MICROSECONDS.toNanos(HdrHistogramIntervalReservoir.HIGHEST_TRACKABLE_MICROS),
+                        Percentage.withPercentage(7));
+    }
+
+    @Test
+    public void testFootprintIsBounded() {
+        // seven timers per host
+        assertThat(7 * HdrHistogramIntervalReservoir.estimatedFootprintBytes()).isLessThan(64 * 1024);
+    }
+
+    @Test
+    public void testRegistryUsesSelectedReservoir() {
+        HostMetricsRegistry registry = new HostMetricsRegistry(HostMetricsReservoir.HDR_HISTOGRAM_INTERVAL);
+        registry.record("service", "host", 8080, 200, 1);
+
+        HostMetrics hostMetrics = Iterables.getOnlyElement(registry.getMetrics());
+        assertThat(hostMetrics.get2xx().getSnapshot().getMin()).isEqualTo(1_000);
+        assertThat(hostMetrics.get2xx().getSnapshot().size()).isZero();
+    }
+}
@@ -39,6 +39,7 @@ import com.palantir.conjure.java.api.errors.UnknownRemoteException;
 import com.palantir.conjure.java.client.config.ClientConfiguration;
 import com.palantir.conjure.java.client.config.ClientConfigurations;
 import com.palantir.conjure.java.client.config.NodeSelectionStrategy;
+import com.palantir.conjure.java.server.jersey.RequestDeadlines;
 import com.palantir.logsafe.UnsafeArg;
 import com.palantir.logsafe.exceptions.SafeIoException;
 import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
@@ -677,6 +678,73 @@ public final class OkHttpClientsTest extends TestBase {
                 .hasCauseInstanceOf(SocketTimeoutException.class);
     }
 
+    @Test
+    public void propagatesConfiguredDeadline() throws Exception {
+        server.enqueue(new MockResponse().setBody("pong"));
+
+        OkHttpClient client = OkHttpClients.withStableUris(
+                ClientConfiguration.builder()
+                        .from(createTestConfig(url))
+                        .deadline(Duration.ofSeconds(10))
+                        .build(),
+                hostEventsSink,
+                OkHttpClientsTest.class);
+        assertThat(client.newCall(new Request.Builder().url(url).build())
+                        .execute()
+                        .body()
+                        .string())
+                .isEqualTo("pong");
+
+        long remainingMillis = Long.parseLong(server.takeRequest().getHeader(RequestDeadlines.HEADER));
+        assertThat(remainingMillis).isBetween(1L, 10_000L);
+    }
+
+    @Test
+    public void doesNotPropagateDeadlineByDefault() throws Exception {
+        server.enqueue(new MockResponse().setBody("pong"));
+
+        createRetryingClient(0).newCall(new Request.Builder().url(url).build()).execute();
+
+        assertThat(server.takeRequest().getHeader(RequestDeadlines.HEADER)).isNull();
+    }
+
+    @Test
+    public void deadlineHeaderMatchesTheOneServersRead() {
+        assertThat(Deadline.HEADER).isEqualTo(RequestDeadlines.HEADER);
+    }
+
+    @Test
+    public void handlesDeadline_failsAttemptExceedingDeadline() {
+        server.enqueue(new MockResponse().setHeadersDelay(2, TimeUnit.SECONDS).setBody("pong"));
+        server.enqueue(new MockResponse().setBody("pong"));
+
+        Call call = createRetryingClient(1)
+                .newCall(new Request.Builder()
+                        .url(url)
+                        .tag(Deadline.class, Deadline.after(Duration.ofMillis(100)))
+                        .build());
+        assertThatLoggableExceptionThrownBy(call::execute)
+                .isInstanceOf(SafeIoException.class)
+                .hasLogMessage("Failed to complete the request before its deadline");
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void handlesDeadline_doesNotBackOffPastDeadline() {
+        server.enqueue(new MockResponse().setResponseCode(429).addHeader(HttpHeaders.RETRY_AFTER, "10"));
+        server.enqueue(new MockResponse().setBody("pong"));
+
+        Call call = createRetryingClient(1)
+                .newCall(new Request.Builder()
+                        .url(url)
+                        .tag(Deadline.class, Deadline.after(Duration.ofSeconds(5)))
+                        .build());
+        assertThatLoggableExceptionThrownBy(call::execute)
+                .isInstanceOf(SafeIoException.class)
+                .hasLogMessage("Backing off would exceed the deadline of the request");
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
     @Test
     public void handlesConnectTimeouts_alwaysRetry() throws IOException, InterruptedException {
         String urlConnectTimeout = "http://10.255.255.1";